@@ -0,0 +1,90 @@
+package edu.hm.hafner.analysis.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.hm.hafner.analysis.AbstractParser;
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.Issues;
+
+/**
+ * Measures the parsers with large reports that are created by the {@link ReportGenerator}. The reports mix the
+ * sample of a parser with noise lines and optionally with adversarial lines. All reports are generated with a fixed
+ * seed so that the results of different runs are comparable:
+ * <pre>
+ * java -jar target/benchmarks.jar GeneratedReportBenchmark -p sample=GCC4,MS_BUILD,FX_COP -p size=268435456
+ * java -jar target/benchmarks.jar GeneratedReportBenchmark -p adversarialRatio=0.01 -prof gc
+ * </pre>
+ *
+ * @author Ullrich Hafner
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class GeneratedReportBenchmark {
+    private static final long SEED = 42;
+
+    /**
+     * The generated report to parse.
+     */
+    @State(Scope.Benchmark)
+    public static class ReportState {
+        @Param
+        private ParserSample sample;
+        @Param("16777216")
+        private int size;
+        @Param("0.2")
+        private double interestingRatio;
+        @Param("0")
+        private double adversarialRatio;
+        @Param("10000")
+        private int adversarialLineLength;
+
+        private AbstractParser parser;
+        private byte[] report;
+
+        /**
+         * Creates the parser and generates the report.
+         */
+        @Setup(Level.Trial)
+        public void setup() {
+            parser = sample.createParser();
+            report = new ReportGenerator(sample).setSeed(SEED)
+                    .setInterestingRatio(interestingRatio)
+                    .setAdversarialLines(adversarialRatio, adversarialLineLength)
+                    .generate(size);
+        }
+    }
+
+    /**
+     * Parses the generated report.
+     *
+     * @param state
+     *         the report to parse
+     *
+     * @return the created issues
+     */
+    @Benchmark
+    public Issues<Issue> parse(final ReportState state) {
+        Reader reader = new InputStreamReader(new ByteArrayInputStream(state.report), StandardCharsets.UTF_8);
+        return state.parser.parse(reader);
+    }
+}
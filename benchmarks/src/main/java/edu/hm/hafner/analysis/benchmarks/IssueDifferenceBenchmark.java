@@ -0,0 +1,89 @@
+package edu.hm.hafner.analysis.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.IssueBuilder;
+import edu.hm.hafner.analysis.IssueDifference;
+import edu.hm.hafner.analysis.Issues;
+
+/**
+ * Measures the classification of issues as new, fixed, or outstanding with {@link Issues#diff(Issues)}. The reference
+ * build contains most issues of the current build: some of them with the same fingerprint, some of them with a
+ * different fingerprint and a shifted line number. Additionally, each build contains issues that are not part of the
+ * other build.
+ *
+ * @author Ullrich Hafner
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class IssueDifferenceBenchmark {
+    /**
+     * The issues of the current and the reference build.
+     */
+    @State(Scope.Benchmark)
+    public static class BuildState {
+        @Param({"10000", "100000", "1000000"})
+        private int size;
+
+        private Issues<Issue> current;
+        private Issues<Issue> reference;
+
+        /**
+         * Creates the issues of both builds.
+         */
+        @Setup(Level.Trial)
+        public void setup() {
+            current = IssuesFactory.create(size, 1);
+            reference = new Issues<>();
+
+            IssueBuilder builder = new IssueBuilder();
+            int index = 0;
+            for (Issue issue : current) {
+                if (index % 10 == 1) {
+                    reference.add(builder.copy(issue)
+                            .setLineStart(issue.getLineStart() + 3)
+                            .setLineEnd(issue.getLineEnd() + 3)
+                            .setFingerprint("changed-" + index)
+                            .build());
+                }
+                else if (index % 10 != 2) {
+                    reference.add(issue);
+                }
+                index++;
+            }
+            for (Issue issue : IssuesFactory.create(size / 10, 2)) {
+                reference.add(builder.copy(issue).setFingerprint("fixed-" + issue.getFingerprint()).build());
+            }
+        }
+    }
+
+    /**
+     * Classifies the issues of the current build.
+     *
+     * @param state
+     *         the issues of both builds
+     *
+     * @return the difference
+     */
+    @Benchmark
+    public IssueDifference<Issue> diff(final BuildState state) {
+        return state.current.diff(state.reference);
+    }
+}
@@ -0,0 +1,66 @@
+package edu.hm.hafner.analysis.benchmarks;
+
+import java.util.Random;
+
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.IssueBuilder;
+import edu.hm.hafner.analysis.Issues;
+import edu.hm.hafner.analysis.Priority;
+
+/**
+ * Creates synthetic issues for benchmarks. The issues show the typical repetitions of real world reports: a limited
+ * number of files, categories, types, and message texts. The created issues are deterministic for a given seed.
+ *
+ * @author Ullrich Hafner
+ */
+public final class IssuesFactory {
+    private static final int NUMBER_OF_FILES = 500;
+    private static final int NUMBER_OF_CATEGORIES = 12;
+    private static final int NUMBER_OF_TYPES = 80;
+    private static final int NUMBER_OF_MESSAGES = 400;
+    private static final int MAXIMUM_LINE = 2000;
+
+    private IssuesFactory() {
+        // prevents instantiation
+    }
+
+    /**
+     * Creates the specified number of issues.
+     *
+     * @param size
+     *         the number of issues to create
+     * @param seed
+     *         the seed of the random number generator
+     *
+     * @return the issues
+     */
+    public static Issues<Issue> create(final int size, final long seed) {
+        Random random = new Random(seed);
+        IssueBuilder builder = new IssueBuilder();
+        Issues<Issue> issues = new Issues<>();
+        while (issues.size() < size) {
+            issues.add(createIssue(builder, random));
+        }
+        return issues;
+    }
+
+    private static Issue createIssue(final IssueBuilder builder, final Random random) {
+        int file = random.nextInt(NUMBER_OF_FILES);
+        int line = 1 + random.nextInt(MAXIMUM_LINE);
+        int type = random.nextInt(NUMBER_OF_TYPES);
+        return builder.setFileName("/var/jenkins/workspace/project/module-" + file % 20
+                + "/src/main/java/edu/hm/hafner/Class" + file + ".java")
+                .setLineStart(line)
+                .setLineEnd(line + random.nextInt(3))
+                .setColumnStart(random.nextInt(120))
+                .setCategory("Category" + type % NUMBER_OF_CATEGORIES)
+                .setType("Type" + type)
+                .setPackageName("edu.hm.hafner.package" + file % 50)
+                .setModuleName("module-" + file % 20)
+                .setPriority(Priority.values()[random.nextInt(3)])
+                .setMessage("Message number " + random.nextInt(NUMBER_OF_MESSAGES) + " of type " + type)
+                .setOrigin("checkstyle")
+                .setFingerprint(Integer.toHexString(random.nextInt()))
+                .build();
+    }
+}
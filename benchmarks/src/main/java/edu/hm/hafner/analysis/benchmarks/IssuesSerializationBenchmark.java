@@ -0,0 +1,125 @@
+package edu.hm.hafner.analysis.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.AuxCounters.Type;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.Issues;
+
+/**
+ * Measures the throughput of the serialization of {@link Issues} and the size of the serialized form. The size is
+ * reported by the auxiliary counter {@code bytesPerIssue}.
+ *
+ * @author Ullrich Hafner
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IssuesSerializationBenchmark {
+    /**
+     * The issues to serialize and their serialized form.
+     */
+    @State(Scope.Benchmark)
+    public static class SerializationState {
+        @Param({"1000", "100000"})
+        private int size;
+
+        private Issues<Issue> issues;
+        private byte[] serialized;
+
+        /**
+         * Creates the issues and serializes them once.
+         */
+        @Setup(Level.Trial)
+        public void setup() {
+            issues = IssuesFactory.create(size, 1);
+            serialized = serialize(issues);
+        }
+    }
+
+    /**
+     * Reports the size of the serialized issues.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(Type.EVENTS)
+    public static class SizeCounter {
+        private int bytesPerIssue;
+
+        /**
+         * Returns the number of bytes per serialized issue.
+         *
+         * @return the number of bytes
+         */
+        public int bytesPerIssue() {
+            return bytesPerIssue;
+        }
+    }
+
+    /**
+     * Serializes the issues.
+     *
+     * @param state
+     *         the issues
+     * @param counter
+     *         the counter for the size of the serialization
+     *
+     * @return the serialized issues
+     */
+    @Benchmark
+    public byte[] serialize(final SerializationState state, final SizeCounter counter) {
+        byte[] bytes = serialize(state.issues);
+        counter.bytesPerIssue = bytes.length / state.size;
+        return bytes;
+    }
+
+    /**
+     * Deserializes the issues.
+     *
+     * @param state
+     *         the serialized issues
+     *
+     * @return the deserialized issues
+     */
+    @Benchmark
+    public Object deserialize(final SerializationState state) {
+        try (ObjectInputStream stream = new ObjectInputStream(new ByteArrayInputStream(state.serialized))) {
+            return stream.readObject();
+        }
+        catch (IOException | ClassNotFoundException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static byte[] serialize(final Serializable object) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ObjectOutputStream stream = new ObjectOutputStream(out)) {
+            stream.writeObject(object);
+        }
+        catch (IOException exception) {
+            throw new IllegalStateException(exception);
+        }
+        return out.toByteArray();
+    }
+}
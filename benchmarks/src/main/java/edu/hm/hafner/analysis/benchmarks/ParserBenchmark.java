@@ -0,0 +1,108 @@
+package edu.hm.hafner.analysis.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.hm.hafner.analysis.AbstractParser;
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.Issues;
+
+/**
+ * Measures the throughput of all parsers using their {@link ParserSample sample reports}. Each sample is parsed as is
+ * and scaled up to a larger report. Besides the number of operations per second, the benchmark reports the number of
+ * parsed bytes and created issues per second (secondary results {@code bytes} and {@code issues}). Run the benchmark
+ * with the GC profiler to obtain the allocation rate per operation ({@code gc.alloc.rate.norm}):
+ * <pre>
+ * java -jar target/benchmarks.jar ParserBenchmark -prof gc
+ * java -jar target/benchmarks.jar ParserBenchmark -p sample=GCC4,MS_BUILD -p copies=1000 -prof gc
+ * </pre>
+ *
+ * @author Ullrich Hafner
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class ParserBenchmark {
+    /**
+     * The report to parse.
+     */
+    @State(Scope.Benchmark)
+    public static class ReportState {
+        @Param
+        private ParserSample sample;
+        @Param({"1", "100"})
+        private int copies;
+
+        private AbstractParser parser;
+        private byte[] report;
+
+        /**
+         * Creates the parser and reads the report.
+         */
+        @Setup(Level.Trial)
+        public void setup() {
+            parser = sample.createParser();
+            report = sample.scale(copies);
+        }
+    }
+
+    /**
+     * Counts the parsed bytes and the created issues. JMH reports these counters as rates, i.e. bytes per second and
+     * issues per second.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters {
+        /** The number of parsed bytes. */
+        public long bytes;
+        /** The number of created issues, including duplicates. */
+        public long issues;
+
+        /**
+         * Resets the counters before each iteration.
+         */
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+            issues = 0;
+        }
+    }
+
+    /**
+     * Parses the report.
+     *
+     * @param state
+     *         the report to parse
+     * @param counters
+     *         the counters of parsed bytes and created issues
+     *
+     * @return the created issues
+     */
+    @Benchmark
+    public Issues<Issue> parse(final ReportState state, final Counters counters) {
+        Reader reader = new InputStreamReader(new ByteArrayInputStream(state.report), StandardCharsets.UTF_8);
+        Issues<Issue> issues = state.parser.parse(reader);
+        counters.bytes += state.report.length;
+        counters.issues += issues.size() + issues.getDuplicatesSize();
+        return issues;
+    }
+}
@@ -0,0 +1,294 @@
+package edu.hm.hafner.analysis.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import edu.hm.hafner.analysis.AbstractParser;
+import edu.hm.hafner.analysis.parser.AcuCobolParser;
+import edu.hm.hafner.analysis.parser.AjcParser;
+import edu.hm.hafner.analysis.parser.AnsibleLintParser;
+import edu.hm.hafner.analysis.parser.AntJavacParser;
+import edu.hm.hafner.analysis.parser.Armcc5CompilerParser;
+import edu.hm.hafner.analysis.parser.ArmccCompilerParser;
+import edu.hm.hafner.analysis.parser.BuckminsterParser;
+import edu.hm.hafner.analysis.parser.ClangParser;
+import edu.hm.hafner.analysis.parser.CodeAnalysisParser;
+import edu.hm.hafner.analysis.parser.CoolfluxChessccParser;
+import edu.hm.hafner.analysis.parser.CppLintParser;
+import edu.hm.hafner.analysis.parser.CssLintParser;
+import edu.hm.hafner.analysis.parser.DiabCParser;
+import edu.hm.hafner.analysis.parser.DoxygenParser;
+import edu.hm.hafner.analysis.parser.DrMemoryParser;
+import edu.hm.hafner.analysis.parser.EclipseParser;
+import edu.hm.hafner.analysis.parser.ErlcParser;
+import edu.hm.hafner.analysis.parser.FlexSDKParser;
+import edu.hm.hafner.analysis.parser.Gcc4CompilerParser;
+import edu.hm.hafner.analysis.parser.Gcc4LinkerParser;
+import edu.hm.hafner.analysis.parser.GccParser;
+import edu.hm.hafner.analysis.parser.GhsMultiParser;
+import edu.hm.hafner.analysis.parser.GnatParser;
+import edu.hm.hafner.analysis.parser.GnuFortranParser;
+import edu.hm.hafner.analysis.parser.GnuMakeGccParser;
+import edu.hm.hafner.analysis.parser.GoLintParser;
+import edu.hm.hafner.analysis.parser.GoVetParser;
+import edu.hm.hafner.analysis.parser.IarParser;
+import edu.hm.hafner.analysis.parser.IdeaInspectionParser;
+import edu.hm.hafner.analysis.parser.IntelParser;
+import edu.hm.hafner.analysis.parser.InvalidsParser;
+import edu.hm.hafner.analysis.parser.JSLintParser;
+import edu.hm.hafner.analysis.parser.JavaDocParser;
+import edu.hm.hafner.analysis.parser.JavacParser;
+import edu.hm.hafner.analysis.parser.LinuxKernelOutputParser;
+import edu.hm.hafner.analysis.parser.MavenConsoleParser;
+import edu.hm.hafner.analysis.parser.MetrowerksCWCompilerParser;
+import edu.hm.hafner.analysis.parser.MetrowerksCWLinkerParser;
+import edu.hm.hafner.analysis.parser.MsBuildParser;
+import edu.hm.hafner.analysis.parser.NagFortranParser;
+import edu.hm.hafner.analysis.parser.P4Parser;
+import edu.hm.hafner.analysis.parser.PREfastParser;
+import edu.hm.hafner.analysis.parser.Pep8Parser;
+import edu.hm.hafner.analysis.parser.PerlCriticParser;
+import edu.hm.hafner.analysis.parser.PhpParser;
+import edu.hm.hafner.analysis.parser.PuppetLintParser;
+import edu.hm.hafner.analysis.parser.PyLintParser;
+import edu.hm.hafner.analysis.parser.QACSourceCodeAnalyserParser;
+import edu.hm.hafner.analysis.parser.RFLintParser;
+import edu.hm.hafner.analysis.parser.ResharperInspectCodeParser;
+import edu.hm.hafner.analysis.parser.RobocopyParser;
+import edu.hm.hafner.analysis.parser.SbtScalacParser;
+import edu.hm.hafner.analysis.parser.ScalacParser;
+import edu.hm.hafner.analysis.parser.SphinxBuildParser;
+import edu.hm.hafner.analysis.parser.StyleCopParser;
+import edu.hm.hafner.analysis.parser.SunCParser;
+import edu.hm.hafner.analysis.parser.TaskingVXCompilerParser;
+import edu.hm.hafner.analysis.parser.TiCcsParser;
+import edu.hm.hafner.analysis.parser.TnsdlParser;
+import edu.hm.hafner.analysis.parser.XlcCompilerParser;
+import edu.hm.hafner.analysis.parser.XlcLinkerParser;
+import edu.hm.hafner.analysis.parser.YuiCompressorParser;
+import edu.hm.hafner.analysis.parser.fxcop.FxCopParser;
+import edu.hm.hafner.analysis.parser.gendarme.GendarmeParser;
+import edu.hm.hafner.analysis.parser.jcreport.JcReportParser;
+
+/**
+ * The parsers of the analysis-model library and a sample report for each of them. The samples are the test resources
+ * of the parsers (copied from {@code src/test/resources/edu/hm/hafner/analysis/parser} when this module is built), or
+ * a resource of this module if a parser test uses inline reports only.
+ *
+ * @author Ullrich Hafner
+ */
+public enum ParserSample {
+    ACU_COBOL(AcuCobolParser::new, "acu.txt"),
+    AJC(AjcParser::new, "ajc.txt"),
+    ANSIBLE_LINT(AnsibleLintParser::new, "ansibleLint.txt"),
+    ANT_JAVAC(AntJavacParser::new, "issue24611.txt"),
+    ARMCC(ArmccCompilerParser::new, "armcc.txt"),
+    ARMCC5(Armcc5CompilerParser::new, "armcc5.txt"),
+    BUCKMINSTER(BuckminsterParser::new, "buckminster.txt"),
+    CLANG(ClangParser::new, "apple-llvm-clang.txt"),
+    CODE_ANALYSIS(CodeAnalysisParser::new, "codeanalysis.txt"),
+    COOLFLUX_CHESSCC(CoolfluxChessccParser::new, "coolfluxchesscc.txt"),
+    CPP_LINT(CppLintParser::new, "cpplint.txt"),
+    CSS_LINT(CssLintParser::new, "jslint/csslint.xml", Format.XML),
+    DIAB_C(DiabCParser::new, "diabc.txt"),
+    DOXYGEN(DoxygenParser::new, "doxygen.txt"),
+    DR_MEMORY(DrMemoryParser::new, "drmemory.txt"),
+    ECLIPSE(EclipseParser::new, "eclipse.txt"),
+    ERLC(ErlcParser::new, "erlc.txt"),
+    FLEX_SDK(FlexSDKParser::new, "flexsdk.txt"),
+    FX_COP(FxCopParser::new, "fxcop.xml", Format.XML, "Targets"),
+    GCC(GccParser::new, "gcc.txt"),
+    GCC4(Gcc4CompilerParser::new, "gcc4.txt"),
+    GCC4_LINKER(Gcc4LinkerParser::new, "gcc4ld.txt"),
+    GENDARME(GendarmeParser::new, "gendarme/Gendarme.xml", Format.XML, "results"),
+    GHS_MULTI(GhsMultiParser::new, "ghsmulti.txt"),
+    GNAT(GnatParser::new, "gnat.txt"),
+    GNU_FORTRAN(GnuFortranParser::new, "GnuFortran.txt"),
+    GNU_MAKE_GCC(GnuMakeGccParser::new, "gnuMakeGcc.txt"),
+    GO_LINT(GoLintParser::new, "golint.txt"),
+    GO_VET(GoVetParser::new, "govet.txt"),
+    IAR(IarParser::new, "issue8823.txt"),
+    IDEA_INSPECTION(IdeaInspectionParser::new, "IdeaInspectionExample.xml", Format.XML),
+    INTEL(IntelParser::new, "intelc.txt"),
+    INVALIDS(InvalidsParser::new, "invalids.txt"),
+    JAVA_DOC(JavaDocParser::new, "javadoc.txt"),
+    JAVAC(JavacParser::new, "javac.txt"),
+    JC_REPORT(JcReportParser::new, "jcreport/testCorrect.xml", Format.XML),
+    JS_LINT(JSLintParser::new, "jslint/multi.xml", Format.XML),
+    LINUX_KERNEL(LinuxKernelOutputParser::new, "kernel.log"),
+    MAVEN_CONSOLE(MavenConsoleParser::new, "maven-console.txt"),
+    METROWERKS_COMPILER(MetrowerksCWCompilerParser::new, "MetrowerksCWCompiler.txt"),
+    METROWERKS_LINKER(MetrowerksCWLinkerParser::new, "MetrowerksCWLinker.txt"),
+    MS_BUILD(MsBuildParser::new, "msbuild.txt"),
+    NAG_FORTRAN(NagFortranParser::new, "NagFortran.txt"),
+    P4(P4Parser::new, "perforce.txt"),
+    PEP8(Pep8Parser::new, "pep8Test.txt"),
+    PERL_CRITIC(PerlCriticParser::new, "perlcritic.txt"),
+    PHP(PhpParser::new, "php.txt"),
+    PRE_FAST(PREfastParser::new, "PREfast.xml"),
+    PUPPET_LINT(PuppetLintParser::new, "puppet-lint.txt"),
+    PY_LINT(PyLintParser::new, "pyLint.txt"),
+    QAC_SOURCE_CODE_ANALYSER(QACSourceCodeAnalyserParser::new, "QACSourceCodeAnalyser.txt"),
+    RESHARPER_INSPECT_CODE(ResharperInspectCodeParser::new, "ResharperInspectCode.xml"),
+    RF_LINT(RFLintParser::new, "rflint.txt"),
+    ROBOCOPY(RobocopyParser::new, "robocopy.txt"),
+    SBT_SCALAC(SbtScalacParser::new, "sbtScalac.txt"),
+    SCALAC(ScalacParser::new, "scalac.txt"),
+    SPHINX_BUILD(SphinxBuildParser::new, "sphinxbuild.txt"),
+    STYLE_COP(StyleCopParser::new, "stylecop/onefile.xml", Format.XML),
+    SUN_C(SunCParser::new, "sunc.txt"),
+    TASKING_VX(TaskingVXCompilerParser::new, "tasking-vx.txt"),
+    TI_CCS(TiCcsParser::new, "ticcs.txt"),
+    TNSDL(TnsdlParser::new, "tnsdl.txt"),
+    XLC_COMPILER(XlcCompilerParser::new, "/edu/hm/hafner/analysis/benchmarks/xlc.txt"),
+    XLC_LINKER(XlcLinkerParser::new, "/edu/hm/hafner/analysis/benchmarks/xlc-linker.txt"),
+    YUI_COMPRESSOR(YuiCompressorParser::new, "yui.txt");
+
+    /** The folder of the test resources of the parsers. */
+    private static final String PARSER_RESOURCES = "/edu/hm/hafner/analysis/parser/";
+    private static final byte[] BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    /** The format of a sample, determines how a sample is scaled up. */
+    public enum Format {
+        /** A log file: consecutive copies of a log are a valid log as well. */
+        LOG,
+        /** An XML document: only the children of the root element (or of a given container element) are copied. */
+        XML
+    }
+
+    private final Supplier<AbstractParser> parserFactory;
+    private final String resource;
+    private final Format format;
+    private final String container;
+
+    ParserSample(final Supplier<AbstractParser> parserFactory, final String resource) {
+        this(parserFactory, resource, Format.LOG);
+    }
+
+    ParserSample(final Supplier<AbstractParser> parserFactory, final String resource, final Format format) {
+        this(parserFactory, resource, format, "");
+    }
+
+    ParserSample(final Supplier<AbstractParser> parserFactory, final String resource, final Format format,
+            final String container) {
+        this.parserFactory = parserFactory;
+        this.resource = resource.startsWith("/") ? resource : PARSER_RESOURCES + resource;
+        this.format = format;
+        this.container = container;
+    }
+
+    /**
+     * Creates a new instance of the parser.
+     *
+     * @return the parser
+     */
+    public AbstractParser createParser() {
+        return parserFactory.get();
+    }
+
+    /**
+     * Returns the format of the sample.
+     *
+     * @return the format
+     */
+    public Format getFormat() {
+        return format;
+    }
+
+    /**
+     * Reads the sample report. A byte order mark at the beginning of the sample is skipped.
+     *
+     * @return the content of the sample
+     * @throws UncheckedIOException
+     *         if the sample could not be read
+     */
+    public byte[] read() {
+        try (InputStream stream = ParserSample.class.getResourceAsStream(resource)) {
+            if (stream == null) {
+                throw new IOException("No such resource " + resource);
+            }
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            for (int read = stream.read(buffer); read >= 0; read = stream.read(buffer)) {
+                content.write(buffer, 0, read);
+            }
+            byte[] sample = content.toByteArray();
+            if (sample.length >= BOM.length && sample[0] == BOM[0] && sample[1] == BOM[1] && sample[2] == BOM[2]) {
+                return Arrays.copyOfRange(sample, BOM.length, sample.length);
+            }
+            return sample;
+        }
+        catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * Creates a report that consists of the specified number of copies of the sample. For XML reports the children of
+     * the root element or of the container element are copied.
+     *
+     * @param copies
+     *         the number of copies
+     *
+     * @return the scaled up report
+     */
+    public byte[] scale(final int copies) {
+        String[] parts = split();
+        StringBuilder report = new StringBuilder(parts[0].length() + parts[1].length() * copies + parts[2].length());
+        report.append(parts[0]);
+        for (int i = 0; i < Math.max(copies, 1); i++) {
+            report.append(parts[1]);
+        }
+        report.append(parts[2]);
+        return report.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Splits the sample into a header, a body that may be repeated, and a footer. The body of a log contains all
+     * lines of the sample, terminated by a newline. The body of an XML report contains the children of the root
+     * element or of the container element.
+     *
+     * @return the header, the body, and the footer of the sample
+     */
+    public String[] split() {
+        String document = new String(read(), StandardCharsets.UTF_8);
+        if (format == Format.LOG) {
+            return new String[] {"", document.isEmpty() || document.endsWith("\n") ? document : document + '\n', ""};
+        }
+
+        int bodyStart;
+        int bodyEnd;
+        if (container.isEmpty()) {
+            bodyStart = getEndOfRootStartTag(document);
+            bodyEnd = document.lastIndexOf("</");
+        }
+        else {
+            int containerStart = document.indexOf('<' + container);
+            bodyStart = containerStart < 0 ? -1 : document.indexOf('>', containerStart) + 1;
+            bodyEnd = document.indexOf("</" + container + '>', bodyStart);
+        }
+        if (bodyStart < 0 || bodyEnd < bodyStart) {
+            return new String[] {document, "", ""};
+        }
+        return new String[] {document.substring(0, bodyStart), document.substring(bodyStart, bodyEnd),
+                document.substring(bodyEnd)};
+    }
+
+    private static int getEndOfRootStartTag(final String document) {
+        int position = document.indexOf('<');
+        while (position >= 0 && position + 1 < document.length()
+                && (document.charAt(position + 1) == '?' || document.charAt(position + 1) == '!')) {
+            position = document.indexOf('<', document.indexOf('>', position) + 1);
+        }
+        if (position < 0) {
+            return -1;
+        }
+        int end = document.indexOf('>', position);
+        return end < 0 ? -1 : end + 1;
+    }
+}
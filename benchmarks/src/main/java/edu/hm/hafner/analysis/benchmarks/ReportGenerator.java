@@ -0,0 +1,312 @@
+package edu.hm.hafner.analysis.benchmarks;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Generates realistic reports of arbitrary size for a {@link ParserSample}. A report consists of copies of the sample
+ * (the interesting part that contains issues) that are mixed with noise lines, i.e. the typical output of build tools
+ * that does not contain issues. In each copy of the sample the numbers are varied (keeping the number of digits), so
+ * that the parsers create different issues with different line numbers. The generated report is deterministic for a
+ * given seed. <p> Additionally, adversarial lines may be added: lines of the sample that are stretched to a huge length
+ * by repeating a part of the line. These lines almost match the patterns of the parsers and reveal excessive
+ * backtracking of regular expressions. </p> <p> For XML reports the copies of the body are mixed with XML comments
+ * instead of noise lines. </p>
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar edu.hm.hafner.analysis.benchmarks.ReportGenerator GCC4 1000 gcc.log
+ * </pre>
+ *
+ * @author Ullrich Hafner
+ */
+public class ReportGenerator {
+    private static final String[] WORDS = {"build", "compile", "target", "module", "source", "classes", "test",
+            "resources", "main", "java", "src", "install", "package", "dependency", "plugin", "release", "debug",
+            "object", "library", "generated", "output", "report", "cache", "artifact", "linking", "archive"};
+    private static final String[] NOISE_TEMPLATES = {
+            "[INFO] Compiling %d source files to /home/build/workspace/%s/target/classes",
+            "make[%d]: Entering directory '/home/build/workspace/%s'",
+            "  CC      %d/%s.o",
+            "Downloading: https://repo.example.org/maven2/org/example/%s/%d/artifact.jar",
+            "[%d/%d] Building CXX object %s",
+            "%d tests completed, %s",
+            "BUILD %d: %s"};
+    private static final int MEGABYTE = 1024 * 1024;
+
+    private final ParserSample sample;
+    private final String header;
+    private final String[] bodyLines;
+    private final String footer;
+
+    private long seed = 0;
+    private double interestingRatio = 0.2;
+    private int minimumNoiseLength = 20;
+    private int maximumNoiseLength = 160;
+    private double adversarialRatio = 0.0;
+    private int adversarialLineLength = 100_000;
+    private boolean varyNumbers = true;
+
+    /**
+     * Creates a new instance of {@link ReportGenerator}.
+     *
+     * @param sample
+     *         the sample that provides the interesting lines
+     */
+    public ReportGenerator(final ParserSample sample) {
+        this.sample = sample;
+
+        String[] parts = sample.split();
+        header = parts[0];
+        bodyLines = parts[1].split("\n", -1);
+        footer = parts[2];
+    }
+
+    /**
+     * Sets the seed of the random number generator. Reports of the same generator and seed are identical.
+     *
+     * @param seed
+     *         the seed
+     *
+     * @return this
+     */
+    public ReportGenerator setSeed(final long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * Sets the ratio of interesting lines, i.e. lines of the sample, of all lines of the report.
+     *
+     * @param interestingRatio
+     *         the ratio, a value greater than 0 and less or equal than 1
+     *
+     * @return this
+     */
+    public ReportGenerator setInterestingRatio(final double interestingRatio) {
+        if (interestingRatio <= 0 || interestingRatio > 1) {
+            throw new IllegalArgumentException("Ratio must be in (0, 1]: " + interestingRatio);
+        }
+        this.interestingRatio = interestingRatio;
+        return this;
+    }
+
+    /**
+     * Sets the range of the lengths of the noise lines.
+     *
+     * @param minimum
+     *         the minimum length
+     * @param maximum
+     *         the maximum length
+     *
+     * @return this
+     */
+    public ReportGenerator setNoiseLineLength(final int minimum, final int maximum) {
+        if (minimum < 0 || maximum < minimum) {
+            throw new IllegalArgumentException("Invalid range of line lengths: " + minimum + "-" + maximum);
+        }
+        minimumNoiseLength = minimum;
+        maximumNoiseLength = maximum;
+        return this;
+    }
+
+    /**
+     * Sets the ratio of adversarial lines of all noise lines and the length of these lines.
+     *
+     * @param ratio
+     *         the ratio, a value between 0 and 1
+     * @param length
+     *         the length of an adversarial line
+     *
+     * @return this
+     */
+    public ReportGenerator setAdversarialLines(final double ratio, final int length) {
+        if (ratio < 0 || ratio > 1 || length < 0) {
+            throw new IllegalArgumentException("Invalid adversarial lines: " + ratio + ", " + length);
+        }
+        adversarialRatio = ratio;
+        adversarialLineLength = length;
+        return this;
+    }
+
+    /**
+     * Determines whether the numbers of the copies of the sample should be varied. If disabled, all copies are
+     * identical and the parsers will report duplicates.
+     *
+     * @param varyNumbers
+     *         {@code true} to vary the numbers, {@code false} to keep them
+     *
+     * @return this
+     */
+    public ReportGenerator setVaryNumbers(final boolean varyNumbers) {
+        this.varyNumbers = varyNumbers;
+        return this;
+    }
+
+    /**
+     * Generates a report with at least the specified size.
+     *
+     * @param size
+     *         the minimum size of the report in bytes
+     *
+     * @return the report
+     */
+    public byte[] generate(final int size) {
+        ByteArrayOutputStream report = new ByteArrayOutputStream(size + size / 8);
+        try {
+            generate(report, size);
+        }
+        catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        return report.toByteArray();
+    }
+
+    /**
+     * Generates a report with at least the specified size and writes it to the specified stream. The stream will not
+     * be closed.
+     *
+     * @param output
+     *         the stream to write the report to
+     * @param size
+     *         the minimum size of the report in bytes
+     *
+     * @throws IOException
+     *         if the report could not be written
+     */
+    public void generate(final OutputStream output, final long size) throws IOException {
+        Random random = new Random(seed);
+        OutputStream buffered = new BufferedOutputStream(output, 64 * 1024);
+
+        long written = write(buffered, header);
+        long target = size - footer.getBytes(StandardCharsets.UTF_8).length;
+        boolean isLog = sample.getFormat() == ParserSample.Format.LOG;
+        int interestingLines = Math.max(countLines(), 1);
+        double noisePerCopy = interestingLines * (1 - interestingRatio) / interestingRatio;
+        do {
+            for (int i = 0; i < bodyLines.length; i++) {
+                String line = varyNumbers ? varyNumbers(bodyLines[i], random) : bodyLines[i];
+                written += write(buffered, i == bodyLines.length - 1 ? line : line + '\n');
+            }
+            long noiseLines = Math.round(noisePerCopy * 2 * random.nextDouble());
+            for (long i = 0; i < noiseLines && written < target; i++) {
+                String noise = random.nextDouble() < adversarialRatio
+                        ? createAdversarialLine(random) : createNoiseLine(random);
+                written += write(buffered, isLog ? noise + '\n' : "<!-- " + noise.replace("--", "- ") + " -->\n");
+            }
+        }
+        while (written < target && (bodyLines.length > 1 || !bodyLines[0].isEmpty()));
+        write(buffered, footer);
+        buffered.flush();
+    }
+
+    private int countLines() {
+        int lines = 0;
+        for (String line : bodyLines) {
+            if (!line.trim().isEmpty()) {
+                lines++;
+            }
+        }
+        return lines;
+    }
+
+    private long write(final OutputStream output, final String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        output.write(bytes);
+        return bytes.length;
+    }
+
+    /**
+     * Replaces each digit with a random digit. Leading digits are not replaced by zero, so that the number of digits
+     * of each number is kept.
+     */
+    private String varyNumbers(final String line, final Random random) {
+        char[] characters = line.toCharArray();
+        for (int i = 0; i < characters.length; i++) {
+            if (Character.isDigit(characters[i]) && characters[i] < 128) {
+                boolean isLeading = i == 0 || !Character.isDigit(characters[i - 1]);
+                if (isLeading && characters[i] == '0') {
+                    continue; // keeps values like 0 or 0x1F intact
+                }
+                characters[i] = (char) ((isLeading ? '1' + random.nextInt(9) : '0' + random.nextInt(10)));
+            }
+        }
+        return new String(characters);
+    }
+
+    private String createNoiseLine(final Random random) {
+        String template = NOISE_TEMPLATES[random.nextInt(NOISE_TEMPLATES.length)];
+        List<Object> arguments = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            arguments.add(random.nextInt(1000));
+        }
+        String line = String.format(Locale.ENGLISH, template.replace("%s", "%4$s"), arguments.get(0),
+                arguments.get(1), arguments.get(2), WORDS[random.nextInt(WORDS.length)]);
+
+        int length = minimumNoiseLength + random.nextInt(maximumNoiseLength - minimumNoiseLength + 1);
+        StringBuilder noise = new StringBuilder(Math.max(length, line.length()));
+        noise.append(line);
+        while (noise.length() < length) {
+            noise.append(' ').append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        noise.setLength(Math.min(noise.length(), Math.max(length, 0)));
+        return noise.toString();
+    }
+
+    /**
+     * Creates a line of the sample that is stretched by repeating its first half in the middle of the line.
+     */
+    private String createAdversarialLine(final Random random) {
+        String line = bodyLines[random.nextInt(bodyLines.length)].trim();
+        if (line.isEmpty()) {
+            line = WORDS[random.nextInt(WORDS.length)];
+        }
+        int middle = line.length() / 2;
+        String repeated = line.substring(0, Math.max(middle, 1));
+        StringBuilder adversarial = new StringBuilder(adversarialLineLength + line.length());
+        adversarial.append(line, 0, middle);
+        while (adversarial.length() < adversarialLineLength) {
+            adversarial.append(repeated);
+        }
+        adversarial.append(line, middle, line.length());
+        return adversarial.toString().replace('\n', ' ');
+    }
+
+    /**
+     * Generates a report from the command line.
+     *
+     * @param args
+     *         the name of the {@link ParserSample}, the size in megabytes, the output file, and optionally the seed
+     *         and the ratio of interesting lines
+     *
+     * @throws IOException
+     *         if the report could not be written
+     */
+    public static void main(final String... args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("Usage: ReportGenerator <sample> <size in MB> <file> [seed] [interesting ratio]");
+            System.exit(1);
+        }
+        ReportGenerator generator = new ReportGenerator(ParserSample.valueOf(args[0]));
+        if (args.length > 3) {
+            generator.setSeed(Long.parseLong(args[3]));
+        }
+        if (args.length > 4) {
+            generator.setInterestingRatio(Double.parseDouble(args[4]));
+        }
+        Path file = Paths.get(args[2]);
+        try (OutputStream output = Files.newOutputStream(file)) {
+            generator.generate(output, Long.parseLong(args[1]) * MEGABYTE);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import javax.annotation.CheckForNull;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.FilterReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -13,6 +14,7 @@ import java.nio.charset.Charset;
 import java.util.function.Function;
 
 import org.apache.commons.io.input.BOMInputStream;
+import org.apache.commons.io.input.CountingInputStream;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 
@@ -22,6 +24,9 @@ import static java.util.function.Function.*;
 /**
  * Parses an input stream for compiler warnings and returns the found issues. If your parser is based on a regular
  * expression you can extend from the existing base classes {@link RegexpLineParser} or {@link RegexpDocumentParser}.
+ * <p> A parser instance can parse several files in different threads at the same time. So sub-classes must not store
+ * the state of a running parse in fields, they need to use local variables or the {@link
+ * RegexpLineParser#setParserState(Serializable) parser state} instead. </p>
  *
  * @author Ullrich Hafner
  * @see RegexpLineParser
@@ -39,6 +44,10 @@ public abstract class AbstractParser implements Serializable {
     public static final String PROPRIETARY_API = "Proprietary API";
 
     private transient Function<String, String> transformer = identity();
+    @CheckForNull
+    private transient ParseResultCache resultCache;
+    @CheckForNull
+    private transient ParsingListener listener;
 
     /**
      * Parses the specified file for issues.
@@ -58,17 +67,17 @@ public abstract class AbstractParser implements Serializable {
      */
     public Issues<Issue> parse(final File file, final Charset charset, final IssueBuilder builder)
             throws ParsingException, ParsingCanceledException {
-        try (Reader input = createReader(new FileInputStream(file), charset)) {
-            Issues<Issue> issues = parse(input, builder);
-            issues.log("Successfully parsed '%s': found %d issues (tool ID = %s)",
-                    file.getAbsolutePath(), issues.getSize(), builder.origin);
-            if (issues.getDuplicatesSize() == 1) {
-                issues.log("Note: one issue has been dropped since it is a duplicate");
+        ParsingEvents.Event event = ParsingEvents.beginParse(this, file.getAbsolutePath());
+        try {
+            Issues<Issue> issues;
+            if (resultCache == null) {
+                issues = parse(new FileInputStream(file), charset, builder, file.getAbsolutePath());
             }
-            else if (issues.getDuplicatesSize() > 1) {
-                issues.log("Note: %d issues have been dropped since they are duplicates",
-                        issues.getDuplicatesSize());
+            else {
+                issues = resultCache.parse(this, file, charset, builder);
             }
+            ParsingMetrics.of(file.getAbsolutePath(), builder.origin, issues).log(issues);
+            event.end(issues.getSize());
             return issues;
         }
         catch (FileNotFoundException exception) {
@@ -79,6 +88,69 @@ public abstract class AbstractParser implements Serializable {
         }
     }
 
+    /**
+     * Parses the specified file for issues. The specified monitor receives the number of bytes read from the file and
+     * can cancel the parse.
+     *
+     * @param file
+     *         the file to parse
+     * @param charset
+     *         the encoding to use when reading files
+     * @param builder
+     *         the issue builder to use
+     * @param parsingMonitor
+     *         the monitor of the parse
+     *
+     * @return the parsed issues
+     * @throws ParsingException
+     *         Signals that during parsing a non recoverable error has been occurred
+     * @throws ParsingCanceledException
+     *         Signals that the parsing has been aborted by the user or by the monitor
+     */
+    public Issues<Issue> parse(final File file, final Charset charset, final IssueBuilder builder,
+            final ParsingMonitor parsingMonitor) throws ParsingException, ParsingCanceledException {
+        parsingMonitor.begin(file.length());
+        try (ParsingContext ignored = ParsingContext.begin(this, getMetrics(), parsingMonitor)) {
+            Issues<Issue> issues = parse(file, charset, builder);
+            parsingMonitor.end();
+            return issues;
+        }
+    }
+
+    /**
+     * Parses the specified input stream for issues. The stream will be closed afterwards.
+     *
+     * @param inputStream
+     *         the stream to parse
+     * @param charset
+     *         the encoding to use when reading the stream
+     * @param builder
+     *         the issue builder to use
+     * @param source
+     *         the name of the file that provides the stream
+     *
+     * @return the parsed issues
+     * @throws IOException
+     *         if the stream could not be read
+     */
+    Issues<Issue> parse(final InputStream inputStream, final Charset charset, final IssueBuilder builder,
+            final String source) throws IOException {
+        ParsingMonitor monitor = getMonitor();
+        if (!isMonitored() && monitor == null) {
+            try (Reader input = createReader(inputStream, charset)) {
+                return parse(input, builder);
+            }
+        }
+
+        CountingInputStream counter = new ProgressInputStream(inputStream, monitor);
+        try (Reader input = createReader(counter, charset)) {
+            if (isMonitored()) {
+                return parseMonitored(input, builder, source, counter);
+            }
+            return parse(input, builder);
+        }
+    }
+
     private Reader createReader(final InputStream inputStream, final Charset charset) {
         return new InputStreamReader(new BOMInputStream(inputStream), charset);
     }
@@ -96,9 +168,91 @@ public abstract class AbstractParser implements Serializable {
      *         Signals that the parsing has been aborted by the user
      */
     public Issues<Issue> parse(final Reader reader) throws ParsingCanceledException, ParsingException {
+        if (isMonitored()) {
+            return parseMonitored(reader, new IssueBuilder(), StringUtils.EMPTY, null);
+        }
         return parse(reader, new IssueBuilder());
     }
 
+    /**
+     * Returns whether the metrics of each parse should be collected and reported to the {@link ParsingListener}.
+     *
+     * @return {@code true} if metrics should be collected, {@code false} otherwise
+     */
+    boolean isMonitored() {
+        return getParsingListener() != ParsingListener.NONE;
+    }
+
+    private Issues<Issue> parseMonitored(final Reader reader, final IssueBuilder builder, final String source,
+            @CheckForNull final CountingInputStream bytes) {
+        ParsingMetrics current = new ParsingMetrics(getClass().getName(), source, builder.origin);
+        LineCountingReader counter = new LineCountingReader(reader);
+        long start = System.nanoTime();
+        try (ParsingContext ignored = ParsingContext.begin(this, current, getMonitor())) {
+            Issues<Issue> issues = parse(counter, builder);
+            current.finish(issues, bytes == null ? 0 : bytes.getByteCount(), counter.getCharacters(),
+                    counter.getLines(), System.nanoTime() - start);
+            getParsingListener().parsed(current);
+            return issues;
+        }
+    }
+
+    /**
+     * Returns the metrics of the running parse. Sub-classes in this package use these metrics to report the work of
+     * their regular expressions.
+     *
+     * @return the metrics of the running parse, or {@code null} if no metrics are collected
+     */
+    @CheckForNull
+    ParsingMetrics getMetrics() {
+        ParsingContext context = ParsingContext.current(this);
+        return context == null ? null : context.getMetrics();
+    }
+
+    /**
+     * Checks whether the running parse has been canceled. Parsers call this method in each iteration of their loops
+     * that process lines, matches, or XML elements. If the parse is {@link ParsingMonitor monitored}, then the monitor
+     * is checked at its configured granularity, otherwise the interrupted flag of the current thread is checked.
+     *
+     * @throws ParsingCanceledException
+     *         Signals that the parsing has been aborted by the user or by the monitor
+     */
+    protected void checkCanceled() throws ParsingCanceledException {
+        checkCanceled(getMonitor());
+    }
+
+    /**
+     * Checks whether the running parse has been canceled. Parsers that already hold the monitor of the running parse
+     * use this method in their loops so that the monitor is not looked up in each iteration.
+     *
+     * @param monitor
+     *         the monitor of the running parse, or {@code null} if the parse is not monitored
+     *
+     * @throws ParsingCanceledException
+     *         Signals that the parsing has been aborted by the user or by the monitor
+     */
+    static void checkCanceled(@CheckForNull final ParsingMonitor monitor) throws ParsingCanceledException {
+        if (monitor == null) {
+            if (Thread.interrupted()) {
+                throw new ParsingCanceledException();
+            }
+        }
+        else {
+            monitor.step();
+        }
+    }
+
+    /**
+     * Returns the monitor of the running parse.
+     *
+     * @return the monitor of the running parse, or {@code null} if the parse is not monitored
+     */
+    @CheckForNull
+    ParsingMonitor getMonitor() {
+        ParsingContext context = ParsingContext.current(this);
+        return context == null ? null : context.getMonitor();
+    }
+
     /**
      * Parses the specified input stream for issues.
      *
@@ -188,5 +342,110 @@ public abstract class AbstractParser implements Serializable {
     public Function<String, String> getTransformer() {
         return ObjectUtils.defaultIfNull(transformer, identity());
     }
+
+    /**
+     * Sets a listener that receives the {@link ParsingMetrics metrics} of each parse of a file, stream, or {@link
+     * #parse(Reader) reader}. Parsers collect metrics only if a listener other than {@link ParsingListener#NONE} is
+     * set. The listener is called in the thread that parsed the file, so it needs to be thread safe if the parser is
+     * used by several threads.
+     *
+     * @param listener
+     *         the listener
+     */
+    public void setParsingListener(final ParsingListener listener) {
+        Ensure.that(listener).isNotNull();
+
+        this.listener = listener;
+    }
+
+    /**
+     * Returns the listener that receives the metrics of each parse.
+     *
+     * @return the listener, {@link ParsingListener#NONE} if no listener has been set
+     */
+    public ParsingListener getParsingListener() {
+        return ObjectUtils.defaultIfNull(listener, ParsingListener.NONE);
+    }
+
+    /**
+     * Sets an optional cache for the results of {@link #parse(File, Charset, IssueBuilder)}. If a file with the same
+     * content has been parsed before by an equally configured parser, then the issues will be read from the cache.
+     *
+     * @param resultCache
+     *         the cache to use, or {@code null} to disable caching
+     */
+    public void setResultCache(@CheckForNull final ParseResultCache resultCache) {
+        this.resultCache = resultCache;
+    }
+
+    /**
+     * A stream that counts the bytes that have been read and reports them to the monitor of the parse.
+     */
+    private static class ProgressInputStream extends CountingInputStream {
+        @CheckForNull
+        private final ParsingMonitor monitor;
+
+        ProgressInputStream(final InputStream inputStream, @CheckForNull final ParsingMonitor monitor) {
+            super(inputStream);
+
+            this.monitor = monitor;
+        }
+
+        @Override
+        protected synchronized void afterRead(final int count) {
+            super.afterRead(count);
+
+            if (monitor != null) {
+                monitor.advance(getByteCount());
+            }
+        }
+    }
+
+    /**
+     * A reader that counts the characters and lines that have been read.
+     */
+    private static class LineCountingReader extends FilterReader {
+        private long characters;
+        private int lines;
+        private int last = '\n';
+
+        LineCountingReader(final Reader reader) {
+            super(reader);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int character = super.read();
+            if (character >= 0) {
+                count(character);
+            }
+            return character;
+        }
+
+        @Override
+        public int read(final char[] buffer, final int offset, final int length) throws IOException {
+            int count = super.read(buffer, offset, length);
+            for (int i = 0; i < count; i++) {
+                count(buffer[offset + i]);
+            }
+            return count;
+        }
+
+        private void count(final int character) {
+            characters++;
+            if (character == '\n') {
+                lines++;
+            }
+            last = character;
+        }
+
+        long getCharacters() {
+            return characters;
+        }
+
+        int getLines() {
+            return last == '\n' ? lines : lines + 1; // the last line has no line terminator
+        }
+    }
 }
 
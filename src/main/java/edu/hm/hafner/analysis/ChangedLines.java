@@ -0,0 +1,238 @@
+package edu.hm.hafner.analysis;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * The lines that have been added or modified by a change, obtained from a unified diff (e.g. the output of {@code git
+ * diff}). For each file the changed lines of the new revision are stored in a run-length encoded {@link LineBitmap}, so
+ * the memory footprint depends on the number of changed blocks rather than on the size of the diff. The diff is read in a single
+ * streaming pass. <p> Use {@link #filter(Issues)} to select the issues that touch at least one changed line. The file
+ * names of the diff are relative to the root of the repository, so they are matched against the end of the (typically
+ * absolute) file names of the issues. Issues without a line number (line 0) are never part of a change. </p>
+ *
+ * @author Ullrich Hafner
+ */
+public final class ChangedLines {
+    private static final Pattern HUNK = Pattern.compile("^@@ -(\\d+)(?:,(\\d+))? \\+(\\d+)(?:,(\\d+))? @@.*");
+    private static final String NEW_FILE = "+++ ";
+    private static final String DEV_NULL = "/dev/null";
+    private static final String SLASH = "/";
+
+    private final Map<String, LineBitmap> linesByFile;
+    /** Diff file names by their last path segment, used to match the absolute file names of issues. */
+    private final Map<String, List<String>> filesByBaseName = new HashMap<>();
+    private final Map<String, LineBitmap> linesByIssueFile = new HashMap<>();
+
+    private ChangedLines(final Map<String, LineBitmap> linesByFile) {
+        this.linesByFile = linesByFile;
+
+        for (String fileName : linesByFile.keySet()) {
+            filesByBaseName.computeIfAbsent(getBaseName(fileName), key -> new ArrayList<>()).add(fileName);
+        }
+    }
+
+    /**
+     * Reads the changed lines from the specified unified diff.
+     *
+     * @param diff
+     *         the file that contains the unified diff
+     * @param charset
+     *         the encoding of the file
+     *
+     * @return the changed lines
+     * @throws IOException
+     *         if the diff could not be read
+     */
+    public static ChangedLines fromUnifiedDiff(final Path diff, final Charset charset) throws IOException {
+        try (Reader reader = Files.newBufferedReader(diff, charset)) {
+            return fromUnifiedDiff(reader);
+        }
+    }
+
+    /**
+     * Reads the changed lines from the specified unified diff. The reader will not be closed.
+     *
+     * @param diff
+     *         the reader that provides the unified diff
+     *
+     * @return the changed lines
+     * @throws IOException
+     *         if the diff could not be read
+     */
+    public static ChangedLines fromUnifiedDiff(final Reader diff) throws IOException {
+        BufferedReader reader = diff instanceof BufferedReader ? (BufferedReader) diff : new BufferedReader(diff);
+        Map<String, LineBitmap.Builder> builders = new HashMap<>();
+
+        LineBitmap.Builder current = null;
+        int remainingOld = 0;
+        int remainingNew = 0;
+        int line = 0;
+        for (String text = reader.readLine(); text != null; text = reader.readLine()) {
+            if (remainingOld > 0 || remainingNew > 0) {
+                char marker = text.isEmpty() ? ' ' : text.charAt(0);
+                if (marker == '+') {
+                    if (current != null) {
+                        current.add(line);
+                    }
+                    line++;
+                    remainingNew--;
+                }
+                else if (marker == '-') {
+                    remainingOld--;
+                }
+                else if (marker != '\\') { // '\ No newline at end of file' is not part of the counts
+                    line++;
+                    remainingOld--;
+                    remainingNew--;
+                }
+            }
+            else if (text.startsWith(NEW_FILE)) {
+                String fileName = getFileName(text.substring(NEW_FILE.length()));
+                current = fileName == null ? null : builders.computeIfAbsent(fileName, key -> new LineBitmap.Builder());
+            }
+            else {
+                Matcher hunk = HUNK.matcher(text);
+                if (hunk.matches()) {
+                    remainingOld = getCount(hunk.group(2));
+                    line = Integer.parseInt(hunk.group(3));
+                    remainingNew = getCount(hunk.group(4));
+                }
+            }
+        }
+
+        Map<String, LineBitmap> linesByFile = new HashMap<>();
+        builders.forEach((fileName, builder) -> {
+            LineBitmap lines = builder.build();
+            if (!lines.isEmpty()) {
+                linesByFile.put(fileName, lines);
+            }
+        });
+        return new ChangedLines(linesByFile);
+    }
+
+    private static int getCount(final String count) {
+        return count == null ? 1 : Integer.parseInt(count);
+    }
+
+    private static String getFileName(final String header) {
+        String fileName = StringUtils.substringBefore(header, "\t").trim();
+        if (fileName.equals(DEV_NULL) || fileName.isEmpty()) {
+            return null; // deleted file
+        }
+        if (fileName.startsWith("b/")) {
+            return fileName.substring(2);
+        }
+        return fileName;
+    }
+
+    private static String getBaseName(final String fileName) {
+        return StringUtils.substringAfterLast(SLASH + fileName, SLASH);
+    }
+
+    /**
+     * Returns the names of the files with changed lines, as given in the diff.
+     *
+     * @return the file names
+     */
+    public Set<String> getFiles() {
+        return Collections.unmodifiableSet(linesByFile.keySet());
+    }
+
+    /**
+     * Returns the number of changed lines of all files.
+     *
+     * @return the number of changed lines
+     */
+    public long getSize() {
+        return linesByFile.values().stream().mapToLong(LineBitmap::getCardinality).sum();
+    }
+
+    /**
+     * Returns whether at least one line of the specified range has been changed in the specified file.
+     *
+     * @param fileName
+     *         the name of the file, either as given in the diff or an absolute path that ends with that name
+     * @param from
+     *         the first line of the range
+     * @param to
+     *         the last line of the range
+     *
+     * @return {@code true} if one of the lines has been changed, {@code false} otherwise
+     */
+    public boolean isChanged(final String fileName, final int from, final int to) {
+        return getLines(fileName).intersects(from, to);
+    }
+
+    /**
+     * Returns the changed lines of the specified file.
+     *
+     * @param fileName
+     *         the name of the file, either as given in the diff or an absolute path that ends with that name
+     *
+     * @return the changed lines, empty if the file has not been changed
+     */
+    public LineBitmap getLines(final String fileName) {
+        LineBitmap lines = linesByFile.get(fileName);
+        if (lines != null) {
+            return lines;
+        }
+        synchronized (linesByIssueFile) {
+            return linesByIssueFile.computeIfAbsent(fileName, this::matchLines);
+        }
+    }
+
+    /**
+     * Returns whether the specified issue touches at least one changed line.
+     *
+     * @param issue
+     *         the issue to check
+     *
+     * @return {@code true} if the issue touches a changed line, {@code false} otherwise
+     */
+    public boolean isChanged(final Issue issue) {
+        return isChanged(issue.getFileName(), issue.getLineStart(), issue.getLineEnd());
+    }
+
+    /**
+     * Returns the issues that touch at least one changed line.
+     *
+     * @param issues
+     *         the issues to filter
+     * @param <T>
+     *         type of the issues
+     *
+     * @return the issues on changed lines
+     */
+    public <T extends Issue> Issues<T> filter(final Issues<T> issues) {
+        return issues.filter(this::isChanged);
+    }
+
+    private LineBitmap matchLines(final String fileName) {
+        String normalized = StringUtils.replace(fileName, "\\", SLASH);
+        LineBitmap matched = LineBitmap.EMPTY;
+        int matchedLength = 0;
+        for (String candidate : filesByBaseName.getOrDefault(getBaseName(normalized), Collections.emptyList())) {
+            if ((normalized.equals(candidate) || normalized.endsWith(SLASH + candidate))
+                    && candidate.length() > matchedLength) {
+                matched = linesByFile.get(candidate);
+                matchedLength = candidate.length();
+            }
+        }
+        return matched;
+    }
+}
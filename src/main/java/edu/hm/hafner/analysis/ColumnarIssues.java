@@ -0,0 +1,539 @@
+package edu.hm.hafner.analysis;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+
+import org.eclipse.collections.api.set.sorted.ImmutableSortedSet;
+import org.eclipse.collections.impl.collector.Collectors2;
+
+import edu.hm.hafner.util.Ensure;
+
+/**
+ * A read only set of issues that is stored in a columnar file written by a {@link ColumnarIssuesWriter}. The file is
+ * memory mapped, i.e. issues are not loaded into the heap: counts, filters, and property statistics are computed on the
+ * columns directly. {@link Issue} instances are created only when they are requested, e.g. while iterating or when a
+ * page of issues is requested. <p> Opening a file checks only the header, the bounds of the columns, and the dictionary,
+ * so that opening a file does not read all columns. The cells of a row are checked when the row is accessed: a corrupt
+ * cell is reported with an {@link UncheckedIOException}. </p> <p> This class is thread safe. </p>
+ *
+ * @author Ullrich Hafner
+ * @see ColumnarIssuesWriter
+ */
+public class ColumnarIssues implements Iterable<Issue> {
+    private static final Priority[] PRIORITIES = Priority.values();
+    private static final int NOT_FOUND = -1;
+
+    private final Path file;
+    private final ByteBuffer buffer;
+    private final int size;
+    private final int[] sizeOfPriority = new int[PRIORITIES.length];
+
+    private final int dictionarySize;
+    private final int dictionaryStart;
+    private final int stringsStart;
+    private final int stringColumnsStart;
+    private final int lineStartColumn;
+    private final int lineEndColumn;
+    private final int columnStartColumn;
+    private final int columnEndColumn;
+    private final int priorityColumn;
+    private final int mostSignificantBitsColumn;
+    private final int leastSignificantBitsColumn;
+
+    private final String[] strings;
+    private Map<String, Integer> indexOfString;
+
+    /**
+     * Creates a new instance of {@link ColumnarIssues} that reads the issues of the specified file.
+     *
+     * @param file
+     *         the file that has been written by a {@link ColumnarIssuesWriter}
+     *
+     * @throws IOException
+     *         if the file could not be read or has an invalid format
+     */
+    public ColumnarIssues(final Path file) throws IOException {
+        this.file = file;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < ColumnarIssuesWriter.HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Invalid size of columnar issues file: " + file);
+            }
+            buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.getInt(0) != ColumnarIssuesWriter.MAGIC || buffer.getInt(4) != ColumnarIssuesWriter.VERSION) {
+            throw new IOException("Not a columnar issues file: " + file);
+        }
+        size = buffer.getInt(8);
+        dictionarySize = buffer.getInt(12);
+        for (int i = 0; i < PRIORITIES.length; i++) {
+            sizeOfPriority[i] = buffer.getInt(16 + 4 * i);
+        }
+
+        dictionaryStart = ColumnarIssuesWriter.HEADER_SIZE;
+        long position = dictionaryStart + 4L * dictionarySize;
+        stringsStart = (int) Math.min(position, Integer.MAX_VALUE);
+        if (dictionarySize > 0 && position <= buffer.limit()) {
+            position += buffer.getInt(stringsStart - 4);
+        }
+        long intColumnSize = 4L * size;
+        stringColumnsStart = toOffset(position);
+        position += StringColumn.values().length * intColumnSize;
+        lineStartColumn = toOffset(position);
+        position += intColumnSize;
+        lineEndColumn = toOffset(position);
+        position += intColumnSize;
+        columnStartColumn = toOffset(position);
+        position += intColumnSize;
+        columnEndColumn = toOffset(position);
+        position += intColumnSize;
+        priorityColumn = toOffset(position);
+        position += size;
+        mostSignificantBitsColumn = toOffset(position);
+        position += 8L * size;
+        leastSignificantBitsColumn = toOffset(position);
+        position += 8L * size;
+
+        if (size < 0 || dictionarySize < 0 || position != buffer.limit()) {
+            throw new IOException("Corrupt columnar issues file: " + file);
+        }
+        validatePriorityCounts();
+        validateDictionary();
+        strings = new String[dictionarySize];
+    }
+
+    /**
+     * Verifies that the offsets of the dictionary strings are ascending and within the strings section, so that the
+     * strings can be decoded later on without further checks.
+     */
+    private void validateDictionary() throws IOException {
+        int stringsSize = stringColumnsStart - stringsStart;
+        int start = 0;
+        for (int index = 0; index < dictionarySize; index++) {
+            int end = buffer.getInt(dictionaryStart + 4 * index);
+            if (end < start || end > stringsSize) {
+                throw new IOException(String.format("Corrupt columnar issues file %s: invalid offset %d of string %d",
+                        file, end, index));
+            }
+            start = end;
+        }
+    }
+
+    /**
+     * Verifies that the priority counts of the header sum up to the number of issues. The priorities of the rows are
+     * not read, they are checked when a row is accessed.
+     */
+    private void validatePriorityCounts() throws IOException {
+        long total = 0;
+        for (int count : sizeOfPriority) {
+            if (count < 0) {
+                throw new IOException("Corrupt columnar issues file: negative priority count in header: " + file);
+            }
+            total += count;
+        }
+        if (total != size) {
+            throw new IOException("Corrupt columnar issues file: priority counts do not match the header: " + file);
+        }
+    }
+
+    private UncheckedIOException createCorruptCellException(final String cell, final int value, final int row) {
+        return new UncheckedIOException(new IOException(String.format(
+                "Corrupt columnar issues file %s: invalid %s %d in row %d", file, cell, value, row)));
+    }
+
+    private static int toOffset(final long position) {
+        return (int) Math.min(position, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the number of issues in this set.
+     *
+     * @return total number of issues
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether this set is empty.
+     *
+     * @return {@code true} if this set is empty, {@code false} otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of issues of the specified priority.
+     *
+     * @param priority
+     *         the priority of the issues
+     *
+     * @return total number of issues
+     */
+    public int getSizeOf(final Priority priority) {
+        return sizeOfPriority[priority.ordinal()];
+    }
+
+    /**
+     * Returns the issue with the specified index.
+     *
+     * @param index
+     *         the index
+     *
+     * @return the issue at the specified index
+     * @throws IndexOutOfBoundsException
+     *         if there is no element for the given index
+     */
+    public Issue get(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("No such index " + index + " in " + this);
+        }
+        return createIssue(index);
+    }
+
+    /**
+     * Returns the value of the specified property of the issue with the specified index. In contrast to {@link
+     * #get(int)} no {@link Issue} instance will be created.
+     *
+     * @param index
+     *         the index of the issue
+     * @param column
+     *         the property to get
+     *
+     * @return the value of the property
+     * @throws IndexOutOfBoundsException
+     *         if there is no element for the given index
+     */
+    public String getProperty(final int index, final StringColumn column) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("No such index " + index + " in " + this);
+        }
+        return getString(column, index);
+    }
+
+    @Override
+    public Iterator<Issue> iterator() {
+        return select().iterator();
+    }
+
+    /**
+     * Returns a selection that contains all issues of this set. Use the methods of the selection to restrict the
+     * issues.
+     *
+     * @return a selection of all issues
+     */
+    public Selection select() {
+        return new Selection(row -> true);
+    }
+
+    /**
+     * Returns the different values for the specified property.
+     *
+     * @param column
+     *         the property to get the values for
+     *
+     * @return the values
+     */
+    public ImmutableSortedSet<String> getProperties(final StringColumn column) {
+        return select().getProperties(column);
+    }
+
+    /**
+     * Returns the number of occurrences for every existing value of the specified property.
+     *
+     * @param column
+     *         the property to get the occurrences for
+     *
+     * @return a mapping of: property value -> number of issues for that value
+     */
+    public Map<String, Integer> getPropertyCount(final StringColumn column) {
+        return select().getPropertyCount(column);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d issues", size);
+    }
+
+    private Issue createIssue(final int row) {
+        int lineStart = buffer.getInt(lineStartColumn + 4 * row);
+        int lineEnd = buffer.getInt(lineEndColumn + 4 * row);
+        int columnStart = buffer.getInt(columnStartColumn + 4 * row);
+        int columnEnd = buffer.getInt(columnEndColumn + 4 * row);
+        UUID id = new UUID(buffer.getLong(mostSignificantBitsColumn + 8 * row),
+                buffer.getLong(leastSignificantBitsColumn + 8 * row));
+
+        return new Issue(getString(StringColumn.FILE_NAME, row), lineStart, lineEnd, columnStart, columnEnd,
+                getString(StringColumn.CATEGORY, row), getString(StringColumn.TYPE, row),
+                getString(StringColumn.PACKAGE_NAME, row), getString(StringColumn.MODULE_NAME, row), getPriority(row),
+                getString(StringColumn.MESSAGE, row), getString(StringColumn.DESCRIPTION, row),
+                getString(StringColumn.ORIGIN, row), getString(StringColumn.FINGERPRINT, row), id);
+    }
+
+    private Priority getPriority(final int row) {
+        byte ordinal = buffer.get(priorityColumn + row);
+        if (ordinal < 0 || ordinal >= PRIORITIES.length) {
+            throw createCorruptCellException("priority", ordinal, row);
+        }
+        return PRIORITIES[ordinal];
+    }
+
+    private int getStringIndex(final StringColumn column, final int row) {
+        int index = buffer.getInt(stringColumnsStart + 4 * (column.ordinal() * size + row));
+        if (index < 0 || index >= dictionarySize) {
+            throw createCorruptCellException("string index", index, row);
+        }
+        return index;
+    }
+
+    private String getString(final StringColumn column, final int row) {
+        return getString(getStringIndex(column, row));
+    }
+
+    private String getString(final int index) {
+        String value = strings[index];
+        if (value == null) {
+            int start = index == 0 ? 0 : buffer.getInt(dictionaryStart + 4 * (index - 1));
+            int end = buffer.getInt(dictionaryStart + 4 * index);
+            byte[] bytes = new byte[end - start];
+            ByteBuffer string = buffer.duplicate();
+            string.position(stringsStart + start);
+            string.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+            strings[index] = value;
+        }
+        return value;
+    }
+
+    private synchronized int getStringIndex(final String value) {
+        if (indexOfString == null) {
+            indexOfString = new HashMap<>();
+            for (int i = 0; i < dictionarySize; i++) {
+                indexOfString.put(getString(i), i);
+            }
+        }
+        return indexOfString.getOrDefault(value, NOT_FOUND);
+    }
+
+    /**
+     * The string properties of an issue that are stored as dictionary encoded columns.
+     */
+    public enum StringColumn {
+        FILE_NAME(Issue::getFileName),
+        CATEGORY(Issue::getCategory),
+        TYPE(Issue::getType),
+        PACKAGE_NAME(Issue::getPackageName),
+        MODULE_NAME(Issue::getModuleName),
+        MESSAGE(Issue::getMessage),
+        DESCRIPTION(Issue::getDescription),
+        ORIGIN(Issue::getOrigin),
+        FINGERPRINT(Issue::getFingerprint);
+
+        private final Function<Issue, String> getter;
+
+        StringColumn(final Function<Issue, String> getter) {
+            this.getter = getter;
+        }
+
+        /**
+         * Returns the value of this property for the specified issue.
+         *
+         * @param issue
+         *         the issue to get the property from
+         *
+         * @return the value of the property
+         */
+        public String getValue(final Issue issue) {
+            return getter.apply(issue);
+        }
+    }
+
+    /**
+     * A subset of the issues of a {@link ColumnarIssues} instance. A selection is defined by conditions on the columns
+     * of the issues, the conditions are evaluated without creating {@link Issue} instances. Selections are immutable:
+     * each restriction creates a new selection.
+     */
+    public final class Selection implements Iterable<Issue> {
+        private final IntPredicate condition;
+
+        private Selection(final IntPredicate condition) {
+            this.condition = condition;
+        }
+
+        private Selection and(final IntPredicate additionalCondition) {
+            return new Selection(condition.and(additionalCondition));
+        }
+
+        /**
+         * Restricts this selection to the issues with the specified value of a property.
+         *
+         * @param column
+         *         the property to check
+         * @param value
+         *         the value of the property
+         *
+         * @return the restricted selection
+         */
+        public Selection with(final StringColumn column, final String value) {
+            int index = getStringIndex(value);
+            if (index == NOT_FOUND) {
+                return new Selection(row -> false);
+            }
+            return and(row -> getStringIndex(column, row) == index);
+        }
+
+        /**
+         * Restricts this selection to the issues with the specified priority.
+         *
+         * @param priority
+         *         the priority of the issues
+         *
+         * @return the restricted selection
+         */
+        public Selection withPriority(final Priority priority) {
+            byte ordinal = (byte) priority.ordinal();
+            return and(row -> buffer.get(priorityColumn + row) == ordinal);
+        }
+
+        /**
+         * Restricts this selection to the issues that have at least one line in the specified range.
+         *
+         * @param from
+         *         the first line of the range
+         * @param to
+         *         the last line of the range
+         *
+         * @return the restricted selection
+         */
+        public Selection withLinesBetween(final int from, final int to) {
+            return and(row -> buffer.getInt(lineStartColumn + 4 * row) <= to
+                    && buffer.getInt(lineEndColumn + 4 * row) >= from);
+        }
+
+        /**
+         * Returns the number of issues in this selection.
+         *
+         * @return the number of issues
+         */
+        public int count() {
+            int count = 0;
+            for (int row = 0; row < size; row++) {
+                if (condition.test(row)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        /**
+         * Returns a page of the issues in this selection. Only the issues of the page will be created.
+         *
+         * @param offset
+         *         the number of issues to skip
+         * @param limit
+         *         the maximum number of issues to return
+         *
+         * @return the issues of the page
+         */
+        public List<Issue> page(final int offset, final int limit) {
+            Ensure.that(offset >= 0).isTrue("Offset must not be negative: %d", offset);
+            Ensure.that(limit >= 0).isTrue("Limit must not be negative: %d", limit);
+
+            List<Issue> page = new ArrayList<>(Math.min(limit, size));
+            int skipped = 0;
+            for (int row = 0; row < size && page.size() < limit; row++) {
+                if (condition.test(row)) {
+                    if (skipped < offset) {
+                        skipped++;
+                    }
+                    else {
+                        page.add(createIssue(row));
+                    }
+                }
+            }
+            return page;
+        }
+
+        /**
+         * Returns the different values for the specified property of the issues in this selection.
+         *
+         * @param column
+         *         the property to get the values for
+         *
+         * @return the values
+         */
+        public ImmutableSortedSet<String> getProperties(final StringColumn column) {
+            return getPropertyCount(column).keySet().stream().collect(Collectors2.toImmutableSortedSet());
+        }
+
+        /**
+         * Returns the number of occurrences for every existing value of the specified property of the issues in this
+         * selection.
+         *
+         * @param column
+         *         the property to get the occurrences for
+         *
+         * @return a mapping of: property value -> number of issues for that value
+         */
+        public Map<String, Integer> getPropertyCount(final StringColumn column) {
+            int[] counts = new int[dictionarySize];
+            for (int row = 0; row < size; row++) {
+                if (condition.test(row)) {
+                    counts[getStringIndex(column, row)]++;
+                }
+            }
+            Map<String, Integer> propertyCount = new HashMap<>();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    propertyCount.put(getString(i), counts[i]);
+                }
+            }
+            return propertyCount;
+        }
+
+        @Override
+        public Iterator<Issue> iterator() {
+            return new Iterator<Issue>() {
+                private int next = find(0);
+
+                private int find(final int start) {
+                    int row = start;
+                    while (row < size && !condition.test(row)) {
+                        row++;
+                    }
+                    return row;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return next < size;
+                }
+
+                @Override
+                public Issue next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    Issue issue = createIssue(next);
+                    next = find(next + 1);
+                    return issue;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package edu.hm.hafner.analysis;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.hm.hafner.analysis.ColumnarIssues.StringColumn;
+
+/**
+ * Writes {@link Issues} to a file using the columnar format that is read by {@link ColumnarIssues}. The file consists
+ * of the following sections (all numbers are stored in big endian byte order):
+ * <ol>
+ * <li>Header: magic number, version, number of issues, number of dictionary entries, number of issues per priority</li>
+ * <li>Dictionary: the end offset of each string (int) followed by the UTF-8 bytes of all strings</li>
+ * <li>String columns: one int per issue for each property in {@link StringColumn}, the value is the index of the string
+ * in the dictionary</li>
+ * <li>Integer columns: one int per issue for line start, line end, column start, and column end</li>
+ * <li>Priority column: one byte per issue</li>
+ * <li>ID columns: the most and the least significant bits (long) of each ID</li>
+ * </ol>
+ * Since all columns use a fixed width, each property of each issue can be accessed in constant time.
+ *
+ * @author Ullrich Hafner
+ * @see ColumnarIssues
+ */
+public class ColumnarIssuesWriter {
+    static final int MAGIC = 0x49535355; // "ISSU"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 4 * 4 + Priority.values().length * 4;
+
+    /**
+     * Writes the specified issues to the specified file. An existing file will be overwritten.
+     *
+     * @param issues
+     *         the issues to write
+     * @param file
+     *         the file to write to
+     *
+     * @throws IOException
+     *         if the file could not be written
+     */
+    public void write(final Issues<? extends Issue> issues, final Path file) throws IOException {
+        int size = issues.size();
+        List<String> strings = new ArrayList<>();
+        Map<String, Integer> dictionary = new HashMap<>();
+        int[][] stringColumns = new int[StringColumn.values().length][size];
+
+        int row = 0;
+        for (Issue issue : issues) {
+            for (StringColumn column : StringColumn.values()) {
+                stringColumns[column.ordinal()][row] = dictionary.computeIfAbsent(column.getValue(issue), value -> {
+                    strings.add(value);
+                    return strings.size() - 1;
+                });
+            }
+            row++;
+        }
+
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            writeHeader(output, issues, strings.size());
+            writeDictionary(output, strings);
+            for (int[] column : stringColumns) {
+                for (int value : column) {
+                    output.writeInt(value);
+                }
+            }
+            for (Issue issue : issues) {
+                output.writeInt(issue.getLineStart());
+            }
+            for (Issue issue : issues) {
+                output.writeInt(issue.getLineEnd());
+            }
+            for (Issue issue : issues) {
+                output.writeInt(issue.getColumnStart());
+            }
+            for (Issue issue : issues) {
+                output.writeInt(issue.getColumnEnd());
+            }
+            for (Issue issue : issues) {
+                output.writeByte(issue.getPriority().ordinal());
+            }
+            for (Issue issue : issues) {
+                output.writeLong(issue.getId().getMostSignificantBits());
+            }
+            for (Issue issue : issues) {
+                output.writeLong(issue.getId().getLeastSignificantBits());
+            }
+        }
+    }
+
+    private void writeHeader(final DataOutputStream output, final Issues<? extends Issue> issues,
+            final int dictionarySize) throws IOException {
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+        output.writeInt(issues.size());
+        output.writeInt(dictionarySize);
+        for (Priority priority : Priority.values()) {
+            output.writeInt(issues.getSizeOf(priority));
+        }
+    }
+
+    private void writeDictionary(final DataOutputStream output, final List<String> strings) throws IOException {
+        List<byte[]> encoded = new ArrayList<>(strings.size());
+        int end = 0;
+        for (String string : strings) {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            encoded.add(bytes);
+            end += bytes.length;
+            output.writeInt(end);
+        }
+        for (byte[] bytes : encoded) {
+            output.write(bytes);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package edu.hm.hafner.analysis;
 
+import javax.annotation.CheckForNull;
+
 /**
  * Parses an input stream line by line for compiler warnings using the provided regular expression. Multi-line regular
  * expressions are not supported, each warning has to be one a single line. A parser must implement some fast checks
@@ -19,10 +21,13 @@ public abstract class FastRegexpLineParser extends RegexpLineParser {
     }
 
     @Override
-    protected void findAnnotations(final String content, final Issues<Issue> issues, final IssueBuilder builder)
-            throws ParsingCanceledException {
+    void findAnnotations(final String content, final Issues<Issue> issues, final IssueBuilder builder,
+            @CheckForNull final ParsingContext context) throws ParsingCanceledException {
         if (isLineInteresting(content)) {
-            super.findAnnotations(content, issues, builder);
+            super.findAnnotations(content, issues, builder, context);
+        }
+        else if (context != null && context.getMetrics() != null) {
+            context.getMetrics().lineRejected();
         }
     }
 
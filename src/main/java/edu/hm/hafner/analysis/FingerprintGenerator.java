@@ -1,9 +1,9 @@
 package edu.hm.hafner.analysis;
 
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
 import java.nio.charset.Charset;
-
-import edu.hm.hafner.analysis.FullTextFingerprint.FileSystem;
-import edu.hm.hafner.util.VisibleForTesting;
+import java.util.function.Supplier;
 
 /**
  * Creates a fingerprint of an issue. A fingerprint is a digest of the affected source code of an issue. Using this
@@ -12,32 +12,153 @@ import edu.hm.hafner.util.VisibleForTesting;
  * @author Ullrich Hafner
  */
 public class FingerprintGenerator {
-    private final FullTextFingerprint fingerprint;
+    @SuppressWarnings({"unused", "FieldCanBeLocal"}) // keeps the cache alive as long as this generator is used
+    private final SourceFileCache sourceFiles;
+    private final Reference<SourceFileCache> sharedSourceFiles;
 
     /**
      * Creates a new instance of {@link FingerprintGenerator}.
      */
     public FingerprintGenerator() {
-        fingerprint = new FullTextFingerprint();
+        this(new SourceFileCache());
     }
 
-    @VisibleForTesting
-    FingerprintGenerator(final FileSystem fileSystem) {
-        fingerprint = new FullTextFingerprint(fileSystem);
+    /**
+     * Creates a new instance of {@link FingerprintGenerator} that reads the affected files using the specified cache.
+     *
+     * @param sourceFiles
+     *         the cache to obtain the content of the affected files from
+     */
+    public FingerprintGenerator(final SourceFileCache sourceFiles) {
+        this.sourceFiles = sourceFiles;
+        sharedSourceFiles = new WeakReference<>(sourceFiles);
     }
 
-    public Issues<Issue> run(final Issues<Issue> issues, final IssueBuilder builder, final Charset charset) {
+    /**
+     * Creates a copy of the specified issues where each issue has a fingerprint assigned. The fingerprints are not
+     * computed immediately: each issue computes its fingerprint on demand, i.e. when {@link Issue#getFingerprint()} is
+     * called for the first time. The copied issues keep the IDs of the original issues. <p> The issues hold only a
+     * weak reference to the source file cache of this generator, so they do not keep the cache alive. Fingerprints
+     * that are computed after the cache has been garbage collected read the affected file again. </p>
+     *
+     * @param issues
+     *         the issues to create the fingerprints for
+     * @param charset
+     *         the encoding to be used when reading the affected files
+     *
+     * @return the issues with deferred fingerprints
+     */
+    public Issues<Issue> run(final Issues<Issue> issues, final Charset charset) {
         Issues<Issue> enhanced = new Issues<>();
         for (Issue issue : issues) {
-            Issue issueWithFingerprint = builder.copy(issue)
-                    .setFingerprint(createFingerprintFor(issue, charset))
-                    .build();
-            enhanced.add(issueWithFingerprint);
+            enhanced.add(new Issue(issue,
+                    new DeferredFingerprint(sharedSourceFiles, issue.getFileName(), issue.getLineStart(), charset)));
+        }
+        return enhanced;
+    }
+
+    /**
+     * Creates a copy of the specified issues where each issue has a fingerprint assigned. In contrast to {@link
+     * #run(Issues, Charset)} the fingerprints are computed immediately. The specified monitor receives the number of
+     * computed fingerprints and can cancel the computation.
+     *
+     * @param issues
+     *         the issues to create the fingerprints for
+     * @param charset
+     *         the encoding to be used when reading the affected files
+     * @param monitor
+     *         the monitor of the computation
+     *
+     * @return the issues with computed fingerprints
+     * @throws ParsingCanceledException
+     *         Signals that the computation has been aborted by the user or by the monitor
+     */
+    public Issues<Issue> run(final Issues<Issue> issues, final Charset charset, final ParsingMonitor monitor)
+            throws ParsingCanceledException {
+        Issues<Issue> enhanced = run(issues, charset);
+        monitor.begin(enhanced.size());
+        ParsingEvents.Event event = ParsingEvents.beginFingerprintBatch();
+        int computed = 0;
+        try {
+            for (Issue issue : enhanced) {
+                issue.getFingerprint();
+                computed++;
+                monitor.step(computed);
+            }
+        }
+        finally {
+            event.end(computed);
         }
+        monitor.end();
         return enhanced;
     }
 
-    private String createFingerprintFor(final Issue issue, final Charset charset) {
-        return fingerprint.compute(issue.getFileName(), issue.getLineStart(), charset);
+    /**
+     * Creates a copy of the specified issues where each issue has a fingerprint assigned.
+     *
+     * @param issues
+     *         the issues to create the fingerprints for
+     * @param builder
+     *         not used
+     * @param charset
+     *         the encoding to be used when reading the affected files
+     *
+     * @return the issues with deferred fingerprints
+     * @deprecated use {@link #run(Issues, Charset)}
+     */
+    @Deprecated
+    public Issues<Issue> run(final Issues<Issue> issues, final IssueBuilder builder, final Charset charset) {
+        return run(issues, charset);
+    }
+
+    /**
+     * Creates a copy of the specified issues where each issue has a fingerprint assigned.
+     *
+     * @param issues
+     *         the issues to create the fingerprints for
+     * @param builder
+     *         not used
+     * @param charset
+     *         the encoding to be used when reading the affected files
+     * @param monitor
+     *         the monitor of the computation
+     *
+     * @return the issues with computed fingerprints
+     * @throws ParsingCanceledException
+     *         Signals that the computation has been aborted by the user or by the monitor
+     * @deprecated use {@link #run(Issues, Charset, ParsingMonitor)}
+     */
+    @Deprecated
+    public Issues<Issue> run(final Issues<Issue> issues, final IssueBuilder builder, final Charset charset,
+            final ParsingMonitor monitor) throws ParsingCanceledException {
+        return run(issues, charset, monitor);
+    }
+
+    /**
+     * Computes the fingerprint of an issue on demand. Uses the source file cache of the generator if it is still
+     * available, otherwise the affected file is read using a new cache that is dropped afterwards.
+     */
+    private static class DeferredFingerprint implements Supplier<String> {
+        private final Reference<SourceFileCache> sourceFiles;
+        private final String fileName;
+        private final int line;
+        private final Charset charset;
+
+        DeferredFingerprint(final Reference<SourceFileCache> sourceFiles, final String fileName, final int line,
+                final Charset charset) {
+            this.sourceFiles = sourceFiles;
+            this.fileName = fileName;
+            this.line = line;
+            this.charset = charset;
+        }
+
+        @Override
+        public String get() {
+            SourceFileCache cache = sourceFiles.get();
+            if (cache == null) {
+                cache = new SourceFileCache();
+            }
+            return new FullTextFingerprint(cache).compute(fileName, line, charset);
+        }
     }
 }
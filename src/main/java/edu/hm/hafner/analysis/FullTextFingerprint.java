@@ -1,14 +1,11 @@
 package edu.hm.hafner.analysis;
 
-import javax.xml.bind.DatatypeConverter;
 import java.io.IOException;
+import java.math.BigInteger;
 import java.nio.charset.Charset;
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.nio.file.InvalidPathException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.util.Iterator;
-import java.util.stream.Stream;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -25,21 +22,31 @@ public class FullTextFingerprint {
     private static final int LINES_LOOK_AHEAD = 3;
     private static final int LINE_RANGE_BUFFER_SIZE = 1000;
 
-    private final MessageDigest digest;
-    private final FileSystem fileSystem;
+    /** Each thread uses its own digest, so fingerprints can be computed in parallel. */
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(FullTextFingerprint::createDigest);
+
+    private final SourceFileCache sourceFiles;
 
     /**
      * Creates a new instance of {@link FullTextFingerprint}.
      */
     public FullTextFingerprint() {
-        this(new FileSystem());
+        this(new SourceFileCache());
     }
 
-    @VisibleForTesting
-    FullTextFingerprint(FileSystem fileSystem) {
-        this.fileSystem = fileSystem;
+    /**
+     * Creates a new instance of {@link FullTextFingerprint} that reads the affected files using the specified cache.
+     *
+     * @param sourceFiles
+     *         the cache to obtain the content of the affected files from
+     */
+    public FullTextFingerprint(final SourceFileCache sourceFiles) {
+        this.sourceFiles = sourceFiles;
+    }
+
+    private static MessageDigest createDigest() {
         try {
-            digest = MessageDigest.getInstance("MD5");
+            return MessageDigest.getInstance("MD5");
         }
         catch (NoSuchAlgorithmException e) {
             throw new IllegalStateException(e);
@@ -62,14 +69,16 @@ public class FullTextFingerprint {
      *         fingerprint actually is the hashcode of the filename)
      */
     public String compute(final String fileName, final int line, final Charset charset) {
+        ParsingEvents.Event event = ParsingEvents.beginFingerprint(fileName, line);
         try {
-            Stream<String> lines = fileSystem.readLinesFromFile(fileName, charset);
-
-            return createFingerprint(line, lines);
+            return createFingerprint(line, sourceFiles.get(fileName, charset));
         }
-        catch (IOException ignored) {
+        catch (IOException | InvalidPathException ignored) {
             return getFallbackFingerprint(fileName);
         }
+        finally {
+            event.end();
+        }
     }
 
     @VisibleForTesting
@@ -78,16 +87,14 @@ public class FullTextFingerprint {
     }
 
     @VisibleForTesting
-    String createFingerprint(final int line, final Stream<String> lines) {
-        String context = extractContext(line, lines.iterator());
-        lines.close();
-        digest.update(context.getBytes());
+    String createFingerprint(final int line, final SourceFile sourceFile) {
+        String context = extractContext(line, sourceFile);
 
-        return DatatypeConverter.printHexBinary(digest.digest()).toUpperCase();
+        return String.format("%032X", new BigInteger(1, DIGEST.get().digest(context.getBytes())));
     }
 
     @VisibleForTesting
-    String extractContext(final int affectedLine, final Iterator<String> lines) {
+    String extractContext(final int affectedLine, final SourceFile sourceFile) {
         if (affectedLine < 0) {
             return StringUtils.EMPTY;
         }
@@ -95,14 +102,9 @@ public class FullTextFingerprint {
         int start = computeStartLine(affectedLine);
 
         StringBuilder context = new StringBuilder(LINE_RANGE_BUFFER_SIZE);
-        int line = 1;
-        for (; lines.hasNext() && line < start - LINES_LOOK_AHEAD; line++) {
-            lines.next(); // skip the first lines
-        }
-        for (; lines.hasNext() && line <= start + LINES_LOOK_AHEAD; line++) {
-            context.append(lines.next());
+        for (String line : sourceFile.getLines(start - LINES_LOOK_AHEAD, start + LINES_LOOK_AHEAD)) {
+            context.append(line);
         }
-
         return context.toString();
     }
 
@@ -114,11 +116,4 @@ public class FullTextFingerprint {
             return affectedLine;
         }
     }
-
-    static class FileSystem {
-        public Stream<String> readLinesFromFile(final String fileName, final Charset charset) throws IOException {
-            return Files.lines(Paths.get(fileName), charset);
-        }
-    }
 }
-
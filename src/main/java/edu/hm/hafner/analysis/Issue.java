@@ -1,8 +1,13 @@
 package edu.hm.hafner.analysis;
 
 import javax.annotation.CheckForNull;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -14,7 +19,9 @@ import org.apache.commons.lang3.StringUtils;
  */
 // Add module that is the same for a parser scan
 public class Issue implements Serializable {
-    private static final String UNDEFINED = "-";
+    private static final long serialVersionUID = -3192522287108764195L;
+
+    static final String UNDEFINED = "-";
 
     private final String fileName;
     private final String category;
@@ -35,17 +42,82 @@ public class Issue implements Serializable {
 
     private final UUID id;
 
-    private final String fingerprint;
-
+    @CheckForNull
+    private String fingerprint;
+    @CheckForNull
+    private transient Supplier<String> fingerprintProvider;
 
     public Issue(final Issue copy, final UUID id) {
         this(copy.fileName, copy.lineStart, copy.lineEnd, copy.columnStart, copy.columnEnd, copy.category, copy.type,
                 copy.packageName, copy.moduleName, copy.priority, copy.message, copy.description, copy.origin,
-                copy.fingerprint, id);
+                copy.getFingerprint(), id);
     }
 
     public Issue(final Issue copy) {
-        this(copy, UUID.randomUUID());
+        this(copy.fileName, copy.lineStart, copy.lineEnd, copy.columnStart, copy.columnEnd, copy.category, copy.type,
+                copy.packageName, copy.moduleName, copy.priority, copy.message, copy.description, copy.origin,
+                copy.getFingerprint(), IssueIdGenerators.RandomIdGenerator.createRandomId());
+    }
+
+    /**
+     * Creates a copy of the specified issue that uses the same ID but a fingerprint that will be computed on demand.
+     * The specified provider will be called at most once: the first time the fingerprint is requested by {@link
+     * #getFingerprint()} or when this issue is serialized.
+     *
+     * @param copy
+     *         the issue to copy the properties from
+     * @param fingerprintProvider
+     *         computes the fingerprint of this issue
+     */
+    Issue(final Issue copy, final Supplier<String> fingerprintProvider) {
+        fileName = copy.fileName;
+        lineStart = copy.lineStart;
+        lineEnd = copy.lineEnd;
+        columnStart = copy.columnStart;
+        columnEnd = copy.columnEnd;
+        category = copy.category;
+        type = copy.type;
+        packageName = copy.packageName;
+        moduleName = copy.moduleName;
+        priority = copy.priority;
+        message = copy.message;
+        description = copy.description;
+        origin = copy.origin;
+        id = copy.id;
+
+        this.fingerprintProvider = fingerprintProvider;
+    }
+
+    /**
+     * Creates a copy of the specified issue that uses the properties of an equal issue. The ID and the fingerprint
+     * are taken from the specified identity.
+     *
+     * @param content
+     *         the issue to copy the properties from, must be equal to {@code identity}
+     * @param identity
+     *         the issue to copy the ID and fingerprint from
+     * @param strings
+     *         maps each string property before it is stored
+     *
+     * @see IssueInterner
+     */
+    Issue(final Issue content, final Issue identity, final UnaryOperator<String> strings) {
+        fileName = strings.apply(content.fileName);
+        lineStart = content.lineStart;
+        lineEnd = content.lineEnd;
+        columnStart = content.columnStart;
+        columnEnd = content.columnEnd;
+        category = strings.apply(content.category);
+        type = strings.apply(content.type);
+        packageName = strings.apply(content.packageName);
+        moduleName = strings.apply(content.moduleName);
+        priority = content.priority;
+        message = strings.apply(content.message);
+        description = strings.apply(content.description);
+        origin = strings.apply(content.origin);
+        id = identity.id;
+
+        identity.copyFingerprintTo(this);
     }
 
     /**
@@ -89,10 +161,12 @@ public class Issue implements Serializable {
             @CheckForNull final String message, @CheckForNull final String description,
             @CheckForNull final String origin, @CheckForNull final String fingerprint) {
         this(fileName, lineStart, lineEnd, columnStart, columnEnd, category, type,
-                packageName, moduleName, priority, message, description, origin, fingerprint, UUID.randomUUID());
+                packageName, moduleName, priority, message, description, origin, fingerprint,
+                IssueIdGenerators.RandomIdGenerator.createRandomId());
     }
 
-    private Issue(@CheckForNull final String fileName,
+    @SuppressWarnings("ParameterNumber")
+    Issue(@CheckForNull final String fileName,
             final int lineStart, final int lineEnd, final int columnStart, final int columnEnd,
             @CheckForNull final String category, @CheckForNull final String type,
             @CheckForNull final String packageName, @CheckForNull final String moduleName,
@@ -264,15 +338,75 @@ public class Issue implements Serializable {
     /**
      * Returns the finger print for this issue. Used to decide if two issues are equal even if the equals method returns
      * {@code false} since some of the properties differ due to code refactorings. The fingerprint is created by
-     * analyzing the content of the affected file.
+     * analyzing the content of the affected file. If this issue has been created with a deferred fingerprint, then
+     * the fingerprint is computed when this method is called for the first time.
      *
      * @return the fingerprint of this issue
      */
     // TODO: should the fingerprint be part of equals/hashcode?
     public String getFingerprint() {
+        String computed = fingerprint;
+        if (computed == null) {
+            return computeFingerprint();
+        }
+        return computed;
+    }
+
+    private synchronized String computeFingerprint() {
+        if (fingerprint == null) {
+            Supplier<String> provider = fingerprintProvider;
+            fingerprint = defaultString(provider == null ? null : provider.get());
+            fingerprintProvider = null;
+        }
         return fingerprint;
     }
 
+    private synchronized void copyFingerprintTo(final Issue copy) {
+        copy.fingerprint = fingerprint;
+        copy.fingerprintProvider = fingerprintProvider;
+    }
+
+    private void writeObject(final ObjectOutputStream output) throws IOException {
+        getFingerprint();
+
+        output.defaultWriteObject();
+    }
+
+    /**
+     * Replaces an instance of this class with a {@link SerializationProxy} that uses a compact binary format.
+     * Sub-classes are serialized using the default serialization.
+     *
+     * @return the proxy to serialize
+     */
+    private Object writeReplace() {
+        return new SerializationProxy(this);
+    }
+
+    /**
+     * Serializes an {@link Issue} using the compact binary format of {@link IssueOutput}.
+     */
+    private static class SerializationProxy implements Serializable {
+        private static final long serialVersionUID = 5185853442393563346L;
+
+        private transient Issue issue;
+
+        SerializationProxy(final Issue issue) {
+            this.issue = issue;
+        }
+
+        private void writeObject(final ObjectOutputStream output) throws IOException {
+            new IssueOutput(output).writeIssue(issue);
+        }
+
+        private void readObject(final ObjectInputStream input) throws IOException {
+            issue = new IssueInput(input).readIssue();
+        }
+
+        private Object readResolve() {
+            return issue;
+        }
+    }
+
     @Override
     public String toString() {
         return String.format("%s(%d,%d): %s: %s: %s", fileName, lineStart, columnStart, type, category, message);
@@ -1,5 +1,8 @@
 package edu.hm.hafner.analysis;
 
+import javax.annotation.CheckForNull;
+import java.util.UUID;
+
 /**
  * Creates new {@link Issue issues} using the builder pattern. All properties that have not been set in the builder will
  * be set to their default value. <p>Example:</p>
@@ -17,6 +20,9 @@ package edu.hm.hafner.analysis;
  */
 @SuppressWarnings({"InstanceVariableMayNotBeInitialized", "JavaDocMethod"})
 public class IssueBuilder {
+    /** The ID of an issue that is passed to an {@link IssueIdGenerator} that needs the content of the issue. */
+    private static final UUID PLACEHOLDER_ID = new UUID(0, 0);
+
     protected String fileName;
     protected int lineStart = 0;
     protected int lineEnd = 0;
@@ -31,6 +37,38 @@ public class IssueBuilder {
     protected String moduleName;
     protected String origin;
     protected String fingerprint;
+    private IssueIdGenerator idGenerator = IssueIdGenerator.random();
+    @CheckForNull
+    private IssueInterner interner;
+
+    /**
+     * Sets the generator for the IDs of the created issues. By default, random IDs will be created.
+     *
+     * @param idGenerator
+     *         the ID generator
+     *
+     * @return this
+     * @see IssueIdGenerator
+     */
+    public IssueBuilder setIdGenerator(final IssueIdGenerator idGenerator) {
+        this.idGenerator = idGenerator;
+        return this;
+    }
+
+    /**
+     * Sets the interner that canonicalizes the properties of the created issues. By default, issues are not
+     * interned.
+     *
+     * @param interner
+     *         the interner, or {@code null} to disable interning
+     *
+     * @return this
+     * @see IssueInterner
+     */
+    public IssueBuilder setInterner(@CheckForNull final IssueInterner interner) {
+        this.interner = interner;
+        return this;
+    }
 
     public IssueBuilder setFingerprint(final String fingerprint) {
         this.fingerprint = fingerprint;
@@ -135,7 +173,47 @@ public class IssueBuilder {
      * @return the created issue
      */
     public Issue build() {
-        return new Issue(fileName, lineStart, lineEnd, columnStart, columnEnd, category, type,
-                packageName, moduleName, priority, message, description, origin, fingerprint);
+        Issue issue;
+        if (idGenerator instanceof IssueIdGenerators.ContentIndependent) {
+            issue = new Issue(fileName, lineStart, lineEnd, columnStart, columnEnd, category, type,
+                    packageName, moduleName, priority, message, description, origin, fingerprint,
+                    ((IssueIdGenerators.ContentIndependent) idGenerator).createId());
+        }
+        else {
+            Issue content = new Issue(fileName, lineStart, lineEnd, columnStart, columnEnd, category, type,
+                    packageName, moduleName, priority, message, description, origin, fingerprint, PLACEHOLDER_ID);
+            issue = new Issue(content, idGenerator.createId(content));
+        }
+        return intern(issue);
+    }
+
+    /**
+     * Creates a copy of the specified issue that gets a new ID from the ID generator of this builder. All other
+     * properties are taken from the specified issue. If this builder has an interner, then the copy will be interned.
+     *
+     * @param issue
+     *         the issue to copy
+     *
+     * @return the copied issue
+     */
+    Issue buildCopy(final Issue issue) {
+        return intern(new Issue(issue, idGenerator.createId(issue)));
+    }
+
+    /**
+     * Creates a new builder that uses the same ID generator and interner as this builder. All other properties have
+     * their default values.
+     *
+     * @return the new builder
+     */
+    IssueBuilder createEmptyCopy() {
+        return new IssueBuilder().setIdGenerator(idGenerator).setInterner(interner);
+    }
+
+    private Issue intern(final Issue issue) {
+        if (interner != null) {
+            return interner.intern(issue);
+        }
+        return issue;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,197 @@
+package edu.hm.hafner.analysis;
+
+import javax.annotation.CheckForNull;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BinaryOperator;
+
+/**
+ * The lines of each file that are affected by issues, separated by the priority of the issues. The lines are stored in
+ * run-length encoded {@link LineBitmap line bitmaps}, i.e. a coverage can be kept for a large number of files and
+ * builds. The coverage of several builds can be combined using {@link #or(IssueCoverage)} and {@link
+ * #and(IssueCoverage)}. Issues without a line number (line 0) are not part of the coverage.
+ *
+ * @author Ullrich Hafner
+ */
+public final class IssueCoverage {
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final Map<String, LineBitmap[]> linesByFile;
+
+    /**
+     * Creates the coverage of the specified issues in a single pass.
+     *
+     * @param issues
+     *         the issues
+     *
+     * @return the coverage of the issues
+     */
+    public static IssueCoverage of(final Iterable<? extends Issue> issues) {
+        Map<String, LineBitmap.Builder[]> builders = new HashMap<>();
+        for (Issue issue : issues) {
+            int from = Math.min(issue.getLineStart(), issue.getLineEnd());
+            int to = Math.max(issue.getLineStart(), issue.getLineEnd());
+            if (to > 0) {
+                LineBitmap.Builder[] buildersOfFile = builders.computeIfAbsent(issue.getFileName(),
+                        fileName -> new LineBitmap.Builder[PRIORITIES.length]);
+                int priority = issue.getPriority().ordinal();
+                if (buildersOfFile[priority] == null) {
+                    buildersOfFile[priority] = new LineBitmap.Builder();
+                }
+                buildersOfFile[priority].add(Math.max(from, 1), to);
+            }
+        }
+
+        Map<String, LineBitmap[]> linesByFile = new HashMap<>();
+        builders.forEach((fileName, buildersOfFile) -> {
+            LineBitmap[] lines = new LineBitmap[PRIORITIES.length];
+            for (int i = 0; i < lines.length; i++) {
+                lines[i] = buildersOfFile[i] == null ? LineBitmap.EMPTY : buildersOfFile[i].build();
+            }
+            linesByFile.put(fileName, lines);
+        });
+        return new IssueCoverage(linesByFile);
+    }
+
+    private IssueCoverage(final Map<String, LineBitmap[]> linesByFile) {
+        this.linesByFile = linesByFile;
+    }
+
+    /**
+     * Returns the names of the files that contain issues.
+     *
+     * @return the file names
+     */
+    public Set<String> getFiles() {
+        return Collections.unmodifiableSet(linesByFile.keySet());
+    }
+
+    /**
+     * Returns the lines of the specified file that are affected by issues of the specified priority.
+     *
+     * @param fileName
+     *         the name of the file
+     * @param priority
+     *         the priority of the issues
+     *
+     * @return the affected lines
+     */
+    public LineBitmap getLines(final String fileName, final Priority priority) {
+        LineBitmap[] lines = linesByFile.get(fileName);
+        return lines == null ? LineBitmap.EMPTY : lines[priority.ordinal()];
+    }
+
+    /**
+     * Returns the lines of the specified file that are affected by issues of any priority.
+     *
+     * @param fileName
+     *         the name of the file
+     *
+     * @return the affected lines
+     */
+    public LineBitmap getLines(final String fileName) {
+        LineBitmap all = LineBitmap.EMPTY;
+        for (Priority priority : PRIORITIES) {
+            all = all.or(getLines(fileName, priority));
+        }
+        return all;
+    }
+
+    /**
+     * Returns the highest priority of the issues that affect the specified line.
+     *
+     * @param fileName
+     *         the name of the file
+     * @param line
+     *         the line
+     *
+     * @return the highest priority, or {@code null} if the line is not affected by an issue
+     */
+    @CheckForNull
+    public Priority getPriority(final String fileName, final int line) {
+        for (Priority priority : PRIORITIES) { // priorities are ordered from high to low
+            if (getLines(fileName, priority).contains(line)) {
+                return priority;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the number of affected lines of all files, regardless of the priority.
+     *
+     * @return the number of affected lines
+     */
+    public long getCardinality() {
+        long cardinality = 0;
+        for (String fileName : linesByFile.keySet()) {
+            cardinality += getLines(fileName).getCardinality();
+        }
+        return cardinality;
+    }
+
+    /**
+     * Returns the number of lines of all files that are affected by issues of the specified priority.
+     *
+     * @param priority
+     *         the priority of the issues
+     *
+     * @return the number of affected lines
+     */
+    public long getCardinality(final Priority priority) {
+        long cardinality = 0;
+        for (LineBitmap[] lines : linesByFile.values()) {
+            cardinality += lines[priority.ordinal()].getCardinality();
+        }
+        return cardinality;
+    }
+
+    /**
+     * Returns a new coverage that contains the lines that are affected in this or in the specified coverage.
+     *
+     * @param other
+     *         the other coverage
+     *
+     * @return the union of both coverages
+     */
+    public IssueCoverage or(final IssueCoverage other) {
+        Set<String> files = new HashSet<>(linesByFile.keySet());
+        files.addAll(other.linesByFile.keySet());
+        return combine(other, files, LineBitmap::or);
+    }
+
+    /**
+     * Returns a new coverage that contains the lines that are affected in this and in the specified coverage.
+     *
+     * @param other
+     *         the other coverage
+     *
+     * @return the intersection of both coverages
+     */
+    public IssueCoverage and(final IssueCoverage other) {
+        Set<String> files = new HashSet<>(linesByFile.keySet());
+        files.retainAll(other.linesByFile.keySet());
+        return combine(other, files, LineBitmap::and);
+    }
+
+    private IssueCoverage combine(final IssueCoverage other, final Set<String> files,
+            final BinaryOperator<LineBitmap> operator) {
+        Map<String, LineBitmap[]> combined = new HashMap<>();
+        for (String fileName : files) {
+            LineBitmap[] lines = new LineBitmap[PRIORITIES.length];
+            boolean isEmpty = true;
+            for (Priority priority : PRIORITIES) {
+                LineBitmap result = operator.apply(getLines(fileName, priority), other.getLines(fileName, priority));
+                lines[priority.ordinal()] = result;
+                isEmpty &= result.isEmpty();
+            }
+            if (!isEmpty) {
+                combined.put(fileName, lines);
+            }
+        }
+        return new IssueCoverage(combined);
+    }
+}
@@ -0,0 +1,192 @@
+package edu.hm.hafner.analysis;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Classifies the issues of a build as new, fixed, or outstanding with respect to the issues of a reference build. Two
+ * issues are considered the same if:
+ * <ol>
+ * <li>they have the same fingerprint, or if that fails</li>
+ * <li>they have the same file name, category, type, and message. If there are several candidates, then the issue with
+ * the nearest start line is chosen.</li>
+ * </ol>
+ * Each issue is matched with at most one issue of the other set. Both steps use hash joins, so the classification
+ * requires linear time in the expected case: only issues with the same file name, category, type, and message need
+ * to be compared by their line number.
+ *
+ * @param <T>
+ *         type of the issues
+ *
+ * @author Ullrich Hafner
+ */
+public class IssueDifference<T extends Issue> {
+    private final Issues<T> newIssues = new Issues<>();
+    private final Issues<T> fixedIssues = new Issues<>();
+    private final Issues<T> outstandingIssues = new Issues<>();
+
+    /**
+     * Creates a new instance of {@link IssueDifference}.
+     *
+     * @param current
+     *         the issues of the current build
+     * @param reference
+     *         the issues of the reference build
+     */
+    public IssueDifference(final Issues<T> current, final Issues<T> reference) {
+        List<T> referenceIssues = new ArrayList<>(reference.size());
+        reference.forEach(referenceIssues::add);
+        boolean[] isMatched = new boolean[referenceIssues.size()];
+
+        List<T> unmatched = matchFingerprints(current, referenceIssues, isMatched);
+        Map<Key, TreeMap<Integer, Deque<Integer>>> candidates = indexUnmatched(referenceIssues, isMatched);
+        for (T issue : unmatched) {
+            int match = findNearest(candidates.get(new Key(issue)), issue.getLineStart());
+            if (match < 0) {
+                newIssues.add(issue);
+            }
+            else {
+                isMatched[match] = true;
+                outstandingIssues.add(issue);
+            }
+        }
+
+        for (int i = 0; i < referenceIssues.size(); i++) {
+            if (!isMatched[i]) {
+                fixedIssues.add(referenceIssues.get(i));
+            }
+        }
+    }
+
+    private List<T> matchFingerprints(final Issues<T> current, final List<T> referenceIssues,
+            final boolean[] isMatched) {
+        Map<String, Deque<Integer>> byFingerprint = new HashMap<>();
+        for (int i = 0; i < referenceIssues.size(); i++) {
+            String fingerprint = referenceIssues.get(i).getFingerprint();
+            if (!Issue.UNDEFINED.equals(fingerprint)) {
+                byFingerprint.computeIfAbsent(fingerprint, key -> new ArrayDeque<>()).add(i);
+            }
+        }
+
+        List<T> unmatched = new ArrayList<>();
+        for (T issue : current) {
+            Deque<Integer> matches = byFingerprint.get(issue.getFingerprint());
+            if (matches == null || matches.isEmpty()) {
+                unmatched.add(issue);
+            }
+            else {
+                isMatched[matches.removeFirst()] = true;
+                outstandingIssues.add(issue);
+            }
+        }
+        return unmatched;
+    }
+
+    private Map<Key, TreeMap<Integer, Deque<Integer>>> indexUnmatched(final List<T> referenceIssues,
+            final boolean[] isMatched) {
+        Map<Key, TreeMap<Integer, Deque<Integer>>> candidates = new HashMap<>();
+        for (int i = 0; i < referenceIssues.size(); i++) {
+            if (!isMatched[i]) {
+                T issue = referenceIssues.get(i);
+                candidates.computeIfAbsent(new Key(issue), key -> new TreeMap<>())
+                        .computeIfAbsent(issue.getLineStart(), line -> new ArrayDeque<>())
+                        .add(i);
+            }
+        }
+        return candidates;
+    }
+
+    private int findNearest(final TreeMap<Integer, Deque<Integer>> linesOfCandidates, final int line) {
+        if (linesOfCandidates == null || linesOfCandidates.isEmpty()) {
+            return -1;
+        }
+        Entry<Integer, Deque<Integer>> floor = linesOfCandidates.floorEntry(line);
+        Entry<Integer, Deque<Integer>> ceiling = linesOfCandidates.ceilingEntry(line);
+        Entry<Integer, Deque<Integer>> nearest;
+        if (floor == null) {
+            nearest = ceiling;
+        }
+        else if (ceiling == null || line - floor.getKey() <= ceiling.getKey() - line) {
+            nearest = floor;
+        }
+        else {
+            nearest = ceiling;
+        }
+        int match = nearest.getValue().removeFirst();
+        if (nearest.getValue().isEmpty()) {
+            linesOfCandidates.remove(nearest.getKey());
+        }
+        return match;
+    }
+
+    /**
+     * Returns the issues of the current build that have no counterpart in the reference build.
+     *
+     * @return the new issues
+     */
+    public Issues<T> getNewIssues() {
+        return newIssues;
+    }
+
+    /**
+     * Returns the issues of the reference build that have no counterpart in the current build.
+     *
+     * @return the fixed issues
+     */
+    public Issues<T> getFixedIssues() {
+        return fixedIssues;
+    }
+
+    /**
+     * Returns the issues of the current build that have a counterpart in the reference build.
+     *
+     * @return the outstanding issues
+     */
+    public Issues<T> getOutstandingIssues() {
+        return outstandingIssues;
+    }
+
+    /**
+     * The properties that are compared if two issues have different fingerprints.
+     */
+    private static final class Key {
+        private final String fileName;
+        private final String category;
+        private final String type;
+        private final String message;
+        private final int hashCode;
+
+        Key(final Issue issue) {
+            fileName = issue.getFileName();
+            category = issue.getCategory();
+            type = issue.getType();
+            message = issue.getMessage();
+            hashCode = Objects.hash(fileName, category, type, message);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return hashCode == key.hashCode && fileName.equals(key.fileName) && category.equals(key.category)
+                    && type.equals(key.type) && message.equals(key.message);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
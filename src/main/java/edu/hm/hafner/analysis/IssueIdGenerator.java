@@ -0,0 +1,56 @@
+package edu.hm.hafner.analysis;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Creates the IDs of new {@link Issue issues}. An ID generator is called by the {@link IssueBuilder} with an issue that
+ * already contains all other properties, so the ID may be derived from the content of the issue. Use {@link
+ * IssueBuilder#setIdGenerator(IssueIdGenerator)} to select the generator for the issues of a parser. <p> In contrast
+ * to {@link UUID#randomUUID()}, which uses a shared {@link java.security.SecureRandom} instance, none of the provided
+ * generators is a contention point when issues are created in parallel. </p>
+ *
+ * @author Ullrich Hafner
+ */
+@FunctionalInterface
+public interface IssueIdGenerator {
+    /**
+     * Creates the ID for the specified issue.
+     *
+     * @param issue
+     *         the issue to create the ID for, its own ID is a placeholder that must not be used
+     *
+     * @return the ID
+     */
+    UUID createId(Issue issue);
+
+    /**
+     * Returns a generator that creates random (version 4) UUIDs using a {@link ThreadLocalRandom}. These IDs are
+     * unique with a very high probability, but they are not cryptographically strong. This is the default generator.
+     *
+     * @return a random ID generator
+     */
+    static IssueIdGenerator random() {
+        return IssueIdGenerators.RandomIdGenerator.INSTANCE;
+    }
+
+    /**
+     * Returns a new generator that creates sequential IDs: all IDs of the generator share a random prefix, the
+     * remaining bits contain a counter. Use a new generator for each parser run.
+     *
+     * @return a sequential ID generator
+     */
+    static IssueIdGenerator sequential() {
+        return new IssueIdGenerators.SequentialIdGenerator();
+    }
+
+    /**
+     * Returns a generator that derives the ID from the properties of the issue (version 3 UUIDs). Equal issues will
+     * get the same ID, even in different builds.
+     *
+     * @return a content based ID generator
+     */
+    static IssueIdGenerator contentDerived() {
+        return IssueIdGenerators.ContentIdGenerator.INSTANCE;
+    }
+}
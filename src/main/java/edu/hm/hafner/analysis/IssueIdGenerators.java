@@ -0,0 +1,125 @@
+package edu.hm.hafner.analysis;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@link IssueIdGenerator} implementations that are provided by the static factory methods of the interface.
+ *
+ * @author Ullrich Hafner
+ */
+final class IssueIdGenerators {
+    private IssueIdGenerators() {
+        // prevents instantiation
+    }
+
+    /**
+     * A generator that does not use the properties of an issue to create an ID. The ID of a new issue can be created
+     * before the issue is constructed.
+     */
+    interface ContentIndependent extends IssueIdGenerator {
+        /**
+         * Creates a new ID.
+         *
+         * @return the ID
+         */
+        UUID createId();
+
+        @Override
+        default UUID createId(final Issue issue) {
+            return createId();
+        }
+    }
+
+    /**
+     * Creates random UUIDs using a {@link ThreadLocalRandom}.
+     */
+    static final class RandomIdGenerator implements ContentIndependent {
+        static final IssueIdGenerator INSTANCE = new RandomIdGenerator();
+
+        private RandomIdGenerator() {
+            // singleton
+        }
+
+        @Override
+        public UUID createId() {
+            return createRandomId();
+        }
+
+        static UUID createRandomId() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            return createRandomUuid(random.nextLong(), random.nextLong());
+        }
+
+        static UUID createRandomUuid(final long mostSignificantBits, final long leastSignificantBits) {
+            return new UUID(mostSignificantBits & ~0xF000L | 0x4000L, // version 4
+                    leastSignificantBits & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L); // IETF variant
+        }
+    }
+
+    /**
+     * Creates UUIDs that consist of a random prefix and a counter.
+     */
+    static final class SequentialIdGenerator implements ContentIndependent {
+        private final long prefix;
+        private final AtomicLong counter = new AtomicLong();
+
+        SequentialIdGenerator() {
+            prefix = RandomIdGenerator.createRandomUuid(ThreadLocalRandom.current().nextLong(), 0)
+                    .getMostSignificantBits();
+        }
+
+        @Override
+        public UUID createId() {
+            return new UUID(prefix,
+                    counter.incrementAndGet() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L); // IETF variant
+        }
+    }
+
+    /**
+     * Creates name based UUIDs from the properties of an issue.
+     */
+    static final class ContentIdGenerator implements IssueIdGenerator {
+        static final IssueIdGenerator INSTANCE = new ContentIdGenerator();
+
+        private ContentIdGenerator() {
+            // singleton
+        }
+
+        @Override
+        public UUID createId(final Issue issue) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            try (DataOutputStream output = new DataOutputStream(bytes)) {
+                writeString(output, issue.getFileName());
+                output.writeInt(issue.getLineStart());
+                output.writeInt(issue.getLineEnd());
+                output.writeInt(issue.getColumnStart());
+                output.writeInt(issue.getColumnEnd());
+                writeString(output, issue.getCategory());
+                writeString(output, issue.getType());
+                writeString(output, issue.getPackageName());
+                writeString(output, issue.getModuleName());
+                output.writeByte(issue.getPriority().ordinal());
+                writeString(output, issue.getMessage());
+                writeString(output, issue.getDescription());
+                writeString(output, issue.getOrigin());
+            }
+            catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+            return UUID.nameUUIDFromBytes(bytes.toByteArray());
+        }
+
+        private void writeString(final DataOutputStream output, final String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package edu.hm.hafner.analysis;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads issues that have been written by an {@link IssueOutput}.
+ *
+ * @author Ullrich Hafner
+ * @see IssueOutput
+ */
+class IssueInput {
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final DataInput input;
+    private final long maximumStringLength;
+    private final List<String> dictionary = new ArrayList<>(Arrays.asList(IssueOutput.PREDEFINED_STRINGS));
+
+    /**
+     * Creates a new instance of {@link IssueInput}.
+     *
+     * @param input
+     *         the input to read from
+     */
+    IssueInput(final DataInput input) {
+        this(input, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates a new instance of {@link IssueInput} that rejects strings that are longer than the specified number of
+     * bytes. Use the size of the input as limit, so that a corrupt length is reported as an error rather than
+     * allocating a huge array.
+     *
+     * @param input
+     *         the input to read from
+     * @param maximumStringLength
+     *         the maximum number of bytes of a string
+     */
+    IssueInput(final DataInput input, final long maximumStringLength) {
+        this.input = input;
+        this.maximumStringLength = maximumStringLength;
+    }
+
+    /**
+     * Reads the next issue.
+     *
+     * @return the issue
+     * @throws IOException
+     *         if the issue could not be read
+     */
+    Issue readIssue() throws IOException {
+        String fileName = readString();
+        int lineStart = readVarInt();
+        int lineEnd = lineStart + readVarInt();
+        int columnStart = readVarInt();
+        int columnEnd = columnStart + readVarInt();
+        String category = readString();
+        String type = readString();
+        String packageName = readString();
+        String moduleName = readString();
+        Priority priority = readPriority();
+        String message = readMessage();
+        String description = readString();
+        String origin = readString();
+        String fingerprint = readString();
+        UUID id = new UUID(input.readLong(), input.readLong());
+
+        return new Issue(fileName, lineStart, lineEnd, columnStart, columnEnd, category, type, packageName,
+                moduleName, priority, message, description, origin, fingerprint, id);
+    }
+
+    private Priority readPriority() throws IOException {
+        int ordinal = input.readUnsignedByte();
+        if (ordinal >= PRIORITIES.length) {
+            throw new InvalidObjectException("Invalid priority " + ordinal);
+        }
+        return PRIORITIES[ordinal];
+    }
+
+    /**
+     * Reads the next message.
+     *
+     * @return the message
+     * @throws IOException
+     *         if the message could not be read
+     */
+    String readMessage() throws IOException {
+        int index = readVarInt();
+        if (index == IssueOutput.NEW_STRING) {
+            String message = readString(index);
+            MessageTemplate template = MessageTemplate.parse(message);
+            if (template != null) {
+                dictionary.add(template.getTemplate());
+            }
+            return message;
+        }
+        if (index != IssueOutput.TEMPLATE) {
+            return readString(index);
+        }
+
+        String template = readString();
+        int size = readVarInt();
+        if (size < 0 || size > template.length()) {
+            throw new InvalidObjectException("Invalid number of template arguments " + size);
+        }
+        String[] arguments = new String[size];
+        for (int i = 0; i < size; i++) {
+            arguments[i] = readString();
+        }
+        try {
+            String message = MessageTemplate.format(template, arguments);
+            dictionary.add(message);
+            return message;
+        }
+        catch (IllegalArgumentException exception) {
+            throw new InvalidObjectException(exception.getMessage());
+        }
+    }
+
+    /**
+     * Reads the next string.
+     *
+     * @return the string
+     * @throws IOException
+     *         if the string could not be read
+     */
+    String readString() throws IOException {
+        return readString(readVarInt());
+    }
+
+    private String readString(final int index) throws IOException {
+        if (index == IssueOutput.NEW_STRING) {
+            int length = readVarInt();
+            if (length < 0 || length > maximumStringLength) {
+                throw new InvalidObjectException("Invalid string length " + length);
+            }
+            byte[] bytes = new byte[length];
+            input.readFully(bytes);
+            String value = new String(bytes, StandardCharsets.UTF_8);
+            dictionary.add(value);
+            return value;
+        }
+        if (index < 1 || index > dictionary.size()) {
+            throw new InvalidObjectException("Invalid string reference " + index);
+        }
+        return dictionary.get(index - 1);
+    }
+
+    /**
+     * Reads the next variable length integer.
+     *
+     * @return the integer
+     * @throws IOException
+     *         if the integer could not be read
+     */
+    int readVarInt() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int current = input.readUnsignedByte();
+            value |= (current & 0x7F) << shift;
+            if ((current & 0x80) == 0) {
+                return (value >>> 1) ^ -(value & 1);
+            }
+        }
+        throw new InvalidObjectException("Malformed variable length integer");
+    }
+}
@@ -0,0 +1,86 @@
+package edu.hm.hafner.analysis;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Canonicalizes the properties of {@link Issue issues} so that equal issues of different builds share the same
+ * strings. Consecutive builds typically report mostly the same issues: when such a build is kept in a history, the
+ * file names, messages, descriptions, etc. of its issues are stored only once. <p> Each issue of a build still is a
+ * separate instance with its own ID and fingerprint, only the content is shared. Equal issues are found with a single
+ * lookup, the strings of new issues are canonicalized individually so that different issues share common file names,
+ * categories, types, etc. </p> <p> All entries are weakly referenced, so the interner does not prevent that issues or
+ * strings are garbage collected. Use {@link IssueBuilder#setInterner(IssueInterner)} to intern the issues of a parser,
+ * or {@link #global()} to share the content across all parsers of a JVM. Sub-classes of {@link Issue} are not
+ * interned. </p>
+ *
+ * @author Ullrich Hafner
+ */
+public final class IssueInterner {
+    private static final IssueInterner GLOBAL = new IssueInterner();
+
+    private final Map<Issue, WeakReference<Issue>> issues = new WeakHashMap<>();
+    private final Map<String, WeakReference<String>> strings = new WeakHashMap<>();
+
+    /**
+     * Returns the interner that is shared by all parsers of this JVM.
+     *
+     * @return the global interner
+     */
+    public static IssueInterner global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Returns an issue that is equal to the specified issue, has the same ID and fingerprint, but shares its
+     * properties with the equal issues that have been interned before.
+     *
+     * @param issue
+     *         the issue to intern
+     *
+     * @return the interned issue, or the specified issue itself if it is the first of its kind or a sub-class of
+     *         {@link Issue}
+     */
+    public synchronized Issue intern(final Issue issue) {
+        if (issue.getClass() != Issue.class) {
+            return issue;
+        }
+
+        WeakReference<Issue> reference = issues.get(issue);
+        Issue canonical = reference == null ? null : reference.get();
+        if (canonical == issue) {
+            return issue;
+        }
+
+        Issue interned;
+        if (canonical == null) {
+            interned = new Issue(issue, issue, this::intern);
+        }
+        else {
+            interned = new Issue(canonical, issue, string -> string);
+            issues.remove(canonical); // the newest issue will live longest, so use it as key
+        }
+        issues.put(interned, new WeakReference<>(interned));
+        return interned;
+    }
+
+    private String intern(final String string) {
+        WeakReference<String> reference = strings.get(string);
+        String canonical = reference == null ? null : reference.get();
+        if (canonical == null) {
+            strings.put(string, new WeakReference<>(string));
+            return string;
+        }
+        return canonical;
+    }
+
+    /**
+     * Returns the number of distinct issues that are currently interned.
+     *
+     * @return the number of interned issues
+     */
+    public synchronized int size() {
+        return issues.size();
+    }
+}
@@ -0,0 +1,203 @@
+package edu.hm.hafner.analysis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An index of issues that finds the issues of a file that touch a given line or range of lines. For each file an
+ * augmented interval tree is created: the line ranges of the issues are sorted by their start line and stored in an
+ * implicit balanced binary tree, each node knows the maximum end line of its subtree. A query requires O(log n + k)
+ * time, where n is the number of issues of the file and k the number of found issues. <p> The line range of an issue
+ * is defined by its start and end line. Issues at line 0 (i.e. issues that have no line) are found by queries that
+ * include line 0. </p>
+ *
+ * @param <T>
+ *         type of the issues
+ *
+ * @author Ullrich Hafner
+ */
+public class IssueLineIndex<T extends Issue> {
+    private final Map<String, FileIndex<T>> indexByFile = new HashMap<>();
+
+    /**
+     * Creates a new index for the specified issues. Subsequent changes of the issues are not reflected by the index.
+     *
+     * @param issues
+     *         the issues to index
+     */
+    public IssueLineIndex(final Iterable<? extends T> issues) {
+        Map<String, List<T>> issuesByFile = new HashMap<>();
+        for (T issue : issues) {
+            issuesByFile.computeIfAbsent(issue.getFileName(), fileName -> new ArrayList<>()).add(issue);
+        }
+        issuesByFile.forEach((fileName, issuesOfFile) -> indexByFile.put(fileName, new FileIndex<>(issuesOfFile)));
+    }
+
+    /**
+     * Returns the names of the indexed files.
+     *
+     * @return the file names
+     */
+    public Set<String> getFiles() {
+        return Collections.unmodifiableSet(indexByFile.keySet());
+    }
+
+    /**
+     * Finds all issues of the specified file that touch the specified line.
+     *
+     * @param fileName
+     *         the file name of the issues
+     * @param line
+     *         the line
+     *
+     * @return the found issues, sorted by their start line
+     */
+    public List<T> find(final String fileName, final int line) {
+        return find(fileName, line, line);
+    }
+
+    /**
+     * Finds all issues of the specified file that touch at least one line of the specified range.
+     *
+     * @param fileName
+     *         the file name of the issues
+     * @param range
+     *         the range of lines
+     *
+     * @return the found issues, sorted by their start line
+     */
+    public List<T> find(final String fileName, final LineRange range) {
+        return find(fileName, range.getFrom(), range.getTo());
+    }
+
+    /**
+     * Finds all issues of the specified file that touch at least one line of the specified range.
+     *
+     * @param fileName
+     *         the file name of the issues
+     * @param from
+     *         the first line of the range
+     * @param to
+     *         the last line of the range
+     *
+     * @return the found issues, sorted by their start line
+     */
+    public List<T> find(final String fileName, final int from, final int to) {
+        FileIndex<T> index = indexByFile.get(fileName);
+        if (index == null) {
+            return Collections.emptyList();
+        }
+        List<T> found = new ArrayList<>();
+        index.find(Math.min(from, to), Math.max(from, to), found);
+        return found;
+    }
+
+    /**
+     * Returns whether at least one issue of the specified file touches at least one line of the specified range.
+     *
+     * @param fileName
+     *         the file name of the issues
+     * @param from
+     *         the first line of the range
+     * @param to
+     *         the last line of the range
+     *
+     * @return {@code true} if there is such an issue, {@code false} otherwise
+     */
+    public boolean contains(final String fileName, final int from, final int to) {
+        FileIndex<T> index = indexByFile.get(fileName);
+        return index != null && index.contains(Math.min(from, to), Math.max(from, to));
+    }
+
+    /**
+     * The interval tree of the issues of a single file. The tree is stored in arrays that are sorted by the start line
+     * of the issues: the root of the sub tree {@code [low, high)} is the element in the middle.
+     *
+     * @param <T>
+     *         type of the issues
+     */
+    private static class FileIndex<T extends Issue> {
+        private final Object[] issues;
+        private final int[] starts;
+        private final int[] ends;
+        private final int[] maximumEnds;
+
+        FileIndex(final List<T> issuesOfFile) {
+            issuesOfFile.sort(Comparator.comparingInt(FileIndex::getStart));
+
+            int size = issuesOfFile.size();
+            issues = issuesOfFile.toArray();
+            starts = new int[size];
+            ends = new int[size];
+            for (int i = 0; i < size; i++) {
+                T issue = issuesOfFile.get(i);
+                starts[i] = getStart(issue);
+                ends[i] = Math.max(issue.getLineStart(), issue.getLineEnd());
+            }
+            maximumEnds = Arrays.copyOf(ends, size);
+            computeMaximumEnds(0, size);
+        }
+
+        private static int getStart(final Issue issue) {
+            return Math.min(issue.getLineStart(), issue.getLineEnd());
+        }
+
+        private int computeMaximumEnds(final int low, final int high) {
+            if (low >= high) {
+                return Integer.MIN_VALUE;
+            }
+            int middle = (low + high) >>> 1;
+            int maximum = Math.max(ends[middle],
+                    Math.max(computeMaximumEnds(low, middle), computeMaximumEnds(middle + 1, high)));
+            maximumEnds[middle] = maximum;
+            return maximum;
+        }
+
+        void find(final int from, final int to, final List<T> found) {
+            find(0, issues.length, from, to, found);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void find(final int low, final int high, final int from, final int to, final List<T> found) {
+            if (low >= high) {
+                return;
+            }
+            int middle = (low + high) >>> 1;
+            if (maximumEnds[middle] < from) {
+                return; // no issue of this subtree ends at or after the first line
+            }
+            find(low, middle, from, to, found);
+            if (starts[middle] > to) {
+                return; // all issues of the right subtree start after the last line
+            }
+            if (ends[middle] >= from) {
+                found.add((T) issues[middle]);
+            }
+            find(middle + 1, high, from, to, found);
+        }
+
+        boolean contains(final int from, final int to) {
+            return contains(0, issues.length, from, to);
+        }
+
+        private boolean contains(final int low, final int high, final int from, final int to) {
+            if (low >= high) {
+                return false;
+            }
+            int middle = (low + high) >>> 1;
+            if (maximumEnds[middle] < from) {
+                return false;
+            }
+            if (starts[middle] <= to && ends[middle] >= from) {
+                return true;
+            }
+            return contains(low, middle, from, to) || starts[middle] <= to && contains(middle + 1, high, from, to);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package edu.hm.hafner.analysis;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Writes issues in a compact binary format to a {@link DataOutput}. Strings are dictionary encoded: each distinct
+ * string is written only once, subsequent occurrences are written as a reference to the first one. Numbers are written
+ * as variable length integers so that small values (like line numbers) require just one or two bytes. Messages that
+ * differ only in identifiers or numbers share a {@link MessageTemplate template}: the first of these messages is
+ * written as a string, all other messages are written as a reference to the template and the arguments. So the common
+ * text of these messages is written only once. Use an {@link IssueInput} to read the issues again.
+ *
+ * @author Ullrich Hafner
+ * @see IssueInput
+ */
+class IssueOutput {
+    /** Strings that are contained in the dictionary before the first string is written. */
+    static final String[] PREDEFINED_STRINGS = {"", "-"};
+    /** Marks a string that is not yet part of the dictionary. */
+    static final int NEW_STRING = 0;
+    /** Marks a message that is written as a template and its arguments. */
+    static final int TEMPLATE = -1;
+
+    private final DataOutput output;
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private int dictionarySize = 0;
+
+    /**
+     * Creates a new instance of {@link IssueOutput}.
+     *
+     * @param output
+     *         the output to write to
+     */
+    IssueOutput(final DataOutput output) {
+        this.output = output;
+
+        for (String predefined : PREDEFINED_STRINGS) {
+            dictionary.put(predefined, ++dictionarySize);
+        }
+    }
+
+    /**
+     * Writes the specified issue.
+     *
+     * @param issue
+     *         the issue to write
+     *
+     * @throws IOException
+     *         if the issue could not be written
+     */
+    void writeIssue(final Issue issue) throws IOException {
+        writeString(issue.getFileName());
+        writeVarInt(issue.getLineStart());
+        writeVarInt(issue.getLineEnd() - issue.getLineStart());
+        writeVarInt(issue.getColumnStart());
+        writeVarInt(issue.getColumnEnd() - issue.getColumnStart());
+        writeString(issue.getCategory());
+        writeString(issue.getType());
+        writeString(issue.getPackageName());
+        writeString(issue.getModuleName());
+        output.writeByte(issue.getPriority().ordinal());
+        writeMessage(issue.getMessage());
+        writeString(issue.getDescription());
+        writeString(issue.getOrigin());
+        writeString(issue.getFingerprint());
+        writeId(issue.getId());
+    }
+
+    private void writeId(final UUID id) throws IOException {
+        output.writeLong(id.getMostSignificantBits());
+        output.writeLong(id.getLeastSignificantBits());
+    }
+
+    /**
+     * Writes the specified message. If the message has been written before, then only a reference to the previous
+     * occurrence is written. If a message with the same {@link MessageTemplate template} has been written before, then
+     * a reference to the template and the arguments are written. Otherwise, the message is written as a new string
+     * and its template is added to the dictionary.
+     *
+     * @param message
+     *         the message to write
+     *
+     * @throws IOException
+     *         if the message could not be written
+     */
+    void writeMessage(final String message) throws IOException {
+        if (dictionary.containsKey(message)) {
+            writeString(message);
+            return;
+        }
+
+        MessageTemplate template = MessageTemplate.parse(message);
+        if (template == null) {
+            writeString(message);
+        }
+        else if (dictionary.containsKey(template.getTemplate())) {
+            writeVarInt(TEMPLATE);
+            writeString(template.getTemplate());
+            String[] arguments = template.getArguments();
+            writeVarInt(arguments.length);
+            for (String argument : arguments) {
+                writeString(argument);
+            }
+            dictionary.put(message, ++dictionarySize); // might replace an argument that is equal to the message
+        }
+        else {
+            writeString(message);
+            dictionary.put(template.getTemplate(), ++dictionarySize);
+        }
+    }
+
+    /**
+     * Writes the specified string. If the string has been written before, then only a reference to the previous
+     * occurrence is written.
+     *
+     * @param value
+     *         the string to write
+     *
+     * @throws IOException
+     *         if the string could not be written
+     */
+    void writeString(final String value) throws IOException {
+        Integer index = dictionary.get(value);
+        if (index == null) {
+            dictionary.put(value, ++dictionarySize);
+
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(NEW_STRING);
+            writeVarInt(bytes.length);
+            output.write(bytes);
+        }
+        else {
+            writeVarInt(index);
+        }
+    }
+
+    /**
+     * Writes the specified integer using 1 to 5 bytes: each byte stores 7 bits of the value, the most significant bit
+     * indicates that another byte follows. Negative values are zig-zag encoded so that small negative values require
+     * few bytes as well.
+     *
+     * @param value
+     *         the value to write
+     *
+     * @throws IOException
+     *         if the value could not be written
+     */
+    void writeVarInt(final int value) throws IOException {
+        int remaining = (value << 1) ^ (value >> 31);
+        while ((remaining & ~0x7F) != 0) {
+            output.writeByte((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        output.writeByte(remaining);
+    }
+}
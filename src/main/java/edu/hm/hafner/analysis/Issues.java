@@ -1,9 +1,17 @@
 package edu.hm.hafner.analysis;
 
+import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -31,7 +39,12 @@ import static java.util.stream.Collectors.*;
  * abstraction. Furthermore, this set of issues provides a <i>total ordering</i> on its elements. I.e., the issues in
  * this set are ordered by their index in this set: the first added issue is at position 0, the second added issues is
  * at position 1, and so on. <p> Additionally, this set of issues provides methods to find and filter issues based on
- * different properties. In order to create issues use the provided {@link IssueBuilder builder} class. </p>
+ * different properties. In order to create issues use the provided {@link IssueBuilder builder} class. </p> <p>
+ * The issues are stored in an append-only storage that is shared between an instance and its {@link #copy() copies}:
+ * a container only sees the first {@code size} elements of the storage. As long as no other container appended
+ * elements to the shared storage, new elements are appended in place. Otherwise, and when an element is removed, the
+ * visible elements are copied to a new storage first (copy-on-write). So copying a container requires constant time
+ * and filtering does not hash the selected issues again. </p>
  *
  * @param <T>
  *         type of the issues
@@ -39,11 +52,25 @@ import static java.util.stream.Collectors.*;
  * @author Ullrich Hafner
  */
 public class Issues<T extends Issue> implements Iterable<T>, Serializable {
-    private final Set<T> elements = new LinkedHashSet<>();
-    private final int[] sizeOfPriority = new int[Priority.values().length];
-    private final List<String> logMessages = new ArrayList<>();
+    private static final long serialVersionUID = 1683400038312480672L;
 
-    private int sizeOfDuplicates = 0;
+    /**
+     * The serialized fields of this class. The shared storage is replaced with the set of visible elements so that the
+     * default serialization of containers with sub-classes of {@link Issue} does not change.
+     */
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("elements", Set.class),
+            new ObjectStreamField("sizeOfPriority", int[].class),
+            new ObjectStreamField("logMessages", List.class),
+            new ObjectStreamField("sizeOfDuplicates", int.class)
+    };
+
+    private transient Storage<T> storage;
+    private transient int size;
+    private transient int[] sizeOfPriority;
+    private transient List<String> logMessages = new ArrayList<>();
+
+    private transient int sizeOfDuplicates = 0;
 
     /**
      * Creates and returns a new set of issues that contains all issues of the specified {@link Issues} instances. The
@@ -90,11 +117,29 @@ public class Issues<T extends Issue> implements Iterable<T>, Serializable {
         return issue -> issue.getFileName().equals(fileName);
     }
 
+    /**
+     * Returns a predicate that checks if the module name of an issue is equal to the specified module name.
+     *
+     * @param moduleName
+     *         the module name to match
+     *
+     * @return the predicate
+     */
+    public static Predicate<Issue> byModuleName(final String moduleName) {
+        return issue -> issue.getModuleName().equals(moduleName);
+    }
+
     /**
      * Creates a new empty instance of {@link Issues}.
      */
     public Issues() {
-        // no elements to add
+        this(new Storage<>(), 0, new int[Priority.values().length]);
+    }
+
+    private Issues(final Storage<T> storage, final int size, final int[] sizeOfPriority) {
+        this.storage = storage;
+        this.size = size;
+        this.sizeOfPriority = sizeOfPriority;
     }
 
     /**
@@ -105,6 +150,8 @@ public class Issues<T extends Issue> implements Iterable<T>, Serializable {
      *         the initial set of issues for this instance
      */
     public Issues(final Collection<? extends T> issues) {
+        this();
+
         for (T issue : issues) {
             add(issue);
         }
@@ -118,6 +165,8 @@ public class Issues<T extends Issue> implements Iterable<T>, Serializable {
      *         the initial set of issues for this instance
      */
     public Issues(final Stream<? extends T> issues) {
+        this();
+
         issues.forEach(issue -> add(issue));
     }
 
@@ -142,11 +191,16 @@ public class Issues<T extends Issue> implements Iterable<T>, Serializable {
     }
 
     private boolean add(final T issue) {
-        if (elements.contains(issue)) {
+        int position = storage.indexOf(issue);
+        if (position >= 0 && position < size) {
             sizeOfDuplicates++;
             return false;
         }
-        elements.add(issue);
+        if (!storage.append(size, issue)) { // another container already appended to the shared storage
+            storage = storage.copyOf(size);
+            storage.append(size, issue);
+        }
+        size++;
         sizeOfPriority[issue.getPriority().ordinal()]++;
 
         return true;
@@ -184,9 +238,17 @@ public class Issues<T extends Issue> implements Iterable<T>, Serializable {
      */
     @SafeVarargs
     public final boolean addAll(final Issues<T> issues, final Issues<T>... additionalIssues) {
-        boolean hasNoDuplicate = addAll(issues.elements);
+        boolean hasNoDuplicate = addAllOf(issues);
         for (Issues<T> other : additionalIssues) {
-            hasNoDuplicate &= addAll(other.elements);
+            hasNoDuplicate &= addAllOf(other);
+        }
+        return hasNoDuplicate;
+    }
+
+    private boolean addAllOf(final Issues<T> issues) {
+        boolean hasNoDuplicate = true;
+        for (int i = 0; i < issues.size; i++) {
+            hasNoDuplicate &= add(issues.storage.get(i));
         }
         return hasNoDuplicate;
     }
@@ -202,9 +264,18 @@ public class Issues<T extends Issue> implements Iterable<T>, Serializable {
      *         if there is no such issue found
      */
     public void remove(final UUID id) {
-        for (T element : elements) {
+        for (int i = 0; i < size; i++) {
+            T element = storage.get(i);
             if (element.getId().equals(id)) {
-                elements.remove(element);
+                Storage<T> remaining = new Storage<>(size - 1);
+                for (int j = 0; j < size; j++) {
+                    if (j != i) {
+                        remaining.append(remaining.size, storage.get(j));
+                    }
+                }
+                storage = remaining;
+                size--;
+                sizeOfPriority[element.getPriority().ordinal()]--;
                 return;
             }
         }
@@ -222,7 +293,8 @@ public class Issues<T extends Issue> implements Iterable<T>, Serializable {
      *         if there is no such issue found
      */
     public T findById(final UUID id) {
-        for (T issue : elements) {
+        for (int i = 0; i < size; i++) {
+            T issue = storage.get(i);
             if (issue.getId().equals(id)) {
                 return issue;
             }
@@ -243,7 +315,8 @@ public class Issues<T extends Issue> implements Iterable<T>, Serializable {
     }
 
     /**
-     * Finds all issues that match the specified criterion.
+     * Finds all issues that match the specified criterion. The issues of this container are unique, so the found issues
+     * are stored without checking for duplicates.
      *
      * @param criterion
      *         the filter criterion
@@ -251,21 +324,85 @@ public class Issues<T extends Issue> implements Iterable<T>, Serializable {
      * @return the found issues
      */
     public Issues<T> filter(final Predicate<? super T> criterion) {
-        return new Issues<>(filterElements(criterion).collect(toList()));
+        Storage<T> filtered = new Storage<>();
+        int[] sizeOfFilteredPriority = new int[Priority.values().length];
+        for (int i = 0; i < size; i++) {
+            T issue = storage.get(i);
+            if (criterion.test(issue)) {
+                filtered.append(filtered.size, issue);
+                sizeOfFilteredPriority[issue.getPriority().ordinal()]++;
+            }
+        }
+        return new Issues<>(filtered, filtered.size, sizeOfFilteredPriority);
+    }
+
+    /**
+     * Returns a lazy view of all issues of this container. Use the filters of the view to select issues without
+     * copying them. The view uses a snapshot of this container that is created in constant time.
+     *
+     * @return a view of the issues of this container
+     */
+    public IssuesView<T> view() {
+        return new IssuesView<>(copy(), issue -> true);
     }
 
     private Stream<T> filterElements(final Predicate<? super T> criterion) {
-        return elements.stream().filter(criterion);
+        return stream().filter(criterion);
     }
 
     @Nonnull
     @Override
     public Iterator<T> iterator() {
-        return elements.iterator();
+        return new Iterator<T>() {
+            private final Storage<T> visible = storage;
+            private final int end = size;
+            private int position = 0;
+
+            @Override
+            public boolean hasNext() {
+                return position < end;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new java.util.NoSuchElementException();
+                }
+                return visible.get(position++);
+            }
+        };
     }
 
-    public Stream<Issue> stream() {
-        return StreamSupport.stream(Spliterators.spliterator(iterator(), 0L, Spliterator.NONNULL),false);
+    /**
+     * Returns a spliterator over the issues of this container. The spliterator knows the exact number of issues and
+     * splits the backing storage into balanced halves, so it is well suited for parallel processing. It reports the
+     * characteristics {@link Spliterator#SIZED}, {@link Spliterator#SUBSIZED}, {@link Spliterator#ORDERED}, {@link
+     * Spliterator#DISTINCT}, and {@link Spliterator#NONNULL}. Issues that are added after the spliterator has been
+     * created are not part of the spliterator.
+     *
+     * @return a spliterator over the issues of this container
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return storage.spliterator(size);
+    }
+
+    /**
+     * Returns a sequential stream of the issues of this container.
+     *
+     * @return a sequential stream of the issues
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Returns a possibly parallel stream of the issues of this container.
+     *
+     * @return a possibly parallel stream of the issues
+     */
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
     }
 
     /**
@@ -274,7 +411,7 @@ public class Issues<T extends Issue> implements Iterable<T>, Serializable {
      * @return total number of issues
      */
     public int size() {
-        return elements.size();
+        return size;
     }
 
     /**
@@ -382,11 +519,7 @@ public class Issues<T extends Issue> implements Iterable<T>, Serializable {
         if (index < 0 || index >= size()) {
             throw new IndexOutOfBoundsException("No such index " + index + " in " + toString());
         }
-        Iterator<T> all = elements.iterator();
-        for (int i = 0; i < index; i++) {
-            all.next(); // skip this element
-        }
-        return all.next();
+        return storage.get(index);
     }
 
     @Override
@@ -458,7 +591,7 @@ public class Issues<T extends Issue> implements Iterable<T>, Serializable {
      * @see #getFiles()
      */
     public ImmutableSortedSet<String> getProperties(final Function<? super T, String> propertiesMapper) {
-        return elements.stream().map(propertiesMapper).collect(Collectors2.toImmutableSortedSet());
+        return stream().map(propertiesMapper).collect(Collectors2.toImmutableSortedSet());
     }
 
     /**
@@ -471,18 +604,17 @@ public class Issues<T extends Issue> implements Iterable<T>, Serializable {
      * @see #getProperties(Function)
      */
     public Map<String, Integer> getPropertyCount(final Function<? super T, String> propertiesMapper) {
-        return elements.stream().collect(groupingBy(propertiesMapper, reducing(0, e -> 1, Integer::sum)));
+        return stream().collect(groupingBy(propertiesMapper, reducing(0, e -> 1, Integer::sum)));
     }
 
     /**
-     * Returns a shallow copy of this issue container.
+     * Returns a shallow copy of this issue container. The copy shares the storage of the elements with this container,
+     * so copying requires constant time. The number of duplicates and the log messages will not be copied.
      *
      * @return a new issue container that contains the same elements in the same order
      */
     public Issues<T> copy() {
-        Issues<T> copied = new Issues<>();
-        copied.addAll(elements);
-        return copied;
+        return new Issues<>(storage, size, sizeOfPriority.clone());
     }
 
     /**
@@ -509,4 +641,271 @@ public class Issues<T extends Issue> implements Iterable<T>, Serializable {
     public ImmutableList<String> getLogMessages() {
         return Lists.immutable.ofAll(logMessages);
     }
+
+    /**
+     * Classifies the issues of this container as new, fixed, or outstanding with respect to the specified reference
+     * issues.
+     *
+     * @param reference
+     *         the issues of the reference build
+     *
+     * @return the new, fixed, and outstanding issues
+     * @see IssueDifference
+     */
+    public IssueDifference<T> diff(final Issues<T> reference) {
+        return new IssueDifference<>(this, reference);
+    }
+
+    /**
+     * Returns a copy of the specified issues where each issue gets a new ID. The number of duplicates and the log
+     * messages will be copied as well.
+     *
+     * @param issues
+     *         the issues to copy
+     * @param builder
+     *         the builder that creates the copies, its ID generator provides the new IDs
+     *
+     * @return a new issue container that contains issues with new IDs in the same order
+     */
+    static Issues<Issue> copyWithNewIds(final Issues<Issue> issues, final IssueBuilder builder) {
+        Issues<Issue> copied = new Issues<>();
+        for (Issue issue : issues) {
+            copied.add(builder.buildCopy(issue));
+        }
+        copied.sizeOfDuplicates = issues.sizeOfDuplicates;
+        copied.logMessages.addAll(issues.logMessages);
+        return copied;
+    }
+
+    /**
+     * Replaces an instance of this class with a {@link SerializationProxy} that uses a compact binary format. If this
+     * container contains sub-classes of {@link Issue} then the default serialization is used.
+     *
+     * @return the object to serialize
+     */
+    private Object writeReplace() {
+        for (T element : this) {
+            if (element.getClass() != Issue.class) {
+                return this;
+            }
+        }
+        return new SerializationProxy(this);
+    }
+
+    private void writeObject(final ObjectOutputStream output) throws IOException {
+        ObjectOutputStream.PutField fields = output.putFields();
+        fields.put("elements", new LinkedHashSet<>(stream().collect(toList())));
+        fields.put("sizeOfPriority", sizeOfPriority);
+        fields.put("logMessages", logMessages);
+        fields.put("sizeOfDuplicates", sizeOfDuplicates);
+        output.writeFields();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(final ObjectInputStream input) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = input.readFields();
+        Set<T> elements = (Set<T>) fields.get("elements", null);
+        int[] priorities = (int[]) fields.get("sizeOfPriority", null);
+        List<String> messages = (List<String>) fields.get("logMessages", null);
+        if (elements == null || priorities == null || priorities.length != Priority.values().length
+                || messages == null) {
+            throw new InvalidObjectException("Incomplete issues");
+        }
+
+        storage = new Storage<>(elements.size());
+        for (T element : elements) {
+            storage.append(storage.size, element);
+        }
+        size = storage.size;
+        sizeOfPriority = priorities;
+        logMessages = new ArrayList<>(messages);
+        sizeOfDuplicates = fields.get("sizeOfDuplicates", 0);
+    }
+
+    /**
+     * Writes the specified issues, the number of duplicates, and the log messages using the compact binary format of
+     * {@link IssueOutput}.
+     *
+     * @param issues
+     *         the issues to write
+     * @param output
+     *         the output to write to
+     *
+     * @throws IOException
+     *         if the issues could not be written
+     */
+    static void write(final Issues<? extends Issue> issues, final IssueOutput output) throws IOException {
+        output.writeVarInt(issues.size());
+        for (Issue issue : issues) {
+            output.writeIssue(issue);
+        }
+        output.writeVarInt(issues.sizeOfDuplicates);
+        output.writeVarInt(issues.logMessages.size());
+        for (String logMessage : issues.logMessages) {
+            output.writeString(logMessage);
+        }
+    }
+
+    /**
+     * Reads issues that have been written by {@link #write(Issues, IssueOutput)}.
+     *
+     * @param input
+     *         the input to read from
+     *
+     * @return the issues
+     * @throws IOException
+     *         if the issues could not be read
+     */
+    static Issues<Issue> read(final IssueInput input) throws IOException {
+        Issues<Issue> issues = new Issues<>();
+        int size = readSize(input);
+        for (int i = 0; i < size; i++) {
+            issues.add(input.readIssue());
+        }
+        issues.sizeOfDuplicates = readSize(input);
+        int logSize = readSize(input);
+        for (int i = 0; i < logSize; i++) {
+            issues.logMessages.add(input.readString());
+        }
+        return issues;
+    }
+
+    private static int readSize(final IssueInput input) throws IOException {
+        int size = input.readVarInt();
+        if (size < 0) {
+            throw new InvalidObjectException("Invalid size " + size);
+        }
+        return size;
+    }
+
+    /**
+     * Serializes {@link Issues} using the compact binary format of {@link IssueOutput}. All issues share the same
+     * string dictionary so that file names, categories, types, etc. are written only once.
+     */
+    private static class SerializationProxy implements Serializable {
+        private static final long serialVersionUID = -8185932385390925066L;
+
+        private transient Issues<Issue> issues;
+
+        @SuppressWarnings("unchecked")
+        SerializationProxy(final Issues<? extends Issue> issues) {
+            this.issues = (Issues<Issue>) issues;
+        }
+
+        private void writeObject(final ObjectOutputStream output) throws IOException {
+            write(issues, new IssueOutput(output));
+        }
+
+        private void readObject(final ObjectInputStream input) throws IOException {
+            issues = read(new IssueInput(input));
+        }
+
+        private Object readResolve() {
+            return issues;
+        }
+    }
+
+    /**
+     * Append-only storage of issues that may be shared by several containers. Each container sees a prefix of the
+     * stored elements. Only the container that sees all elements may append new elements, all other containers need to
+     * copy their prefix before appending. The positions of the elements are indexed lazily when the storage is checked
+     * for duplicates for the first time.
+     *
+     * @param <T>
+     *         type of the issues
+     */
+    private static final class Storage<T extends Issue> {
+        private volatile Object[] elements;
+        private int size;
+        @CheckForNull
+        private Map<T, Integer> positions;
+
+        Storage() {
+            this(16);
+        }
+
+        Storage(final int capacity) {
+            elements = new Object[Math.max(capacity, 1)];
+        }
+
+        @SuppressWarnings("unchecked")
+        T get(final int index) {
+            return (T) elements[index];
+        }
+
+        /**
+         * Returns a spliterator over the first elements of this storage. These elements never change, so the
+         * spliterator is not affected by elements that are appended later on.
+         *
+         * @param length
+         *         the number of elements to visit
+         *
+         * @return the spliterator
+         */
+        Spliterator<T> spliterator(final int length) {
+            return Spliterators.spliterator(elements, 0, length,
+                    Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+        }
+
+        /**
+         * Returns the position of the first occurrence of the specified issue.
+         *
+         * @param issue
+         *         the issue to look for
+         *
+         * @return the position, or -1 if the issue is not stored
+         */
+        synchronized int indexOf(final T issue) {
+            if (positions == null) {
+                positions = new HashMap<>(size * 2);
+                for (int i = 0; i < size; i++) {
+                    positions.putIfAbsent(get(i), i);
+                }
+            }
+            return positions.getOrDefault(issue, -1);
+        }
+
+        /**
+         * Appends the specified issue if the storage contains exactly the expected number of elements.
+         *
+         * @param expectedSize
+         *         the number of elements the calling container sees
+         * @param issue
+         *         the issue to append
+         *
+         * @return {@code true} if the issue has been appended, {@code false} if the storage contains additional
+         *         elements
+         */
+        synchronized boolean append(final int expectedSize, final T issue) {
+            if (size != expectedSize) {
+                return false;
+            }
+            Object[] current = elements;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, size * 2);
+            }
+            current[size] = issue;
+            elements = current;
+            if (positions != null) {
+                positions.putIfAbsent(issue, size);
+            }
+            size++;
+            return true;
+        }
+
+        /**
+         * Returns a new storage with the first elements of this storage.
+         *
+         * @param length
+         *         the number of elements to copy
+         *
+         * @return the new storage
+         */
+        synchronized Storage<T> copyOf(final int length) {
+            Storage<T> copy = new Storage<>(length + length / 2);
+            System.arraycopy(elements, 0, copy.elements, 0, length);
+            copy.size = length;
+            return copy;
+        }
+    }
 }
@@ -0,0 +1,195 @@
+package edu.hm.hafner.analysis;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.factory.Lists;
+
+import edu.hm.hafner.util.Ensure;
+
+/**
+ * A lazy, read-only view of the issues of an {@link Issues} container that match a given criterion. In contrast to
+ * {@link Issues#filter(Predicate)} a view does not copy any issues: additional {@link #filter(Predicate) filters} just
+ * compose the criteria, so a chain of filters is evaluated in a single pass when the view is iterated, counted, or
+ * paged. Use {@link #toIssues()} to materialize the selected issues. <p> A view is created from a snapshot of the
+ * container: issues that are added to the container later on are not part of the view. </p>
+ *
+ * @param <T>
+ *         type of the issues
+ *
+ * @author Ullrich Hafner
+ * @see Issues#view()
+ */
+public final class IssuesView<T extends Issue> implements Iterable<T> {
+    private final Issues<T> issues;
+    private final Predicate<? super T> criterion;
+
+    private int size = -1;
+
+    IssuesView(final Issues<T> issues, final Predicate<? super T> criterion) {
+        this.issues = issues;
+        this.criterion = criterion;
+    }
+
+    /**
+     * Returns a view of the issues of this view that additionally match the specified criterion.
+     *
+     * @param additionalCriterion
+     *         the additional filter criterion
+     *
+     * @return the new view
+     */
+    public IssuesView<T> filter(final Predicate<? super T> additionalCriterion) {
+        return new IssuesView<T>(issues, issue -> criterion.test(issue) && additionalCriterion.test(issue));
+    }
+
+    /**
+     * Returns a view of the issues of this view that have the specified priority.
+     *
+     * @param priority
+     *         the priority of the issues
+     *
+     * @return the new view
+     */
+    public IssuesView<T> filter(final Priority priority) {
+        return filter(issue -> issue.getPriority() == priority);
+    }
+
+    /**
+     * Returns the number of issues in this view. The issues are counted when this method is called the first time.
+     *
+     * @return the number of issues
+     */
+    public int size() {
+        if (size < 0) {
+            size = count(issue -> true);
+        }
+        return size;
+    }
+
+    /**
+     * Returns whether this view contains no issues. Stops at the first matching issue.
+     *
+     * @return {@code true} if this view is empty, {@code false} otherwise
+     */
+    public boolean isEmpty() {
+        return !iterator().hasNext();
+    }
+
+    /**
+     * Returns the number of issues in this view that match the specified criterion, without creating a new view.
+     *
+     * @param additionalCriterion
+     *         the criterion of the issues to count
+     *
+     * @return the number of matching issues
+     */
+    public int count(final Predicate<? super T> additionalCriterion) {
+        int count = 0;
+        for (T issue : issues) {
+            if (criterion.test(issue) && additionalCriterion.test(issue)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the specified page of the issues of this view. Only the issues up to the end of the page are
+     * evaluated.
+     *
+     * @param offset
+     *         the number of matching issues to skip
+     * @param limit
+     *         the maximum number of issues of the page
+     *
+     * @return the issues of the page
+     */
+    public ImmutableList<T> page(final int offset, final int limit) {
+        Ensure.that(offset >= 0 && limit >= 0).isTrue("Invalid page: offset %d, limit %d", offset, limit);
+
+        MutableList<T> page = Lists.mutable.empty();
+        Iterator<T> matching = iterator();
+        for (int i = 0; i < offset && matching.hasNext(); i++) {
+            matching.next(); // skip this element
+        }
+        while (page.size() < limit && matching.hasNext()) {
+            page.add(matching.next());
+        }
+        return page.toImmutable();
+    }
+
+    /**
+     * Returns a sequential stream of the issues of this view.
+     *
+     * @return the stream of issues
+     */
+    public Stream<T> stream() {
+        return issues.stream().filter(criterion);
+    }
+
+    /**
+     * Returns a possibly parallel stream of the issues of this view.
+     *
+     * @return the stream of issues
+     */
+    public Stream<T> parallelStream() {
+        return issues.parallelStream().filter(criterion);
+    }
+
+    /**
+     * Materializes this view into a new {@link Issues} container.
+     *
+     * @return the issues of this view
+     */
+    public Issues<T> toIssues() {
+        return issues.filter(criterion);
+    }
+
+    @Nonnull
+    @Override
+    public Iterator<T> iterator() {
+        Iterator<T> all = issues.iterator();
+        return new Iterator<T>() {
+            @CheckForNull
+            private T next = advance();
+
+            @CheckForNull
+            private T advance() {
+                while (all.hasNext()) {
+                    T issue = all.next();
+                    if (criterion.test(issue)) {
+                        return issue;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public T next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                T current = next;
+                next = advance();
+                return current;
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return String.format("view of %d issues", issues.size());
+    }
+}
@@ -0,0 +1,319 @@
+package edu.hm.hafner.analysis;
+
+import java.util.Arrays;
+
+import edu.hm.hafner.util.Ensure;
+
+/**
+ * An immutable set of lines that is compressed using run-length encoding: consecutive lines are stored as a single run
+ * of the first and the last line. The runs are sorted and neither overlap nor touch each other. Union and intersection
+ * of two bitmaps require time proportional to the number of runs, the cardinality is computed when the bitmap is
+ * created. Use a {@link Builder} to create new bitmaps.
+ *
+ * @author Ullrich Hafner
+ */
+public final class LineBitmap {
+    /** A bitmap without lines. */
+    public static final LineBitmap EMPTY = new LineBitmap(new int[0], 0);
+
+    /** The first and the last line of each run. */
+    private final int[] runs;
+    private final int length;
+    private final long cardinality;
+
+    private LineBitmap(final int[] runs, final int length) {
+        this.runs = runs;
+        this.length = length;
+
+        long lines = 0;
+        for (int i = 0; i < length; i += 2) {
+            lines += (long) runs[i + 1] - runs[i] + 1;
+        }
+        cardinality = lines;
+    }
+
+    /**
+     * Returns the number of lines in this bitmap.
+     *
+     * @return the number of lines
+     */
+    public long getCardinality() {
+        return cardinality;
+    }
+
+    /**
+     * Returns the number of runs of consecutive lines in this bitmap.
+     *
+     * @return the number of runs
+     */
+    public int getRunCount() {
+        return length / 2;
+    }
+
+    /**
+     * Returns whether this bitmap contains no lines.
+     *
+     * @return {@code true} if this bitmap is empty, {@code false} otherwise
+     */
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    /**
+     * Returns whether this bitmap contains the specified line.
+     *
+     * @param line
+     *         the line to check
+     *
+     * @return {@code true} if the line is part of this bitmap, {@code false} otherwise
+     */
+    public boolean contains(final int line) {
+        return intersects(line, line);
+    }
+
+    /**
+     * Returns whether this bitmap contains at least one line of the specified range.
+     *
+     * @param from
+     *         the first line of the range
+     * @param to
+     *         the last line of the range
+     *
+     * @return {@code true} if one of the lines is part of this bitmap, {@code false} otherwise
+     */
+    public boolean intersects(final int from, final int to) {
+        int first = Math.min(from, to);
+        int last = Math.max(from, to);
+
+        // find the first run that ends at or after the first line
+        int low = 0;
+        int high = getRunCount();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (runs[2 * middle + 1] < first) {
+                low = middle + 1;
+            }
+            else {
+                high = middle;
+            }
+        }
+        return low < getRunCount() && runs[2 * low] <= last;
+    }
+
+    /**
+     * Returns a new bitmap that contains the lines of this and the specified bitmap.
+     *
+     * @param other
+     *         the other bitmap
+     *
+     * @return the union of both bitmaps
+     */
+    public LineBitmap or(final LineBitmap other) {
+        if (other.isEmpty()) {
+            return this;
+        }
+        if (isEmpty()) {
+            return other;
+        }
+        Builder builder = new Builder(length + other.length);
+        int left = 0;
+        int right = 0;
+        while (left < length || right < other.length) {
+            if (right >= other.length || left < length && runs[left] <= other.runs[right]) {
+                builder.append(runs[left], runs[left + 1]);
+                left += 2;
+            }
+            else {
+                builder.append(other.runs[right], other.runs[right + 1]);
+                right += 2;
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns a new bitmap that contains the lines that are part of this and of the specified bitmap.
+     *
+     * @param other
+     *         the other bitmap
+     *
+     * @return the intersection of both bitmaps
+     */
+    public LineBitmap and(final LineBitmap other) {
+        Builder builder = new Builder(Math.min(length, other.length) * 2);
+        int left = 0;
+        int right = 0;
+        while (left < length && right < other.length) {
+            int from = Math.max(runs[left], other.runs[right]);
+            int to = Math.min(runs[left + 1], other.runs[right + 1]);
+            if (from <= to) {
+                builder.append(from, to);
+            }
+            if (runs[left + 1] < other.runs[right + 1]) {
+                left += 2;
+            }
+            else {
+                right += 2;
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns the lines of this bitmap in ascending order.
+     *
+     * @return the lines
+     */
+    public int[] toArray() {
+        Ensure.that(cardinality <= Integer.MAX_VALUE).isTrue("Too many lines: %d", cardinality);
+
+        int[] lines = new int[(int) cardinality];
+        int position = 0;
+        for (int i = 0; i < length; i += 2) {
+            for (int line = runs[i]; line <= runs[i + 1]; line++) {
+                lines[position++] = line;
+            }
+        }
+        return lines;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        LineBitmap that = (LineBitmap) o;
+        if (length != that.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (runs[i] != that.runs[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+        for (int i = 0; i < length; i++) {
+            result = 31 * result + runs[i];
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("{");
+        for (int i = 0; i < length; i += 2) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(runs[i]);
+            if (runs[i + 1] != runs[i]) {
+                builder.append('-').append(runs[i + 1]);
+            }
+        }
+        return builder.append('}').toString();
+    }
+
+    /**
+     * Creates new {@link LineBitmap} instances. Lines and ranges may be added in any order, they will be sorted and
+     * merged when the bitmap is built.
+     */
+    public static class Builder {
+        private int[] runs;
+        private int length = 0;
+        private boolean isSorted = true;
+
+        /**
+         * Creates a new instance of {@link Builder}.
+         */
+        public Builder() {
+            this(16);
+        }
+
+        private Builder(final int capacity) {
+            runs = new int[Math.max(capacity, 2)];
+        }
+
+        /**
+         * Adds the specified line.
+         *
+         * @param line
+         *         the line to add
+         *
+         * @return this
+         */
+        public Builder add(final int line) {
+            return add(line, line);
+        }
+
+        /**
+         * Adds all lines of the specified range.
+         *
+         * @param from
+         *         the first line of the range
+         * @param to
+         *         the last line of the range
+         *
+         * @return this
+         */
+        public Builder add(final int from, final int to) {
+            int first = Math.min(from, to);
+            int last = Math.max(from, to);
+            Ensure.that(first >= 0).isTrue("Lines must not be negative: %d", first);
+
+            if (length > 0 && first < runs[length - 2]) {
+                isSorted = false;
+            }
+            return append(first, last);
+        }
+
+        /**
+         * Appends a run that does not start before the last run, merges the run with the last run if possible.
+         */
+        private Builder append(final int from, final int to) {
+            if (isSorted && length > 0 && from <= (long) runs[length - 1] + 1) {
+                runs[length - 1] = Math.max(runs[length - 1], to);
+                return this;
+            }
+            if (length + 2 > runs.length) {
+                runs = Arrays.copyOf(runs, runs.length * 2);
+            }
+            runs[length++] = from;
+            runs[length++] = to;
+            return this;
+        }
+
+        /**
+         * Creates a new {@link LineBitmap} with the added lines.
+         *
+         * @return the created bitmap
+         */
+        public LineBitmap build() {
+            if (length == 0) {
+                return EMPTY;
+            }
+            if (isSorted) {
+                return new LineBitmap(Arrays.copyOf(runs, length), length);
+            }
+
+            long[] sorted = new long[length / 2];
+            for (int i = 0; i < sorted.length; i++) {
+                sorted[i] = (long) runs[2 * i] << 32 | runs[2 * i + 1] & 0xFFFFFFFFL;
+            }
+            Arrays.sort(sorted);
+
+            Builder merged = new Builder(length);
+            for (long run : sorted) {
+                merged.append((int) (run >>> 32), (int) run);
+            }
+            return merged.build();
+        }
+    }
+}
@@ -1,14 +1,13 @@
 package edu.hm.hafner.analysis;
 
-import java.util.Arrays;
 import java.util.Iterator;
-
-import org.apache.commons.lang3.ArrayUtils;
+import java.util.NoSuchElementException;
 
 import edu.hm.hafner.util.Ensure;
 
 /**
- * Defines a range of lines in a file. Lines start at 1.
+ * Defines a range of lines in a file. Lines start at 1. All queries are answered using the first and last line of the
+ * range, i.e. without creating the individual lines.
  */
 public class LineRange implements Iterable<Integer> {
     private final int from;
@@ -43,6 +42,24 @@ public class LineRange implements Iterable<Integer> {
         }
     }
 
+    /**
+     * Returns the first line of this range.
+     *
+     * @return the first line
+     */
+    public int getFrom() {
+        return from;
+    }
+
+    /**
+     * Returns the last line of this range.
+     *
+     * @return the last line
+     */
+    public int getTo() {
+        return to;
+    }
+
     /**
      * Returns the number of lines in this range.
      *
@@ -87,7 +104,7 @@ public class LineRange implements Iterable<Integer> {
      */
     @SuppressWarnings("BooleanMethodNameMustStartWithQuestion")
     public boolean intersects(final LineRange other) {
-        return from <= other.values()[other.size() - 1] && to >= other.values()[0];
+        return from <= other.to && to >= other.from;
     }
 
     /**
@@ -97,7 +114,7 @@ public class LineRange implements Iterable<Integer> {
      * @return {@code true} if this range contains the specified line, {@code false} otherwise
      */
     public boolean contains(final int line) {
-        return intersects(new LineRange(line));
+        return from <= line && line <= to;
     }
 
     /**
@@ -108,16 +125,26 @@ public class LineRange implements Iterable<Integer> {
      * @return {@code true} if this range contains all lines of the specified range, {@code false} otherwise
      */
     public boolean contains(final LineRange range) {
-        for (int line : range) {
-            if (!contains(line)) {
-                return false;
-            }
-        }
-        return true;
+        return from <= range.from && range.to <= to;
     }
 
     @Override
     public Iterator<Integer> iterator() {
-        return Arrays.asList(ArrayUtils.toObject(values())).iterator();
+        return new Iterator<Integer>() {
+            private long next = from;
+
+            @Override
+            public boolean hasNext() {
+                return next <= to;
+            }
+
+            @Override
+            public Integer next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return (int) next++;
+            }
+        };
     }
 }
@@ -0,0 +1,161 @@
+package edu.hm.hafner.analysis;
+
+import javax.annotation.CheckForNull;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a message into a template and the arguments of the template. Messages of static analysis tools typically
+ * differ only in identifiers or numbers, e.g. "unused variable 'x'" or "[deprecation] foo() in Bar has been
+ * deprecated". The template of such a message replaces these variable parts with a placeholder, so that all messages
+ * of the same kind share a single template. Arguments are quoted text, numbers, and words that look like identifiers
+ * of a programming language (words that contain digits, upper case letters after the first character, or one of the
+ * characters {@code . _ $ ( : < [} inside the word). <p> Splitting is lossless: {@link #format(String, String[])}
+ * reconstructs the original message from the template and the arguments. </p>
+ *
+ * @author Ullrich Hafner
+ */
+final class MessageTemplate {
+    /** Marks the position of an argument in a template. */
+    static final char PLACEHOLDER = '\u0000';
+
+    private static final String QUOTES = "'\"`";
+    private static final String IDENTIFIER_CHARACTERS = "._$(:<[";
+
+    private final String template;
+    private final String[] arguments;
+
+    private MessageTemplate(final String template, final String[] arguments) {
+        this.template = template;
+        this.arguments = arguments;
+    }
+
+    /**
+     * Splits the specified message into a template and its arguments.
+     *
+     * @param message
+     *         the message to split
+     *
+     * @return the template, or {@code null} if the message has no arguments, consists of a single argument, or
+     *         contains the placeholder character
+     */
+    @CheckForNull
+    static MessageTemplate parse(final String message) {
+        if (message.indexOf(PLACEHOLDER) >= 0) {
+            return null;
+        }
+
+        StringBuilder template = new StringBuilder(message.length());
+        List<String> arguments = new ArrayList<>();
+        int length = message.length();
+        int position = 0;
+        while (position < length) {
+            char current = message.charAt(position);
+            int end;
+            if (QUOTES.indexOf(current) >= 0) {
+                int closing = message.indexOf(current, position + 1);
+                if (closing > position + 1) {
+                    template.append(current).append(PLACEHOLDER).append(current);
+                    arguments.add(message.substring(position + 1, closing));
+                    position = closing + 1;
+                    continue;
+                }
+                end = position + 1;
+            }
+            else if (Character.isWhitespace(current)) {
+                end = position + 1;
+            }
+            else {
+                end = position;
+                while (end < length && !Character.isWhitespace(message.charAt(end))
+                        && QUOTES.indexOf(message.charAt(end)) < 0) {
+                    end++;
+                }
+                if (isArgument(message, position, end)) {
+                    template.append(PLACEHOLDER);
+                    arguments.add(message.substring(position, end));
+                    position = end;
+                    continue;
+                }
+            }
+            template.append(message, position, end);
+            position = end;
+        }
+
+        if (arguments.isEmpty() || template.length() == 1) {
+            return null; // nothing to share
+        }
+        return new MessageTemplate(template.toString(), arguments.toArray(new String[0]));
+    }
+
+    private static boolean isArgument(final String message, final int start, final int end) {
+        int last = end;
+        while (last > start && isPunctuation(message.charAt(last - 1))) {
+            last--; // trailing punctuation belongs to the sentence, not to the word
+        }
+        for (int i = start; i < last; i++) {
+            char current = message.charAt(i);
+            if (Character.isDigit(current) || i > start && Character.isUpperCase(current)
+                    || i > start && i + 1 < last && IDENTIFIER_CHARACTERS.indexOf(current) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isPunctuation(final char character) {
+        return character == '.' || character == ',' || character == ':' || character == ';';
+    }
+
+    /**
+     * Reconstructs a message from the specified template and arguments.
+     *
+     * @param template
+     *         the template with a placeholder for each argument
+     * @param arguments
+     *         the arguments
+     *
+     * @return the message
+     * @throws IllegalArgumentException
+     *         if the number of arguments does not match the number of placeholders
+     */
+    static String format(final String template, final String[] arguments) {
+        int capacity = template.length();
+        for (String argument : arguments) {
+            capacity += argument.length();
+        }
+        StringBuilder message = new StringBuilder(capacity);
+        int argument = 0;
+        int start = 0;
+        for (int placeholder = template.indexOf(PLACEHOLDER); placeholder >= 0;
+                placeholder = template.indexOf(PLACEHOLDER, start)) {
+            if (argument >= arguments.length) {
+                throw new IllegalArgumentException("Not enough arguments for template " + template);
+            }
+            message.append(template, start, placeholder).append(arguments[argument++]);
+            start = placeholder + 1;
+        }
+        if (argument != arguments.length) {
+            throw new IllegalArgumentException("Too many arguments for template " + template);
+        }
+        return message.append(template, start, template.length()).toString();
+    }
+
+    /**
+     * Returns the template, a placeholder marks the position of each argument.
+     *
+     * @return the template
+     */
+    String getTemplate() {
+        return template;
+    }
+
+    /**
+     * Returns the arguments of the template.
+     *
+     * @return the arguments
+     */
+    String[] getArguments() {
+        return arguments.clone();
+    }
+}
@@ -0,0 +1,117 @@
+package edu.hm.hafner.analysis;
+
+import javax.annotation.CheckForNull;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.hm.hafner.util.Ensure;
+
+/**
+ * A checkpoint of a long running incremental parse that contains only the issues that have been found since the
+ * previous checkpoint. In contrast to a {@link ParseState} the size of a checkpoint does not grow with the number of
+ * issues found so far, so writing a checkpoint after each block of a large file does not read and write the same
+ * issues again and again. The owner of the checkpoints appends the new issues of each checkpoint to its own store of
+ * issues. <p> The checkpoint contains the position of the first line that has not been parsed yet, the number of
+ * parsed lines, the state of the parser, the issues that still might be merged with issues of the following lines,
+ * the number of issues found so far, and the new issues. Use {@link #toState(Issues)} with all stored issues to resume
+ * the parse. Checkpoints are immutable and {@link Serializable}. </p>
+ *
+ * @author Ullrich Hafner
+ * @see RegexpLineParser#parseWithCheckpoints(java.io.File, java.nio.charset.Charset, IssueBuilder, ParseState,
+ *         boolean, long, java.util.function.Consumer)
+ */
+public final class ParseCheckpoint implements Serializable {
+    private static final long serialVersionUID = -4210349738815924566L;
+
+    private final long offset;
+    private final int line;
+    @CheckForNull
+    private final Serializable parserState;
+    private final List<Issue> openIssues;
+    private final int size;
+    private final int duplicates;
+    private final Issues<Issue> newIssues;
+
+    @SuppressWarnings("ParameterNumber")
+    ParseCheckpoint(final long offset, final int line, @CheckForNull final Serializable parserState,
+            final List<Issue> openIssues, final int size, final int duplicates, final Issues<Issue> newIssues) {
+        this.offset = offset;
+        this.line = line;
+        this.parserState = parserState;
+        this.openIssues = new ArrayList<>(openIssues);
+        this.size = size;
+        this.duplicates = duplicates;
+        this.newIssues = newIssues.copy();
+    }
+
+    /**
+     * Returns the position of the first byte of the file that has not been parsed yet. This is the start of the first
+     * incomplete line.
+     *
+     * @return the position in bytes
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Returns the number of lines that have been parsed so far.
+     *
+     * @return the number of parsed lines
+     */
+    public int getLine() {
+        return line;
+    }
+
+    /**
+     * Returns the number of issues that have been found so far, including the new issues of this checkpoint.
+     *
+     * @return the number of issues
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the number of issues that have been dropped so far since they are duplicates.
+     *
+     * @return the number of duplicates
+     */
+    public int getDuplicatesSize() {
+        return duplicates;
+    }
+
+    /**
+     * Returns the issues that have been found since the previous checkpoint.
+     *
+     * @return the new issues
+     */
+    public Issues<Issue> getNewIssues() {
+        return newIssues.copy();
+    }
+
+    /**
+     * Creates the state of the parse at this checkpoint. Pass the state as previous state to {@link
+     * RegexpLineParser#parseWithCheckpoints(java.io.File, java.nio.charset.Charset, IssueBuilder, ParseState, boolean,
+     * long, java.util.function.Consumer)} to resume the parse.
+     *
+     * @param issues
+     *         all issues that have been found so far: the issues of the previous state of the parse and the new
+     *         issues of all checkpoints up to and including this checkpoint
+     *
+     * @return the state of the parse
+     */
+    public ParseState toState(final Issues<Issue> issues) {
+        Ensure.that(issues.size() == size).isTrue("Checkpoint at offset %d requires %d issues, but got %d",
+                offset, size, issues.size());
+
+        return new ParseState(offset, line, parserState, openIssues, issues, duplicates, false, new Issues<>());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("offset %d, line %d: %d issues (%d open, %d new)", offset, line, size,
+                openIssues.size(), newIssues.size());
+    }
+}
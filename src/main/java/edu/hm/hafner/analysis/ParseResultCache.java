@@ -0,0 +1,379 @@
+package edu.hm.hafner.analysis;
+
+import javax.annotation.CheckForNull;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidObjectException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.NullOutputStream;
+
+import edu.hm.hafner.util.Ensure;
+
+/**
+ * A cache for the results of {@link AbstractParser#parse(File, Charset, IssueBuilder)} that stores the parsed issues in
+ * the compact binary format of {@link IssueOutput} in a directory. Cache entries are addressed by a SHA-256 hash of:
+ * <ul>
+ * <li>the content of the parsed file</li>
+ * <li>the serialized form of the parser, i.e. the parser class, its version, and its configuration</li>
+ * <li>the version and the build time of this library, so that entries of a previous release are not used</li>
+ * <li>the charset and the initial properties of the {@link IssueBuilder}</li>
+ * </ul>
+ * Results of parsers that use a line {@link AbstractParser#setTransformer(Function) transformer} or a sub-class of
+ * {@link IssueBuilder} are not cached since their effect can't be part of the key. <p> Each cache hit returns new
+ * {@link Issue} instances with new IDs. When the total size of the cached entries exceeds the maximum size, then the
+ * least recently used entries are deleted. </p> <p> This class is thread safe. Several processes may share the same
+ * directory. </p>
+ *
+ * @author Ullrich Hafner
+ * @see AbstractParser#setResultCache(ParseResultCache)
+ */
+public class ParseResultCache {
+    /** Default maximum number of bytes of all entries in the cache directory. */
+    public static final long DEFAULT_MAXIMUM_SIZE = 256L * 1024 * 1024;
+    /** Changes whenever the format of the cached entries or the composition of the key changes. */
+    static final int FORMAT_VERSION = 2;
+    private static final String SUFFIX = ".issues";
+    private static final String UNKNOWN_VERSION = "unknown";
+    /**
+     * The version of this library. If the version is unknown, e.g. if the library has not been built with Maven, then
+     * the cache directory needs to be cleared after an upgrade.
+     */
+    private static final String IMPLEMENTATION_VERSION = readImplementationVersion();
+
+    private final Path directory;
+    private final long maximumSize;
+
+    private int hitCount;
+    private int missCount;
+
+    /**
+     * Creates a new instance of {@link ParseResultCache} with the {@link #DEFAULT_MAXIMUM_SIZE default maximum size}.
+     *
+     * @param directory
+     *         the directory that stores the cached results
+     *
+     * @throws IOException
+     *         if the directory could not be created
+     */
+    public ParseResultCache(final Path directory) throws IOException {
+        this(directory, DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Creates a new instance of {@link ParseResultCache}.
+     *
+     * @param directory
+     *         the directory that stores the cached results
+     * @param maximumSize
+     *         the maximum number of bytes of all cached results
+     *
+     * @throws IOException
+     *         if the directory could not be created
+     */
+    public ParseResultCache(final Path directory, final long maximumSize) throws IOException {
+        Ensure.that(maximumSize > 0).isTrue("Maximum size must be a positive number: %d", maximumSize);
+
+        this.directory = Files.createDirectories(directory);
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Returns the issues of the specified file. If the result is not yet part of the cache, then the file will be
+     * parsed with the specified parser. If the result is taken from the cache, then {@link ParsingMetrics#isCached()
+     * cached metrics} are reported to the listener of the parser.
+     *
+     * @param parser
+     *         the parser to use
+     * @param file
+     *         the file to parse
+     * @param charset
+     *         the encoding to use when reading files
+     * @param builder
+     *         the issue builder to use
+     *
+     * @return the parsed issues
+     * @throws IOException
+     *         if the file could not be read
+     */
+    Issues<Issue> parse(final AbstractParser parser, final File file, final Charset charset,
+            final IssueBuilder builder) throws IOException {
+        MessageDigest key = createKey(parser, charset, builder);
+        if (key == null) {
+            return parser.parse(new FileInputStream(file), charset, builder, file.getAbsolutePath());
+        }
+
+        long start = System.nanoTime();
+        Path path = file.toPath();
+        BasicFileAttributes hashed = Files.readAttributes(path, BasicFileAttributes.class);
+        long bytes;
+        try (InputStream input = new DigestInputStream(new FileInputStream(file), key)) {
+            bytes = IOUtils.copyLarge(input, NullOutputStream.NULL_OUTPUT_STREAM);
+        }
+        Path entry = getEntry(key);
+        Issues<Issue> cached = read(entry);
+        if (cached != null) {
+            Issues<Issue> issues = Issues.copyWithNewIds(cached, builder);
+            if (parser.isMonitored()) {
+                ParsingMetrics metrics = new ParsingMetrics(parser.getClass().getName(), file.getAbsolutePath(),
+                        builder.origin);
+                metrics.finishCached(issues, bytes, System.nanoTime() - start);
+                parser.getParsingListener().parsed(metrics);
+            }
+            return issues;
+        }
+
+        Issues<Issue> issues = parser.parse(new FileInputStream(file), charset, builder, file.getAbsolutePath());
+        if (isUnchanged(hashed, Files.readAttributes(path, BasicFileAttributes.class))) {
+            write(entry, issues);
+        }
+        return issues;
+    }
+
+    /**
+     * Returns whether a file has not been modified between hashing and parsing. Otherwise, the parsed issues do not
+     * belong to the key and must not be stored.
+     */
+    private boolean isUnchanged(final BasicFileAttributes hashed, final BasicFileAttributes parsed) {
+        return hashed.size() == parsed.size() && hashed.lastModifiedTime().equals(parsed.lastModifiedTime());
+    }
+
+    @CheckForNull
+    private MessageDigest createKey(final AbstractParser parser, final Charset charset, final IssueBuilder builder)
+            throws IOException {
+        if (parser.getTransformer() != Function.<String>identity() || builder.getClass() != IssueBuilder.class) {
+            return null;
+        }
+
+        MessageDigest digest = createDigest();
+        try (DataOutputStream output = new DataOutputStream(new DigestOutputStream(new NullOutputStream(), digest))) {
+            output.writeInt(FORMAT_VERSION);
+            output.writeUTF(IMPLEMENTATION_VERSION);
+            output.write(serialize(parser));
+            output.writeUTF(charset.name());
+            for (String property : getProperties(builder)) {
+                output.writeBoolean(property == null);
+                output.writeUTF(property == null ? "" : property);
+            }
+            output.writeInt(builder.lineStart);
+            output.writeInt(builder.lineEnd);
+            output.writeInt(builder.columnStart);
+            output.writeInt(builder.columnEnd);
+        }
+        catch (NotSerializableException exception) {
+            return null;
+        }
+        return digest;
+    }
+
+    /**
+     * Returns the version of this library, including the build time. Each build of the library uses its own cache
+     * entries, since the patterns or the logic of the parsers may have changed without changing the version of a
+     * parser class.
+     *
+     * @return the version of this library
+     */
+    static String getImplementationVersion() {
+        return IMPLEMENTATION_VERSION;
+    }
+
+    private static String readImplementationVersion() {
+        try (InputStream input = ParseResultCache.class.getResourceAsStream("analysis-model.properties")) {
+            if (input == null) {
+                return UNKNOWN_VERSION;
+            }
+            Properties properties = new Properties();
+            properties.load(input);
+            return properties.getProperty("version", UNKNOWN_VERSION) + "@" + properties.getProperty("build", "");
+        }
+        catch (IOException exception) {
+            return UNKNOWN_VERSION;
+        }
+    }
+
+    private List<String> getProperties(final IssueBuilder builder) {
+        List<String> properties = new ArrayList<>();
+        properties.add(builder.fileName);
+        properties.add(builder.category);
+        properties.add(builder.type);
+        properties.add(builder.priority == null ? null : builder.priority.name());
+        properties.add(builder.message);
+        properties.add(builder.description);
+        properties.add(builder.packageName);
+        properties.add(builder.moduleName);
+        properties.add(builder.origin);
+        properties.add(builder.fingerprint);
+        return properties;
+    }
+
+    private byte[] serialize(final AbstractParser parser) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(parser);
+        }
+        return bytes.toByteArray();
+    }
+
+    private MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private Path getEntry(final MessageDigest digest) {
+        StringBuilder name = new StringBuilder();
+        for (byte value : digest.digest()) {
+            name.append(String.format("%02x", value));
+        }
+        return directory.resolve(name.append(SUFFIX).toString());
+    }
+
+    /**
+     * Reads the issues of the specified entry. Entries are not deserialized with Java serialization, since the cache
+     * directory may be written by other processes: the entries are read with an {@link IssueInput} that creates
+     * {@link Issue} instances only and that rejects strings that are longer than the entry.
+     */
+    @CheckForNull
+    private synchronized Issues<Issue> read(final Path entry) {
+        if (!Files.isRegularFile(entry)) {
+            missCount++;
+            return null;
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(entry)))) {
+            if (input.readInt() != FORMAT_VERSION) {
+                throw new InvalidObjectException("Unsupported format of cache entry " + entry);
+            }
+            Issues<Issue> issues = Issues.read(new IssueInput(input, Files.size(entry)));
+            if (input.read() != -1) {
+                throw new InvalidObjectException("Unexpected data at the end of cache entry " + entry);
+            }
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+            hitCount++;
+            return issues;
+        }
+        catch (IOException exception) {
+            deleteQuietly(entry); // corrupt or outdated entry, will be replaced by a new result
+            missCount++;
+            return null;
+        }
+    }
+
+    private synchronized void write(final Path entry, final Issues<Issue> issues) {
+        Path temporary = null;
+        try {
+            temporary = Files.createTempFile(directory, "entry", ".tmp");
+            try (DataOutputStream output = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                output.writeInt(FORMAT_VERSION);
+                Issues.write(issues, new IssueOutput(output));
+            }
+            Files.move(temporary, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            evict();
+        }
+        catch (IOException exception) {
+            issues.log("Can't store parsed issues in cache %s: %s", directory, exception.getMessage());
+            if (temporary != null) {
+                deleteQuietly(temporary);
+            }
+        }
+    }
+
+    private void evict() throws IOException {
+        List<Path> entries;
+        try (Stream<Path> files = Files.list(directory)) {
+            entries = files.filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+                    .collect(Collectors.toList());
+        }
+        List<CachedEntry> cached = new ArrayList<>();
+        long size = 0;
+        for (Path entry : entries) {
+            try {
+                CachedEntry cachedEntry = new CachedEntry(entry);
+                cached.add(cachedEntry);
+                size += cachedEntry.size;
+            }
+            catch (IOException exception) {
+                // entry has been deleted concurrently
+            }
+        }
+        cached.sort(Comparator.comparingLong(entry -> entry.lastModified));
+        for (CachedEntry entry : cached) {
+            if (size <= maximumSize) {
+                return;
+            }
+            deleteQuietly(entry.path);
+            size -= entry.size;
+        }
+    }
+
+    private void deleteQuietly(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        }
+        catch (IOException ignored) {
+            // will be evicted later
+        }
+    }
+
+    /**
+     * Returns the number of parse requests that have been answered from the cache.
+     *
+     * @return the number of cache hits
+     */
+    public synchronized int getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of parse requests that could not be answered from the cache.
+     *
+     * @return the number of cache misses
+     */
+    public synchronized int getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * An entry in the cache directory, along with its attributes at the time of the eviction.
+     */
+    private static class CachedEntry {
+        private final Path path;
+        private final long size;
+        private final long lastModified;
+
+        CachedEntry(final Path path) throws IOException {
+            this.path = path;
+            size = Files.size(path);
+            lastModified = Files.getLastModifiedTime(path).toMillis();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package edu.hm.hafner.analysis;
+
+import javax.annotation.CheckForNull;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.ObjectUtils;
+
+/**
+ * The state of an incremental parse of a growing file, e.g. the console log of a running build. Pass the state of the
+ * previous increment to {@link RegexpLineParser#parse(java.io.File, java.nio.charset.Charset, IssueBuilder,
+ * ParseState, boolean)} to get only the issues of the lines that have been appended since then. Parsing a file in
+ * increments yields exactly the same issues as parsing the whole file at once. <p> The state contains the position
+ * of the first line that has not been parsed yet, the number of parsed lines, the state of the parser (e.g. the
+ * current directory of a make build), the issues that still might be merged with issues of the following lines, and
+ * all issues found so far. States are immutable and {@link Serializable}, so they can be stored between two
+ * increments or as checkpoints of a long running parse. Since a state contains all issues found so far, long running
+ * parses of large files should use the smaller {@link ParseCheckpoint checkpoints} that contain only the new issues.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+public final class ParseState implements Serializable {
+    private static final long serialVersionUID = 2847506913583612035L;
+
+    /** The state before the first line of a file has been parsed. */
+    public static final ParseState START = new ParseState();
+
+    private final long offset;
+    private final int line;
+    @CheckForNull
+    private final Serializable parserState;
+    private final List<Issue> openIssues;
+    private final Issues<Issue> issues;
+    private final int duplicates;
+    private final boolean isFinished;
+    /** The issues of the last increment, these are not stored when serializing the state. */
+    @CheckForNull
+    private final transient Issues<Issue> newIssues;
+
+    private ParseState() {
+        this(0, 0, null, new ArrayList<>(), new Issues<>(), 0, false, new Issues<>());
+    }
+
+    @SuppressWarnings("ParameterNumber")
+    ParseState(final long offset, final int line, @CheckForNull final Serializable parserState,
+            final List<Issue> openIssues, final Issues<Issue> issues, final int duplicates, final boolean isFinished,
+            final Issues<Issue> newIssues) {
+        this.offset = offset;
+        this.line = line;
+        this.parserState = parserState;
+        this.openIssues = new ArrayList<>(openIssues);
+        this.issues = issues.copy();
+        this.duplicates = duplicates;
+        this.isFinished = isFinished;
+        this.newIssues = newIssues.copy();
+    }
+
+    /**
+     * Returns the position of the first byte of the file that has not been parsed yet. This is the start of the first
+     * incomplete line.
+     *
+     * @return the position in bytes
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Returns the number of lines that have been parsed so far.
+     *
+     * @return the number of parsed lines
+     */
+    public int getLine() {
+        return line;
+    }
+
+    /**
+     * Returns whether the whole file has been parsed. A finished state cannot be continued.
+     *
+     * @return {@code true} if the whole file has been parsed, {@code false} if more lines might be appended
+     */
+    public boolean isFinished() {
+        return isFinished;
+    }
+
+    /**
+     * Returns all issues that have been found so far.
+     *
+     * @return all issues
+     */
+    public Issues<Issue> getIssues() {
+        return issues.copy();
+    }
+
+    /**
+     * Returns the number of issues that have been dropped so far since they are duplicates.
+     *
+     * @return the number of duplicates
+     */
+    public int getDuplicatesSize() {
+        return duplicates;
+    }
+
+    /**
+     * Returns the issues that have been found in the last increment. Issues that still might be merged with issues of
+     * the following lines are reported with the next increments. The new issues are not serialized, so a
+     * deserialized state has no new issues.
+     *
+     * @return the new issues
+     */
+    public Issues<Issue> getNewIssues() {
+        return ObjectUtils.defaultIfNull(newIssues, new Issues<Issue>()).copy();
+    }
+
+    ParseState withNewIssues(final Issues<Issue> added) {
+        return new ParseState(offset, line, parserState, openIssues, issues, duplicates, isFinished, added);
+    }
+
+    @CheckForNull
+    Serializable getParserState() {
+        return parserState;
+    }
+
+    List<Issue> getOpenIssues() {
+        return openIssues;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("offset %d, line %d: %d issues (%d open, %d new)%s", offset, line, issues.size(),
+                openIssues.size(), getNewIssues().size(), isFinished ? ", finished" : "");
+    }
+}
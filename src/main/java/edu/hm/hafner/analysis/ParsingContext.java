@@ -0,0 +1,136 @@
+package edu.hm.hafner.analysis;
+
+import javax.annotation.CheckForNull;
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * The state of a running parse: the number of the current line, the state of the parser, and the metrics and the
+ * monitor of the parse. Parsers keep all state that changes while parsing in such a context rather than in their
+ * fields, so a single parser instance can parse several files in different threads at the same time. <p> A context is
+ * bound to the thread that started the parse. Each thread has a stack of contexts, so a parser can be called again
+ * while it is parsing. Use a context in a try-with-resources statement so that it is removed from the stack when the
+ * parse has been finished. </p>
+ *
+ * @author Ullrich Hafner
+ */
+final class ParsingContext implements AutoCloseable {
+    private static final ThreadLocal<Deque<ParsingContext>> CONTEXTS = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final AbstractParser parser;
+    @CheckForNull
+    private final ParsingMetrics metrics;
+    @CheckForNull
+    private final ParsingMonitor monitor;
+
+    private int line;
+    @CheckForNull
+    private Serializable parserState;
+
+    /**
+     * Starts a new context for the specified parser in the current thread. The metrics and the monitor are taken from
+     * the running parse of the same parser, if there is one.
+     *
+     * @param parser
+     *         the parser that starts parsing
+     *
+     * @return the new context
+     */
+    static ParsingContext begin(final AbstractParser parser) {
+        ParsingContext enclosing = current(parser);
+        if (enclosing == null) {
+            return begin(parser, null, null);
+        }
+        return begin(parser, enclosing.metrics, enclosing.monitor);
+    }
+
+    /**
+     * Starts a new context for the specified parser in the current thread.
+     *
+     * @param parser
+     *         the parser that starts parsing
+     * @param metrics
+     *         the metrics of the parse, or {@code null} if no metrics are collected
+     * @param monitor
+     *         the monitor of the parse, or {@code null} if the parse is not monitored
+     *
+     * @return the new context
+     */
+    static ParsingContext begin(final AbstractParser parser, @CheckForNull final ParsingMetrics metrics,
+            @CheckForNull final ParsingMonitor monitor) {
+        ParsingContext context = new ParsingContext(parser, metrics, monitor);
+        CONTEXTS.get().push(context);
+        return context;
+    }
+
+    /**
+     * Returns the context of the running parse of the specified parser in the current thread. If the parser has been
+     * called again while parsing, then the context of the innermost parse is returned.
+     *
+     * @param parser
+     *         the parser to get the context for
+     *
+     * @return the context, or {@code null} if the parser is not parsing in the current thread
+     */
+    @CheckForNull
+    static ParsingContext current(final AbstractParser parser) {
+        Deque<ParsingContext> contexts = CONTEXTS.get();
+        ParsingContext top = contexts.peek();
+        if (top == null || top.parser == parser) {
+            return top;
+        }
+        for (ParsingContext context : contexts) {
+            if (context.parser == parser) {
+                return context;
+            }
+        }
+        return null;
+    }
+
+    private ParsingContext(final AbstractParser parser, @CheckForNull final ParsingMetrics metrics,
+            @CheckForNull final ParsingMonitor monitor) {
+        this.parser = parser;
+        this.metrics = metrics;
+        this.monitor = monitor;
+    }
+
+    @CheckForNull
+    ParsingMetrics getMetrics() {
+        return metrics;
+    }
+
+    @CheckForNull
+    ParsingMonitor getMonitor() {
+        return monitor;
+    }
+
+    int getLine() {
+        return line;
+    }
+
+    void setLine(final int line) {
+        this.line = line;
+    }
+
+    @CheckForNull
+    Serializable getParserState() {
+        return parserState;
+    }
+
+    void setParserState(@CheckForNull final Serializable parserState) {
+        this.parserState = parserState;
+    }
+
+    /**
+     * Removes this context from the stack of the current thread.
+     */
+    @Override
+    public void close() {
+        Deque<ParsingContext> contexts = CONTEXTS.get();
+        contexts.remove(this);
+        if (contexts.isEmpty()) {
+            CONTEXTS.remove();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package edu.hm.hafner.analysis;
+
+/**
+ * Emits events for the JDK Flight Recorder (JFR) while parsing reports and computing fingerprints. The events show
+ * which parser and which file or line consumed the time of a build. <p> This implementation is used on Java 8 and
+ * does not emit any events. The library is packaged as a multi-release JAR: on Java 11 and newer a replacement of this
+ * class from {@code META-INF/versions/11} creates the events of the package {@code edu.hm.hafner.analysis} (category
+ * "Analysis Model"). The events are created only if they are enabled in a running recording. </p>
+ *
+ * @author Ullrich Hafner
+ */
+public final class ParsingEvents {
+    /**
+     * A running event that will be committed to the recording when it ends.
+     */
+    @FunctionalInterface
+    public interface Event {
+        /** Event that does nothing, returned if events are not recorded. */
+        Event NONE = count -> {
+            // nothing to do
+        };
+
+        /**
+         * Ends this event.
+         *
+         * @param count
+         *         the number of processed items: the created issues of a parse, the computed fingerprints of a
+         *         fingerprint batch, or 1 if a regular expression found a match
+         */
+        void end(int count);
+
+        /**
+         * Ends this event that did not process a number of items.
+         */
+        default void end() {
+            end(0);
+        }
+    }
+
+    private ParsingEvents() {
+        // prevents instantiation
+    }
+
+    /**
+     * Begins the parsing of a file.
+     *
+     * @param parser
+     *         the parser
+     * @param fileName
+     *         the name of the parsed file
+     *
+     * @return the running event, end it with the number of created issues
+     */
+    public static Event beginParse(final AbstractParser parser, final String fileName) {
+        return Event.NONE;
+    }
+
+    /**
+     * Returns whether single regular expression matches are recorded. Since matches are the hot path of the parsers,
+     * callers should check this value before calling {@link #beginMatch(AbstractParser, int)}.
+     *
+     * @return {@code true} if matches are recorded, {@code false} otherwise
+     */
+    public static boolean isMatchRecorded() {
+        return false;
+    }
+
+    /**
+     * Begins the search for the next match of a regular expression. Only slow matches are committed to the recording.
+     *
+     * @param parser
+     *         the parser
+     * @param line
+     *         the line of the input that is searched, or -1 if the whole input is searched
+     *
+     * @return the running event, end it with 1 if a match has been found, or 0 otherwise
+     */
+    public static Event beginMatch(final AbstractParser parser, final int line) {
+        return Event.NONE;
+    }
+
+    /**
+     * Begins the computation of the fingerprints of a batch of issues.
+     *
+     * @return the running event, end it with the number of computed fingerprints
+     */
+    public static Event beginFingerprintBatch() {
+        return Event.NONE;
+    }
+
+    /**
+     * Begins the computation of the fingerprint of an issue. Only slow computations are committed to the recording.
+     *
+     * @param fileName
+     *         the name of the affected file
+     * @param line
+     *         the line of the issue
+     *
+     * @return the running event, end it when the fingerprint has been computed
+     */
+    public static Event beginFingerprint(final String fileName, final int line) {
+        return Event.NONE;
+    }
+
+    /**
+     * Begins the loading of an XML document.
+     *
+     * @param parser
+     *         the parser that loads the document
+     *
+     * @return the running event, end it when the document has been loaded
+     */
+    public static Event beginXmlDocument(final AbstractParser parser) {
+        return Event.NONE;
+    }
+}
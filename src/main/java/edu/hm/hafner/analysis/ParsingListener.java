@@ -0,0 +1,25 @@
+package edu.hm.hafner.analysis;
+
+/**
+ * Receives the {@link ParsingMetrics metrics} of each parse of an {@link AbstractParser}. Parsers collect metrics only
+ * if a listener other than {@link #NONE} has been {@link AbstractParser#setParsingListener(ParsingListener) set}, so
+ * the default listener does not slow down parsing.
+ *
+ * @author Ullrich Hafner
+ * @see ParsingMetricsCollector
+ */
+@FunctionalInterface
+public interface ParsingListener {
+    /** Listener that ignores all metrics, parsers do not collect any metrics if this listener is set. */
+    ParsingListener NONE = metrics -> {
+        // nothing to do
+    };
+
+    /**
+     * Called after a parser successfully parsed an input.
+     *
+     * @param metrics
+     *         the metrics of the parse
+     */
+    void parsed(ParsingMetrics metrics);
+}
@@ -0,0 +1,252 @@
+package edu.hm.hafner.analysis;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Metrics of a single parse of an {@link AbstractParser}: the size of the input, the work of the regular expressions,
+ * the number of created issues, and the time spent in the different phases. Metrics are collected only if a {@link
+ * ParsingListener} has been set for the parser, they are reported to the listener after the input has been parsed. <p>
+ * Line based parsers report the lines that have been rejected by their {@link
+ * FastRegexpLineParser#isLineInteresting(String) filter} and the time spent in post processing. All parsers that are
+ * based on {@link RegexpParser} report the number and time of the match attempts of their regular expression. All
+ * other values are reported by every parser. </p> <p> If the issues are taken from a {@link ParseResultCache}, then
+ * the metrics are {@link #isCached() marked as cached}: they contain the number of bytes that have been hashed to find
+ * the cached result, the number of issues, and the total time. </p>
+ *
+ * @author Ullrich Hafner
+ */
+public final class ParsingMetrics {
+    private final String parser;
+    private final String source;
+    private final String origin;
+
+    private long bytes;
+    private long characters;
+    private int lines;
+    private int rejectedLines;
+    private int matchAttempts;
+    private long matchTime;
+    private int issues;
+    private int duplicates;
+    private long postProcessingTime;
+    private long totalTime;
+    private boolean cached;
+
+    /**
+     * Creates the metrics of the specified issues. Only the number of issues and duplicates are set.
+     *
+     * @param source
+     *         the name of the parsed file
+     * @param origin
+     *         the ID of the tool that reported the issues
+     * @param parsed
+     *         the parsed issues
+     *
+     * @return the metrics
+     */
+    static ParsingMetrics of(final String source, final String origin, final Issues<?> parsed) {
+        ParsingMetrics metrics = new ParsingMetrics(StringUtils.EMPTY, source, origin);
+        metrics.issues = parsed.getSize() + parsed.getDuplicatesSize();
+        metrics.duplicates = parsed.getDuplicatesSize();
+        return metrics;
+    }
+
+    ParsingMetrics(final String parser, final String source, final String origin) {
+        this.parser = parser;
+        this.source = source;
+        this.origin = StringUtils.defaultString(origin);
+    }
+
+    void lineRejected() {
+        rejectedLines++;
+    }
+
+    void matchAttempted(final long nanos) {
+        matchAttempts++;
+        matchTime += nanos;
+    }
+
+    void postProcessed(final long nanos) {
+        postProcessingTime += nanos;
+    }
+
+    void finish(final Issues<?> parsed, final long readBytes, final long readCharacters, final int readLines,
+            final long nanos) {
+        issues = parsed.getSize() + parsed.getDuplicatesSize();
+        duplicates = parsed.getDuplicatesSize();
+        bytes = readBytes;
+        characters = readCharacters;
+        lines = readLines;
+        totalTime = nanos;
+    }
+
+    void finishCached(final Issues<?> parsed, final long hashedBytes, final long nanos) {
+        issues = parsed.getSize() + parsed.getDuplicatesSize();
+        duplicates = parsed.getDuplicatesSize();
+        bytes = hashedBytes;
+        totalTime = nanos;
+        cached = true;
+    }
+
+    /**
+     * Returns the class name of the parser.
+     *
+     * @return the name of the parser
+     */
+    public String getParser() {
+        return parser;
+    }
+
+    /**
+     * Returns the name of the parsed file.
+     *
+     * @return the name of the parsed file, or an empty string if a {@link java.io.Reader reader} has been parsed
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the ID of the tool that reported the issues.
+     *
+     * @return the tool ID, or an empty string if not set
+     */
+    public String getOrigin() {
+        return origin;
+    }
+
+    /**
+     * Returns the number of bytes read.
+     *
+     * @return the number of bytes, or 0 if a {@link java.io.Reader reader} has been parsed
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Returns the number of characters read.
+     *
+     * @return the number of characters
+     */
+    public long getCharacters() {
+        return characters;
+    }
+
+    /**
+     * Returns the number of lines read.
+     *
+     * @return the number of lines
+     */
+    public int getLines() {
+        return lines;
+    }
+
+    /**
+     * Returns the number of lines that have been rejected by the filter of a {@link FastRegexpLineParser} without
+     * evaluating the regular expression.
+     *
+     * @return the number of rejected lines
+     */
+    public int getRejectedLines() {
+        return rejectedLines;
+    }
+
+    /**
+     * Returns the number of attempts to find a match of the regular expression, including the final unsuccessful
+     * attempt for each line or document.
+     *
+     * @return the number of match attempts
+     */
+    public int getMatchAttempts() {
+        return matchAttempts;
+    }
+
+    /**
+     * Returns the time spent in matching the regular expression in nanoseconds.
+     *
+     * @return the match time
+     */
+    public long getMatchTime() {
+        return matchTime;
+    }
+
+    /**
+     * Returns the number of created issues, including the duplicates.
+     *
+     * @return the number of created issues
+     */
+    public int getIssues() {
+        return issues;
+    }
+
+    /**
+     * Returns the number of issues that have been dropped since they are duplicates.
+     *
+     * @return the number of duplicates
+     */
+    public int getDuplicates() {
+        return duplicates;
+    }
+
+    /**
+     * Returns the time spent in post processing the issues in nanoseconds.
+     *
+     * @return the post processing time
+     */
+    public long getPostProcessingTime() {
+        return postProcessingTime;
+    }
+
+    /**
+     * Returns the wall time of the whole parse in nanoseconds.
+     *
+     * @return the total time
+     */
+    public long getTotalTime() {
+        return totalTime;
+    }
+
+    /**
+     * Returns whether the issues have been taken from a {@link ParseResultCache} rather than parsed.
+     *
+     * @return {@code true} if the issues have been taken from the cache, {@code false} if they have been parsed
+     */
+    public boolean isCached() {
+        return cached;
+    }
+
+    /**
+     * Logs the summary of these metrics to the specified issues.
+     *
+     * @param parsed
+     *         the issues to log the summary to
+     */
+    void log(final Issues<?> parsed) {
+        parsed.log("Successfully parsed '%s': found %d issues (tool ID = %s)", source, issues - duplicates, origin);
+        if (duplicates == 1) {
+            parsed.log("Note: one issue has been dropped since it is a duplicate");
+        }
+        else if (duplicates > 1) {
+            parsed.log("Note: %d issues have been dropped since they are duplicates", duplicates);
+        }
+    }
+
+    @Override
+    public String toString() {
+        if (cached) {
+            return String.format("%s found '%s' in cache in %d ms: %d bytes hashed, %d issues (%d duplicates)",
+                    parser, source, toMillis(totalTime), bytes, issues, duplicates);
+        }
+        return String.format("%s parsed '%s' in %d ms: %d lines (%d characters, %d bytes), %d lines rejected, "
+                        + "%d match attempts in %d ms, %d issues (%d duplicates), post processing in %d ms",
+                parser, source, toMillis(totalTime), lines, characters, bytes, rejectedLines,
+                matchAttempts, toMillis(matchTime), issues, duplicates, toMillis(postProcessingTime));
+    }
+
+    private static long toMillis(final long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+}
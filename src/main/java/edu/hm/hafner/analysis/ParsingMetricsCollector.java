@@ -0,0 +1,47 @@
+package edu.hm.hafner.analysis;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.impl.factory.Lists;
+
+/**
+ * A {@link ParsingListener} that keeps the metrics of all parses in memory. This class is thread safe, so a single
+ * collector can be shared by several parsers.
+ *
+ * @author Ullrich Hafner
+ */
+public class ParsingMetricsCollector implements ParsingListener {
+    private final List<ParsingMetrics> metrics = new ArrayList<>();
+
+    @Override
+    public synchronized void parsed(final ParsingMetrics parsingMetrics) {
+        metrics.add(parsingMetrics);
+    }
+
+    /**
+     * Returns the metrics of all parses in the order of their completion.
+     *
+     * @return the collected metrics
+     */
+    public synchronized ImmutableList<ParsingMetrics> getMetrics() {
+        return Lists.immutable.ofAll(metrics);
+    }
+
+    /**
+     * Returns the total wall time of all parses in nanoseconds.
+     *
+     * @return the total time
+     */
+    public synchronized long getTotalTime() {
+        return metrics.stream().mapToLong(ParsingMetrics::getTotalTime).sum();
+    }
+
+    /**
+     * Removes all collected metrics.
+     */
+    public synchronized void clear() {
+        metrics.clear();
+    }
+}
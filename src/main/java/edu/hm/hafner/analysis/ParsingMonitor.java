@@ -0,0 +1,126 @@
+package edu.hm.hafner.analysis;
+
+import edu.hm.hafner.util.Ensure;
+
+/**
+ * Monitors a long running parse: reports the progress and cancels the parse on request. A monitor is passed to {@link
+ * AbstractParser#parse(java.io.File, java.nio.charset.Charset, IssueBuilder, ParsingMonitor)} or {@link
+ * FingerprintGenerator#run(Issues, java.nio.charset.Charset, ParsingMonitor)}. The parsers check the
+ * monitor whenever they read a new block of the input and at the configured granularity in their loops, i.e. after
+ * the specified number of lines, regular expression matches, XML elements or fingerprints. <p> Subclasses receive the
+ * progress by overriding {@link #progress(long, long)}. A monitor can be canceled from any thread, but it must not be
+ * used by several parses at the same time. </p>
+ *
+ * @author Ullrich Hafner
+ */
+public class ParsingMonitor {
+    /** Number of loop iterations between two checks of the monitor, if not specified otherwise. */
+    public static final int DEFAULT_GRANULARITY = 1000;
+
+    private final int granularity;
+    private volatile boolean canceled;
+
+    private int steps;
+    private long processed;
+    private long total;
+    private long reported;
+
+    /**
+     * Creates a new instance of {@link ParsingMonitor} with the {@link #DEFAULT_GRANULARITY default granularity}.
+     */
+    public ParsingMonitor() {
+        this(DEFAULT_GRANULARITY);
+    }
+
+    /**
+     * Creates a new instance of {@link ParsingMonitor}.
+     *
+     * @param granularity
+     *         the number of loop iterations between two checks of the monitor
+     */
+    public ParsingMonitor(final int granularity) {
+        Ensure.that(granularity > 0).isTrue("Granularity must be positive: %d", granularity);
+
+        this.granularity = granularity;
+    }
+
+    /**
+     * Cancels the parse. The parser will throw a {@link ParsingCanceledException} the next time it checks this monitor.
+     */
+    public void cancel() {
+        canceled = true;
+    }
+
+    /**
+     * Returns whether the parse has been canceled.
+     *
+     * @return {@code true} if the parse has been canceled, {@code false} otherwise
+     */
+    public boolean isCanceled() {
+        return canceled;
+    }
+
+    /**
+     * Returns the number of loop iterations between two checks of the monitor.
+     *
+     * @return the granularity
+     */
+    public int getGranularity() {
+        return granularity;
+    }
+
+    /**
+     * Called with the current progress of the parse. The progress is reported only if the number of processed units
+     * changed since the last call. This default implementation does nothing.
+     *
+     * @param processedUnits
+     *         the number of processed units: the bytes that have been read from a file, or the issues whose
+     *         fingerprints have been computed
+     * @param totalUnits
+     *         the total number of units to process
+     */
+    protected void progress(final long processedUnits, final long totalUnits) {
+        // empty default implementation
+    }
+
+    void begin(final long totalUnits) {
+        total = totalUnits;
+        processed = 0;
+        reported = 0;
+        steps = 0;
+    }
+
+    void advance(final long processedUnits) {
+        processed = processedUnits;
+
+        check();
+    }
+
+    void step(final long processedUnits) {
+        processed = processedUnits;
+
+        step();
+    }
+
+    void step() {
+        steps++;
+        if (steps >= granularity) {
+            steps = 0;
+            check();
+        }
+    }
+
+    void check() {
+        if (canceled || Thread.interrupted()) {
+            throw new ParsingCanceledException();
+        }
+        if (processed != reported) {
+            reported = processed;
+            progress(processed, total);
+        }
+    }
+
+    void end() {
+        advance(total);
+    }
+}
@@ -28,7 +28,7 @@ public abstract class RegexpDocumentParser extends RegexpParser {
     @Override
     public Issues<Issue> parse(final Reader reader, final IssueBuilder builder) throws ParsingCanceledException {
         try (BufferedReader bufferedReader = new BufferedReader(reader)) {
-            String text = bufferedReader.lines().map(getTransformer()).collect(Collectors.joining("\n"));
+            String text = bufferedReader.lines().map(this::transform).collect(Collectors.joining("\n"));
 
             Issues<Issue> warnings = new Issues<>();
             findAnnotations(text + "\n", warnings, builder);
@@ -39,4 +39,10 @@ public abstract class RegexpDocumentParser extends RegexpParser {
             throw new ParsingException(e);
         }
     }
+
+    private String transform(final String line) {
+        checkCanceled();
+
+        return getTransformer().apply(line);
+    }
 }
@@ -1,9 +1,28 @@
 package edu.hm.hafner.analysis;
 
+import javax.annotation.CheckForNull;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
 import java.io.Reader;
+import java.io.Serializable;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.LineIterator;
+import org.apache.commons.io.input.BOMInputStream;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.apache.commons.io.input.CloseShieldInputStream;
+import org.apache.commons.lang3.SerializationUtils;
+
+import edu.hm.hafner.util.Ensure;
 
 /**
  * Parses an input stream line by line for compiler warnings using the provided regular expression. Multi-line regular
@@ -13,8 +32,7 @@ import org.apache.commons.io.LineIterator;
  */
 public abstract class RegexpLineParser extends RegexpParser {
     private static final long serialVersionUID = 5932670979793111138L;
-
-    private int currentLine = 0;
+    private static final int BUFFER_SIZE = 8192;
 
     /**
      * Creates a new instance of {@link RegexpLineParser}.
@@ -27,21 +45,326 @@ public abstract class RegexpLineParser extends RegexpParser {
 
     @Override
     public Issues<Issue> parse(final Reader reader, final IssueBuilder builder) throws ParsingCanceledException {
-        Issues<Issue> issues = new Issues<>();
+        try (ParsingContext context = ParsingContext.begin(this)) {
+            Issues<Issue> issues = new Issues<>();
+            parseLines(reader, builder, context, issues);
+            return postProcess(issues, builder, context);
+        }
+    }
+
+    /**
+     * Parses the lines that have been appended to the specified file since the previous increment. Only complete
+     * lines, i.e. lines that are terminated by a line break, are parsed unless the file is finished. The issues of the
+     * parsed lines are available with {@link ParseState#getNewIssues()} of the returned state. Parsing a file in
+     * increments yields exactly the same issues as parsing the whole file at once with {@link #parse(File, Charset,
+     * IssueBuilder)}. <p> The encoding of the file must represent line breaks with the byte {@code '\n'}, like
+     * UTF-8 or the ISO-8859 encodings do. </p>
+     *
+     * @param file
+     *         the file to parse
+     * @param charset
+     *         the encoding to use when reading the file
+     * @param builder
+     *         the issue builder to use
+     * @param previous
+     *         the state after the previous increment, or {@link ParseState#START} to start at the beginning of the
+     *         file
+     * @param isFinished
+     *         determines whether the file is complete: if {@code true}, then the last line is parsed even if it is not
+     *         terminated by a line break and all remaining issues are reported
+     *
+     * @return the state after this increment
+     * @throws ParsingException
+     *         Signals that during parsing a non recoverable error has been occurred, e.g. the file has been truncated
+     * @throws ParsingCanceledException
+     *         Signals that the parsing has been aborted by the user
+     */
+    public ParseState parse(final File file, final Charset charset, final IssueBuilder builder,
+            final ParseState previous, final boolean isFinished) throws ParsingException, ParsingCanceledException {
+        return parse(file, charset, builder, previous, isFinished, Long.MAX_VALUE, state -> { });
+    }
+
+    /**
+     * Parses the lines that have been appended to the specified file since the previous increment and writes
+     * checkpoints while parsing. The lines are parsed in blocks of the specified size, each block ends with a complete
+     * line. After each block, except the last one, the state of the parse is passed to the specified consumer. Such a
+     * checkpoint can be stored (e.g. serialized to disk) so that a parse that has been aborted, e.g. due to a crash,
+     * can be resumed from the last checkpoint rather than starting over at the beginning of the file: just pass the
+     * checkpoint as previous state to this method again. The returned state contains all new issues since the
+     * previous state, not only the issues of the last block. See {@link #parse(File, Charset, IssueBuilder,
+     * ParseState, boolean)} for details about incremental parsing.
+     *
+     * @param file
+     *         the file to parse
+     * @param charset
+     *         the encoding to use when reading the file
+     * @param builder
+     *         the issue builder to use
+     * @param previous
+     *         the state after the previous increment or the last checkpoint, or {@link ParseState#START} to start at
+     *         the beginning of the file
+     * @param isFinished
+     *         determines whether the file is complete: if {@code true}, then the last line is parsed even if it is not
+     *         terminated by a line break and all remaining issues are reported
+     * @param checkpointInterval
+     *         the minimum number of bytes between two checkpoints
+     * @param checkpoint
+     *         the consumer of the checkpoints
+     *
+     * @return the state after this increment
+     * @throws ParsingException
+     *         Signals that during parsing a non recoverable error has been occurred, e.g. the file has been truncated
+     * @throws ParsingCanceledException
+     *         Signals that the parsing has been aborted by the user
+     */
+    @SuppressWarnings("ParameterNumber")
+    public ParseState parse(final File file, final Charset charset, final IssueBuilder builder,
+            final ParseState previous, final boolean isFinished, final long checkpointInterval,
+            final Consumer<ParseState> checkpoint) throws ParsingException, ParsingCanceledException {
+        return parse(file, charset, builder, previous, isFinished, checkpointInterval,
+                (progress, context) -> checkpoint.accept(progress.toState(context, false, progress.getBlockIssues())));
+    }
+
+    /**
+     * Parses the lines that have been appended to the specified file since the previous increment and writes small
+     * checkpoints while parsing. The lines are parsed in blocks of the specified size, each block ends with a complete
+     * line. After each block, except the last one, a checkpoint with the new issues of the block is passed to the
+     * specified consumer. In contrast to the checkpoints of {@link #parse(File, Charset, IssueBuilder, ParseState,
+     * boolean, long, Consumer)} these checkpoints do not contain all issues found so far, so the time and space to
+     * store them does not grow with the size of the file. The owner of the checkpoints needs to append the new issues
+     * of each checkpoint to its own store: to resume an aborted parse, pass the state that {@link
+     * ParseCheckpoint#toState(Issues)} creates from the last checkpoint and the stored issues as previous state to this
+     * method again. The returned state contains all new issues since the previous state, not only the issues of the
+     * last block.
+     *
+     * @param file
+     *         the file to parse
+     * @param charset
+     *         the encoding to use when reading the file
+     * @param builder
+     *         the issue builder to use
+     * @param previous
+     *         the state after the previous increment or the last checkpoint, or {@link ParseState#START} to start at
+     *         the beginning of the file
+     * @param isFinished
+     *         determines whether the file is complete: if {@code true}, then the last line is parsed even if it is not
+     *         terminated by a line break and all remaining issues are reported
+     * @param checkpointInterval
+     *         the minimum number of bytes between two checkpoints
+     * @param checkpoint
+     *         the consumer of the checkpoints
+     *
+     * @return the state after this increment
+     * @throws ParsingException
+     *         Signals that during parsing a non recoverable error has been occurred, e.g. the file has been truncated
+     * @throws ParsingCanceledException
+     *         Signals that the parsing has been aborted by the user
+     */
+    @SuppressWarnings("ParameterNumber")
+    public ParseState parseWithCheckpoints(final File file, final Charset charset, final IssueBuilder builder,
+            final ParseState previous, final boolean isFinished, final long checkpointInterval,
+            final Consumer<ParseCheckpoint> checkpoint) throws ParsingException, ParsingCanceledException {
+        return parse(file, charset, builder, previous, isFinished, checkpointInterval,
+                (progress, context) -> checkpoint.accept(progress.toCheckpoint(context)));
+    }
+
+    @SuppressWarnings("ParameterNumber")
+    private ParseState parse(final File file, final Charset charset, final IssueBuilder builder,
+            final ParseState previous, final boolean isFinished, final long checkpointInterval,
+            final BiConsumer<Progress, ParsingContext> checkpoint) throws ParsingException, ParsingCanceledException {
+        Ensure.that(previous.isFinished()).isFalse("Parsing of file '%s' has been finished already", file);
+        Ensure.that(checkpointInterval > 0).isTrue("Checkpoint interval must be positive: %d", checkpointInterval);
+
+        try (RandomAccessFile input = new RandomAccessFile(file, "r");
+                ParsingContext context = ParsingContext.begin(this)) {
+            long offset = previous.getOffset();
+            long length = input.length();
+            if (length < offset) {
+                throw new IOException(String.format("File has been truncated to %d bytes, expected at least %d bytes",
+                        length, offset));
+            }
+            long end = isFinished ? length : findEndOfLastLine(input, offset, length);
+
+            // the parser state is copied since parsers may modify their state while parsing, but a state is immutable
+            context.setLine(previous.getLine());
+            context.setParserState(SerializationUtils.clone(previous.getParserState()));
+
+            Progress progress = new Progress(previous);
+            Issues<Issue> added = new Issues<>();
+            while (true) {
+                long endOfBlock = findEndOfBlock(input, progress.getOffset(), checkpointInterval, end);
+                boolean isLastBlock = endOfBlock >= end;
+                parseBlock(input, charset, builder, context, progress, endOfBlock, isFinished && isLastBlock);
+                added.addAll(progress.getBlockIssues());
+                if (isLastBlock) {
+                    return progress.toState(context, isFinished, added);
+                }
+                checkpoint.accept(progress, context);
+            }
+        }
+        catch (IOException exception) {
+            throw new ParsingException(exception, "Can't scan file for issues: " + file.getAbsolutePath());
+        }
+    }
+
+    @SuppressWarnings("ParameterNumber")
+    private void parseBlock(final RandomAccessFile input, final Charset charset, final IssueBuilder builder,
+            final ParsingContext context, final Progress progress, final long end, final boolean isFinished)
+            throws IOException {
+        long offset = progress.getOffset();
+        input.seek(offset);
+        InputStream stream = new BoundedInputStream(
+                new CloseShieldInputStream(Channels.newInputStream(input.getChannel())), end - offset);
+        if (offset == 0) {
+            stream = new BOMInputStream(stream);
+        }
+        parseIncrement(new InputStreamReader(stream, charset), builder, context, progress, end, isFinished);
+    }
+
+    private long findEndOfBlock(final RandomAccessFile input, final long offset, final long size, final long end)
+            throws IOException {
+        if (size >= end - offset) {
+            return end;
+        }
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long position = offset + size - 1;
+        input.seek(position);
+        while (position < end) {
+            int read = input.read(buffer, 0, (int) Math.min(buffer.length, end - position));
+            if (read < 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer[i] == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return end;
+    }
+
+    private long findEndOfLastLine(final RandomAccessFile input, final long offset, final long length)
+            throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long end = length;
+        while (end > offset) {
+            int size = (int) Math.min(buffer.length, end - offset);
+            input.seek(end - size);
+            input.readFully(buffer, 0, size);
+            for (int i = size - 1; i >= 0; i--) {
+                if (buffer[i] == '\n') {
+                    return end - size + i + 1;
+                }
+            }
+            end -= size;
+        }
+        return offset;
+    }
+
+    @SuppressWarnings("ParameterNumber")
+    private void parseIncrement(final Reader reader, final IssueBuilder builder, final ParsingContext context,
+            final Progress progress, final long end, final boolean isFinished) {
+        Issues<Issue> warnings = new Issues<>();
+        warnings.addAll(progress.getOpenIssues());
+        parseLines(reader, builder, context, warnings);
+
+        Issues<Issue> closed = warnings;
+        List<Issue> open = new ArrayList<>();
+        int numberOfOpenWarnings = isFinished ? 0 : getNumberOfOpenWarnings(warnings);
+        if (numberOfOpenWarnings > 0) {
+            int numberOfClosedWarnings = warnings.size() - numberOfOpenWarnings;
+            closed = new Issues<>();
+            for (int i = 0; i < warnings.size(); i++) {
+                if (i < numberOfClosedWarnings) {
+                    closed.add(warnings.get(i));
+                }
+                else {
+                    open.add(warnings.get(i));
+                }
+            }
+        }
+
+        // post processing might change the properties of the builder, these must not leak into the next increment
+        Issues<Issue> processed = postProcess(closed, builder.createEmptyCopy(), context);
+        progress.advance(end, open, processed);
+    }
+
+    private void parseLines(final Reader reader, final IssueBuilder builder, final ParsingContext context,
+            final Issues<Issue> issues) {
+        ParsingMonitor monitor = context.getMonitor();
         LineIterator iterator = IOUtils.lineIterator(reader);
         try {
-            currentLine = 0;
             while (iterator.hasNext()) {
                 String line = getTransformer().apply(iterator.nextLine());
                 findAnnotations(line, issues, builder);
-                currentLine++;
+                context.setLine(context.getLine() + 1);
+                checkCanceled(monitor);
             }
         }
         finally {
             iterator.close();
         }
+    }
+
+    private Issues<Issue> postProcess(final Issues<Issue> issues, final IssueBuilder builder,
+            final ParsingContext context) {
+        ParsingMetrics metrics = context.getMetrics();
+        if (metrics == null) {
+            return postProcessWarnings(issues, builder);
+        }
+        long start = System.nanoTime();
+        Issues<Issue> postProcessed = postProcessWarnings(issues, builder);
+        metrics.postProcessed(System.nanoTime() - start);
+        return postProcessed;
+    }
+
+    /**
+     * Returns the number of warnings at the end of the specified warnings that still might be merged with warnings of
+     * the lines that have not been parsed yet. An incremental parse holds these warnings back until more lines are
+     * available. Subclasses that merge warnings of several lines in {@link #postProcessWarnings(Issues, IssueBuilder)}
+     * need to override this method. This default implementation returns 0 since the default post processing does not
+     * merge warnings.
+     *
+     * @param warnings
+     *         the warnings of the parsed lines, before post processing
+     *
+     * @return the number of open warnings
+     */
+    protected int getNumberOfOpenWarnings(final Issues<Issue> warnings) {
+        return 0;
+    }
+
+    /**
+     * Returns the state of the running parse of this parser, e.g. the current directory of a make build. Sub-classes
+     * that depend on the content of the previous lines must store this information in the parser state rather than in
+     * fields: the parser state is bound to the running parse, so a parser instance can be used by several threads at
+     * the same time. Additionally, the state is stored in the {@link ParseState} of an incremental parse. At the
+     * beginning of a file the state is {@code null}.
+     *
+     * @return the state of the running parse, or {@code null} if no state has been set yet
+     */
+    @CheckForNull
+    protected final Serializable getParserState() {
+        return getContext().getParserState();
+    }
+
+    /**
+     * Sets the state of the running parse of this parser. The state may be modified afterwards while the parse is
+     * running.
+     *
+     * @param state
+     *         the new state of the running parse
+     * @see #getParserState()
+     */
+    protected final void setParserState(@CheckForNull final Serializable state) {
+        getContext().setParserState(state);
+    }
 
-        return postProcessWarnings(issues, builder);
+    private ParsingContext getContext() {
+        ParsingContext context = ParsingContext.current(this);
+        Ensure.that(context).isNotNull("Parser %s is not parsing in the current thread", getClass().getName());
+        return context;
     }
 
     /**
@@ -55,12 +378,74 @@ public abstract class RegexpLineParser extends RegexpParser {
         return issues;
     }
 
+    @Override
+    int getLineOfMatch(@CheckForNull final ParsingContext context) {
+        return context == null ? 1 : context.getLine() + 1;
+    }
+
     /**
-     * Returns the number of the current line in the parsed file.
+     * Returns the number of the current line in the file that is parsed in the current thread.
      *
-     * @return the current line
+     * @return the current line, or 0 if this parser is not parsing in the current thread
      */
     public int getCurrentLine() {
-        return currentLine;
+        ParsingContext context = ParsingContext.current(this);
+        return context == null ? 0 : context.getLine();
+    }
+
+    /**
+     * The state of a running incremental parse. In contrast to a {@link ParseState} the progress is mutable, so the
+     * issues found so far are not copied after each block.
+     */
+    private static class Progress {
+        private final Issues<Issue> issues;
+        private long offset;
+        private List<Issue> openIssues;
+        private int duplicates;
+        private Issues<Issue> blockIssues = new Issues<>();
+
+        Progress(final ParseState previous) {
+            issues = previous.getIssues();
+            offset = previous.getOffset();
+            openIssues = previous.getOpenIssues();
+            duplicates = previous.getDuplicatesSize();
+        }
+
+        long getOffset() {
+            return offset;
+        }
+
+        List<Issue> getOpenIssues() {
+            return openIssues;
+        }
+
+        Issues<Issue> getBlockIssues() {
+            return blockIssues;
+        }
+
+        void advance(final long end, final List<Issue> open, final Issues<Issue> processed) {
+            offset = end;
+            openIssues = open;
+            duplicates += processed.getDuplicatesSize();
+            blockIssues = new Issues<>();
+            for (Issue issue : processed) {
+                if (issues.add(issue)) {
+                    blockIssues.add(issue);
+                }
+                else {
+                    duplicates++;
+                }
+            }
+        }
+
+        ParseState toState(final ParsingContext context, final boolean isFinished, final Issues<Issue> newIssues) {
+            return new ParseState(offset, context.getLine(), SerializationUtils.clone(context.getParserState()),
+                    openIssues, issues, duplicates, isFinished, newIssues);
+        }
+
+        ParseCheckpoint toCheckpoint(final ParsingContext context) {
+            return new ParseCheckpoint(offset, context.getLine(), SerializationUtils.clone(context.getParserState()),
+                    openIssues, issues.size(), duplicates, blockIssues);
+        }
     }
 }
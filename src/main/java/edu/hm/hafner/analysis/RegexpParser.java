@@ -1,5 +1,6 @@
 package edu.hm.hafner.analysis;
 
+import javax.annotation.CheckForNull;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -45,7 +46,9 @@ public abstract class RegexpParser extends AbstractParser {
     }
 
     /**
-     * Parses the specified string content and creates annotations for each found warning.
+     * Parses the specified string content and creates annotations for each found warning. Line based parsers call this
+     * method for each line. Sub-classes may override this method, e.g. to inspect the content before it is scanned.
+     * This default implementation scans the content using the context of the running parse in the current thread.
      *
      * @param content
      *         the content to scan
@@ -59,18 +62,78 @@ public abstract class RegexpParser extends AbstractParser {
      */
     protected void findAnnotations(final String content, final Issues<Issue> issues, final IssueBuilder builder)
             throws ParsingCanceledException {
-        Matcher matcher = pattern.matcher(content);
+        findAnnotations(content, issues, builder, ParsingContext.current(this));
+    }
 
-        while (matcher.find()) {
+    /**
+     * Parses the specified string content and creates annotations for each found warning. The metrics and the monitor
+     * of the parse are taken from the specified context, so they are not looked up for each match.
+     *
+     * @param content
+     *         the content to scan
+     * @param issues
+     *         the found annotations
+     * @param builder
+     *         the issue build to use
+     * @param context
+     *         the context of the running parse, or {@code null} if this parser is not parsing in the current thread
+     *
+     * @throws ParsingCanceledException
+     *         indicates that the user canceled the operation
+     */
+    void findAnnotations(final String content, final Issues<Issue> issues, final IssueBuilder builder,
+            @CheckForNull final ParsingContext context) throws ParsingCanceledException {
+        ParsingMetrics metrics = context == null ? null : context.getMetrics();
+        ParsingMonitor monitor = context == null ? null : context.getMonitor();
+        Matcher matcher = pattern.matcher(createInput(content, monitor));
+
+        while (find(matcher, metrics, context)) {
             Issue warning = createWarning(matcher, builder);
             if (warning != FALSE_POSITIVE) { // NOPMD
                 // detectPackageName(warning); // TODO: package detection should be done on all warnings afterwards
                 issues.add(warning);
             }
-            if (Thread.interrupted()) {
-                throw new ParsingCanceledException();
-            }
+            checkCanceled(monitor);
+        }
+    }
+
+    /**
+     * Returns the input for the regular expression. The search for the next match in a long input cannot be
+     * interrupted. So if the parse is monitored, then long inputs are wrapped in a sequence that checks the monitor
+     * while the regular expression reads the characters.
+     */
+    private CharSequence createInput(final String content, @CheckForNull final ParsingMonitor monitor) {
+        if (monitor == null || content.length() < CancelableCharSequence.CHECK_INTERVAL) {
+            return content;
+        }
+        return new CancelableCharSequence(content, monitor);
+    }
+
+    private boolean find(final Matcher matcher, @CheckForNull final ParsingMetrics metrics,
+            @CheckForNull final ParsingContext context) {
+        if (metrics == null && !ParsingEvents.isMatchRecorded()) {
+            return matcher.find();
         }
+        ParsingEvents.Event event = ParsingEvents.beginMatch(this, getLineOfMatch(context));
+        long start = System.nanoTime();
+        boolean found = matcher.find();
+        if (metrics != null) {
+            metrics.matchAttempted(System.nanoTime() - start);
+        }
+        event.end(found ? 1 : 0);
+        return found;
+    }
+
+    /**
+     * Returns the line of the input that is searched for the next match.
+     *
+     * @param context
+     *         the context of the running parse, or {@code null} if this parser is not parsing in the current thread
+     *
+     * @return the line, or -1 if the whole input is searched
+     */
+    int getLineOfMatch(@CheckForNull final ParsingContext context) {
+        return -1;
     }
 
     /**
@@ -86,4 +149,45 @@ public abstract class RegexpParser extends AbstractParser {
      * @return a new annotation for the specified pattern
      */
     protected abstract Issue createWarning(Matcher matcher, IssueBuilder builder);
+
+    /**
+     * A character sequence that checks the monitor of the parse after a fixed number of character reads.
+     */
+    private static class CancelableCharSequence implements CharSequence {
+        static final int CHECK_INTERVAL = 1 << 16;
+
+        private final String content;
+        private final ParsingMonitor monitor;
+        private int reads;
+
+        CancelableCharSequence(final String content, final ParsingMonitor monitor) {
+            this.content = content;
+            this.monitor = monitor;
+        }
+
+        @Override
+        public int length() {
+            return content.length();
+        }
+
+        @Override
+        public char charAt(final int index) {
+            reads++;
+            if (reads >= CHECK_INTERVAL) {
+                reads = 0;
+                monitor.check();
+            }
+            return content.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            return content.subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return content;
+        }
+    }
 }
@@ -0,0 +1,198 @@
+package edu.hm.hafner.analysis;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import edu.hm.hafner.util.Ensure;
+
+/**
+ * The content of a source file that provides random access to its lines. When a source file is created, the offsets of
+ * all lines are computed once and stored in a compact index. Afterwards each line (or range of lines) can be accessed
+ * in constant time: only the requested lines will be decoded. Lines are separated by a line feed (\n), a carriage
+ * return (\r), or a carriage return followed immediately by a line feed, see {@link java.io.BufferedReader#readLine()}.
+ * Lines start at 1.
+ *
+ * @author Ullrich Hafner
+ * @see SourceFileCache
+ */
+public class SourceFile {
+    private static final byte LINE_FEED = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final int INITIAL_NUMBER_OF_LINES = 256;
+
+    private final ByteBuffer content;
+    private final Charset charset;
+    /** Start offset of each line, the last element marks the end of the content. */
+    private final int[] lineOffsets;
+
+    /**
+     * Creates a new instance of {@link SourceFile}. Line separators of the specified content are detected on byte
+     * level, i.e., the charset must encode the line separators as single ASCII bytes.
+     *
+     * @param content
+     *         the content of the file
+     * @param charset
+     *         the charset to decode the lines with
+     */
+    SourceFile(final ByteBuffer content, final Charset charset) {
+        Ensure.that(isAsciiCompatible(charset)).isTrue("Charset %s is not supported", charset);
+
+        this.content = content.duplicate();
+        this.charset = charset;
+
+        lineOffsets = createIndex(this.content);
+    }
+
+    /**
+     * Returns whether line separators are encoded as single ASCII bytes by the specified charset. Only files with such
+     * an encoding can be indexed without decoding the whole content.
+     *
+     * @param charset
+     *         the charset to check
+     *
+     * @return {@code true} if the charset is ASCII compatible, {@code false} otherwise
+     */
+    static boolean isAsciiCompatible(final Charset charset) {
+        return charset.canEncode()
+                && Arrays.equals(new byte[] {LINE_FEED, CARRIAGE_RETURN}, "\n\r".getBytes(charset));
+    }
+
+    /**
+     * Creates a new instance of {@link SourceFile} for a file that uses a charset that is not ASCII compatible. The
+     * content will be decoded completely and stored using UTF-8.
+     *
+     * @param content
+     *         the content of the file
+     * @param charset
+     *         the charset to decode the content with
+     *
+     * @return the source file
+     */
+    static SourceFile decode(final byte[] content, final Charset charset) {
+        return new SourceFile(ByteBuffer.wrap(new String(content, charset).getBytes(StandardCharsets.UTF_8)),
+                StandardCharsets.UTF_8);
+    }
+
+    private static int[] createIndex(final ByteBuffer buffer) {
+        int[] offsets = new int[INITIAL_NUMBER_OF_LINES];
+        int lines = 0;
+        int limit = buffer.limit();
+        int position = 0;
+        while (position < limit) {
+            if (lines + 1 >= offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            offsets[lines++] = position;
+
+            position = skipLineSeparator(buffer, findLineSeparator(buffer, position, limit), limit);
+        }
+        offsets[lines] = limit;
+
+        return Arrays.copyOf(offsets, lines + 1);
+    }
+
+    private static int findLineSeparator(final ByteBuffer buffer, final int start, final int limit) {
+        for (int position = start; position < limit; position++) {
+            byte current = buffer.get(position);
+            if (current == LINE_FEED || current == CARRIAGE_RETURN) {
+                return position;
+            }
+        }
+        return limit;
+    }
+
+    private static int skipLineSeparator(final ByteBuffer buffer, final int position, final int limit) {
+        if (position >= limit) {
+            return limit;
+        }
+        if (buffer.get(position) == CARRIAGE_RETURN && position + 1 < limit
+                && buffer.get(position + 1) == LINE_FEED) {
+            return position + 2;
+        }
+        return position + 1;
+    }
+
+    /**
+     * Returns the number of lines in this file.
+     *
+     * @return the number of lines
+     */
+    public int getLineCount() {
+        return lineOffsets.length - 1;
+    }
+
+    /**
+     * Returns the number of bytes of this file.
+     *
+     * @return the size in bytes
+     */
+    public int getSize() {
+        return content.limit();
+    }
+
+    /**
+     * Returns the specified line (without the line separator).
+     *
+     * @param line
+     *         the line to get (lines start at 1)
+     *
+     * @return the content of the line
+     * @throws IndexOutOfBoundsException
+     *         if the line does not exist
+     */
+    public String getLine(final int line) {
+        if (line < 1 || line > getLineCount()) {
+            throw new IndexOutOfBoundsException("No such line " + line + " in file with " + getLineCount() + " lines");
+        }
+        int start = lineOffsets[line - 1];
+        return decode(start, getEndOfLine(start, lineOffsets[line]));
+    }
+
+    /**
+     * Returns the lines in the specified range. The range will be restricted to the existing lines of this file, i.e.
+     * lines outside of this file will be skipped.
+     *
+     * @param from
+     *         the first line to get (lines start at 1)
+     * @param to
+     *         the last line to get
+     *
+     * @return the lines of the range, might be empty
+     */
+    public List<String> getLines(final int from, final int to) {
+        int first = Math.max(from, 1);
+        int last = Math.min(to, getLineCount());
+
+        List<String> lines = new ArrayList<>(Math.max(last - first + 1, 0));
+        for (int line = first; line <= last; line++) {
+            lines.add(getLine(line));
+        }
+        return lines;
+    }
+
+    private int getEndOfLine(final int start, final int nextLine) {
+        int end = nextLine;
+        if (end > start && content.get(end - 1) == LINE_FEED) {
+            end--;
+        }
+        if (end > start && content.get(end - 1) == CARRIAGE_RETURN) {
+            end--;
+        }
+        return end;
+    }
+
+    private String decode(final int start, final int end) {
+        if (content.hasArray()) {
+            return new String(content.array(), content.arrayOffset() + start, end - start, charset);
+        }
+        byte[] bytes = new byte[end - start];
+        ByteBuffer line = content.duplicate();
+        line.position(start);
+        line.get(bytes);
+        return new String(bytes, charset);
+    }
+}
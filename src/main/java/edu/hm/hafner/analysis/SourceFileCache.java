@@ -0,0 +1,191 @@
+package edu.hm.hafner.analysis;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+
+import edu.hm.hafner.util.Ensure;
+
+/**
+ * A cache of {@link SourceFile source files} that is shared by all components that need to read the content of source
+ * files, e.g. to compute fingerprints or to show the source code context of an issue. The files are read into the
+ * heap rather than memory mapped: a mapped file stays locked until the mapping is garbage collected, so on Windows the
+ * workspace could not be cleaned or checked out again. The cache is bounded by the total number of bytes of the cached
+ * files: when this maximum is exceeded, the least recently used files are evicted. Files that have been modified since
+ * they were cached are read again. <p> This class is thread safe. </p>
+ *
+ * @author Ullrich Hafner
+ */
+public class SourceFileCache {
+    /** Default maximum number of bytes of all cached files. */
+    public static final long DEFAULT_MAXIMUM_SIZE = 64L * 1024 * 1024;
+
+    private final long maximumSize;
+    private final Map<Key, CachedFile> files = new LinkedHashMap<>(16, 0.75f, true);
+    private long size = 0;
+
+    /**
+     * Creates a new instance of {@link SourceFileCache} with the {@link #DEFAULT_MAXIMUM_SIZE default maximum size}.
+     */
+    public SourceFileCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Creates a new instance of {@link SourceFileCache}.
+     *
+     * @param maximumSize
+     *         the maximum number of bytes of all cached files
+     */
+    public SourceFileCache(final long maximumSize) {
+        Ensure.that(maximumSize > 0).isTrue("Maximum size must be a positive number: %d", maximumSize);
+
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Returns the content of the specified file.
+     *
+     * @param fileName
+     *         the absolute path of the file
+     * @param charset
+     *         the encoding to be used when reading the file
+     *
+     * @return the content of the file
+     * @throws IOException
+     *         if the file could not be read
+     */
+    public SourceFile get(final String fileName, final Charset charset) throws IOException {
+        Path path = Paths.get(fileName);
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        Key key = new Key(path, charset);
+
+        synchronized (this) {
+            CachedFile cached = files.get(key);
+            if (cached != null && cached.isUpToDate(attributes)) {
+                return cached.getSourceFile();
+            }
+        }
+
+        CachedFile read = new CachedFile(read(path, attributes.size(), charset), attributes);
+        synchronized (this) {
+            CachedFile replaced = files.put(key, read);
+            if (replaced != null) {
+                size -= replaced.getSize();
+            }
+            size += read.getSize();
+            evict();
+        }
+        return read.getSourceFile();
+    }
+
+    private SourceFile read(final Path path, final long fileSize, final Charset charset) throws IOException {
+        if (fileSize > Integer.MAX_VALUE) {
+            throw new IOException("File is too large to be indexed: " + path);
+        }
+        if (!SourceFile.isAsciiCompatible(charset)) {
+            return SourceFile.decode(Files.readAllBytes(path), charset);
+        }
+        return new SourceFile(ByteBuffer.wrap(Files.readAllBytes(path)), charset);
+    }
+
+    private void evict() {
+        Iterator<Entry<Key, CachedFile>> leastRecentlyUsed = files.entrySet().iterator();
+        while (size > maximumSize && files.size() > 1) {
+            size -= leastRecentlyUsed.next().getValue().getSize();
+            leastRecentlyUsed.remove();
+        }
+    }
+
+    /**
+     * Returns the number of files in this cache.
+     *
+     * @return the number of cached files
+     */
+    public synchronized int size() {
+        return files.size();
+    }
+
+    /**
+     * Returns the total number of bytes of all files in this cache.
+     *
+     * @return the number of cached bytes
+     */
+    public synchronized long getCachedBytes() {
+        return size;
+    }
+
+    /**
+     * Removes all files from this cache.
+     */
+    public synchronized void clear() {
+        files.clear();
+        size = 0;
+    }
+
+    /**
+     * A source file in the cache, along with the attributes of the file when it was read.
+     */
+    private static class CachedFile {
+        private final SourceFile sourceFile;
+        private final long lastModified;
+        private final long fileSize;
+
+        CachedFile(final SourceFile sourceFile, final BasicFileAttributes attributes) {
+            this.sourceFile = sourceFile;
+            lastModified = attributes.lastModifiedTime().toMillis();
+            fileSize = attributes.size();
+        }
+
+        SourceFile getSourceFile() {
+            return sourceFile;
+        }
+
+        long getSize() {
+            return sourceFile.getSize();
+        }
+
+        boolean isUpToDate(final BasicFileAttributes attributes) {
+            return lastModified == attributes.lastModifiedTime().toMillis() && fileSize == attributes.size();
+        }
+    }
+
+    /**
+     * Identifies a cached file: the same file might be read using different encodings.
+     */
+    private static class Key {
+        private final Path path;
+        private final Charset charset;
+
+        Key(final Path path, final Charset charset) {
+            this.path = path;
+            this.charset = charset;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return path.equals(key.path) && charset.equals(key.charset);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, charset);
+        }
+    }
+}
@@ -41,6 +41,7 @@ public class AjcParser extends AbstractParser {
             int lineNo = 0;
 
             while ((line = br.readLine()) != null) {
+                checkCanceled();
                 //clean up any ESC characters (e.g. terminal colors)
                 line = line.replaceAll((char)27 + "\\[.*" + (char)27 + "\\[0m", "");
 
@@ -20,7 +20,7 @@ public class GccParser extends RegexpLineParser {
     static final String GCC_ERROR = "GCC error";
     static final String LINKER_ERROR = "Linker error";
     private static final String GCC_WARNING_PATTERN = "^(?:\\s*(?:\\[.*\\]\\s*)?([^ ]*\\.[chpimxsola0-9]+):(?:(\\d*):" +
-            "(?:\\d*:)*\\s*(?:(warning|error|note)\\s*:|\\s*(.*))|\\s*(undefined reference to.*))(.*)|.*ld:\\s*(.*-l(" +
+            "(?:[\\d:]*:)?\\s*(?:(warning|error|note)\\s*:|\\s*(.*))|\\s*(undefined reference to.*))(.*)|.*ld:\\s*(.*-l(" +
             ".*)))$";
 
     /**
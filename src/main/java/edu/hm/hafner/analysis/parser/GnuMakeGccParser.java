@@ -2,6 +2,8 @@ package edu.hm.hafner.analysis.parser;
 
 import java.util.regex.Matcher;
 
+import org.apache.commons.lang3.StringUtils;
+
 import edu.hm.hafner.analysis.Issue;
 import edu.hm.hafner.analysis.IssueBuilder;
 import edu.hm.hafner.analysis.Priority;
@@ -24,8 +26,6 @@ public class GnuMakeGccParser extends RegexpLineParser {
             + "(.*\\.[chpimxsola0-9]+):(\\d+):(?:\\d+:)? (warning|error): (.*)$" // GCC 4 warning
             + ")|(" + "(^g?make(\\[.*\\])?: Entering directory)\\s*(['`]((.*))\\')" // handle make entering directory
             + ")";
-    private String directory = "";
-
     private final boolean isWindows;
 
     /**
@@ -74,7 +74,7 @@ public class GnuMakeGccParser extends RegexpLineParser {
                           .setMessage(message).setPriority(priority).build();
         }
         else {
-            return builder.setFileName(directory + fileName).setLineStart(lineNumber).setCategory(category)
+            return builder.setFileName(getDirectory() + fileName).setLineStart(lineNumber).setCategory(category)
                           .setMessage(message).setPriority(priority).build();
         }
     }
@@ -89,9 +89,12 @@ public class GnuMakeGccParser extends RegexpLineParser {
     }
 
     private Issue handleDirectory(final Matcher matcher) {
-        directory = matcher.group(10) + SLASH;
-        directory = fixMsysTypeDirectory(directory);
+        setParserState(fixMsysTypeDirectory(matcher.group(10) + SLASH));
 
         return FALSE_POSITIVE;
     }
+
+    private String getDirectory() {
+        return StringUtils.defaultString((String) getParserState());
+    }
 }
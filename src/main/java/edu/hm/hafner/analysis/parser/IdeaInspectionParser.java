@@ -19,6 +19,7 @@ import edu.hm.hafner.analysis.AbstractParser;
 import edu.hm.hafner.analysis.Issue;
 import edu.hm.hafner.analysis.IssueBuilder;
 import edu.hm.hafner.analysis.Issues;
+import edu.hm.hafner.analysis.ParsingEvents;
 import edu.hm.hafner.analysis.ParsingException;
 import edu.hm.hafner.analysis.Priority;
 import edu.hm.hafner.analysis.XmlElementUtil;
@@ -43,7 +44,9 @@ public class IdeaInspectionParser extends AbstractParser {
         try {
             DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory.newInstance();
             DocumentBuilder documentBuilder = documentBuilderFactory.newDocumentBuilder();
+            ParsingEvents.Event event = ParsingEvents.beginXmlDocument(this);
             Document document = documentBuilder.parse(new InputSource(reader));
+            event.end();
 
             Element rootElement = (Element)document.getElementsByTagName("problems").item(0);
             return parseProblems(XmlElementUtil.getNamedChildElements(rootElement, "problem"), builder);
@@ -59,6 +62,7 @@ public class IdeaInspectionParser extends AbstractParser {
     private Issues<Issue> parseProblems(List<Element> elements, final IssueBuilder builder) {
         Issues<Issue> problems = new Issues<>();
         for (Element element : elements) {
+            checkCanceled();
             String file = getChildValue(element, "file");
             int line = Integer.parseInt(getChildValue(element, "line"));
             Element problemClass = XmlElementUtil.getFirstElementByTagName(element, "problem_class");
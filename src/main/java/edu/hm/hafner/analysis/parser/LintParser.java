@@ -16,6 +16,7 @@ import edu.hm.hafner.analysis.Issue;
 import edu.hm.hafner.analysis.IssueBuilder;
 import edu.hm.hafner.analysis.Issues;
 import edu.hm.hafner.analysis.ParsingCanceledException;
+import edu.hm.hafner.analysis.ParsingEvents;
 import edu.hm.hafner.analysis.ParsingException;
 
 /**
@@ -43,8 +44,10 @@ public abstract class LintParser extends AbstractParser {
             SAXParser parser = parserFactory.newSAXParser();
 
             Issues<Issue> issues = new Issues<>();
+            ParsingEvents.Event event = ParsingEvents.beginXmlDocument(this);
             parser.parse(new ReaderInputStream(file, Charset
                     .forName("UTF-8")), new JSLintXMLSaxParser(issues));
+            event.end();
             return issues;
         }
         catch (IOException | ParserConfigurationException | SAXException e) {
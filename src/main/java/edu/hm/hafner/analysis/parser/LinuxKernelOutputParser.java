@@ -84,6 +84,7 @@ public class LinuxKernelOutputParser extends RegexpParser {
             Pattern pOutput = Pattern.compile(KERNOUTPUT_PATERN);
 
             while (line != null) {
+                checkCanceled();
                 Matcher m = pBugStart.matcher(line);
                 if (m.matches()) {
                     StringBuilder buf = new StringBuilder();
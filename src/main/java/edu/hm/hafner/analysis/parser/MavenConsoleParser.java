@@ -55,12 +55,35 @@ public class MavenConsoleParser extends FastRegexpLineParser {
                              .setMessage(matcher.group(2)).setPriority(priority).build();
     }
 
+    /**
+     * Returns the number of warnings of the last block of warnings if the block ends at the last parsed line. These
+     * warnings will be condensed with the warnings of the next lines if the next lines contain warnings with the same
+     * priority.
+     */
+    @Override
+    protected int getNumberOfOpenWarnings(final Issues<Issue> warnings) {
+        int open = 0;
+        int line = getCurrentLine();
+        Priority priority = null;
+        for (int i = warnings.size() - 1; i >= 0; i--) {
+            Issue warning = warnings.get(i);
+            if (warning.getLineStart() != line - 1 || (priority != null && priority != warning.getPriority())) {
+                break;
+            }
+            open++;
+            line = warning.getLineStart();
+            priority = warning.getPriority();
+        }
+        return open;
+    }
+
     // TODO: post processing is quite slow for large number of warnings, see JENKINS-25278
     @Override
     protected Issues<Issue> postProcessWarnings(final Issues<Issue> warnings, final IssueBuilder builder) {
         Deque<Issue> condensed = new LinkedList<>();
         int line = -1;
         for (Issue warning : warnings) {
+            checkCanceled();
             if (warning.getLineStart() == line + 1 && !condensed.isEmpty()) {
                 Issue previous = condensed.getLast();
                 if (previous.getPriority() == warning.getPriority()) {
@@ -1,12 +1,8 @@
 package edu.hm.hafner.analysis.parser;
 
-import java.io.Reader;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import org.apache.commons.io.IOUtils;
-import org.apache.commons.io.LineIterator;
-
 import edu.hm.hafner.analysis.Issue;
 import edu.hm.hafner.analysis.IssueBuilder;
 import edu.hm.hafner.analysis.Issues;
@@ -20,32 +16,19 @@ import edu.hm.hafner.analysis.RegexpLineParser;
  */
 public class RFLintParser extends RegexpLineParser {
     private static final String RFLINT_ERROR_PATTERN = "([W|E|I]): (\\d+), (\\d+): (.*) \\((.*)\\)";
-    private static final String RFLINT_FILE_PATTERN = "\\+\\s(.*)";
-    private String fileName;
+    private static final Pattern FILE_PATTERN = Pattern.compile("\\+\\s(.*)");
 
     public RFLintParser() {
         super(RFLINT_ERROR_PATTERN);
     }
 
     @Override
-    public Issues<Issue> parse(Reader file, final IssueBuilder builder) {
-        Issues<Issue> warnings = new Issues<>();
-        LineIterator iterator = IOUtils.lineIterator(file);
-        Pattern filePattern = Pattern.compile(RFLINT_FILE_PATTERN);
-        try {
-            while (iterator.hasNext()) {
-                String line = getTransformer().apply(iterator.nextLine());
-                Matcher matcher = filePattern.matcher(line);
-                if (matcher.find()) {
-                    fileName = matcher.group(1);
-                }
-                findAnnotations(line, warnings, builder);
-            }
-        }
-        finally {
-            iterator.close();
+    protected void findAnnotations(final String content, final Issues<Issue> issues, final IssueBuilder builder) {
+        Matcher matcher = FILE_PATTERN.matcher(content);
+        if (matcher.find()) {
+            setParserState(matcher.group(1));
         }
-        return warnings;
+        super.findAnnotations(content, issues, builder);
     }
 
     @Override
@@ -69,7 +52,11 @@ public class RFLintParser extends RegexpLineParser {
             default:
                 break;
         }
-        return builder.setFileName(fileName).setLineStart(parseInt(matcher.group(2))).setCategory(category)
+        return builder.setFileName(getFileName()).setLineStart(parseInt(matcher.group(2))).setCategory(category)
                       .setMessage(message).setPriority(priority).build();
     }
+
+    private String getFileName() {
+        return (String) getParserState();
+    }
 }
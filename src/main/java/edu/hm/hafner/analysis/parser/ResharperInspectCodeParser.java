@@ -5,11 +5,13 @@ import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import java.io.IOException;
 import java.io.StringReader;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
 
+import org.apache.commons.lang3.ObjectUtils;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
@@ -33,8 +35,6 @@ public class ResharperInspectCodeParser extends FastRegexpLineParser {
     private static final String WARNING_PATTERN = "\\<Issue.*?TypeId=\"(.*?)\".*?File=\"(.*?)\".*?Line=\"(.*?)\"" +
             ".*?Message=\"(.*?)\"";
 
-    private final Map<String, Priority> priorityByTypeId = new HashMap<>();
-
     /**
      * Creates a new instance of {@link ResharperInspectCodeParser}.
      */
@@ -79,6 +79,7 @@ public class ResharperInspectCodeParser extends FastRegexpLineParser {
     }
 
     private void parseIssueTypes(final List<Element> issueTypeElements) {
+        HashMap<String, Priority> priorityByTypeId = new HashMap<>(getPriorityByTypeId());
         for (Element issueTypeElement : issueTypeElements) {
             String id = issueTypeElement.getAttribute("Id");
             if (!"".equals(id)) {
@@ -94,9 +95,16 @@ public class ResharperInspectCodeParser extends FastRegexpLineParser {
                 }
             }
         }
+        setParserState(priorityByTypeId);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Priority> getPriorityByTypeId() {
+        return ObjectUtils.defaultIfNull((Map<String, Priority>) getParserState(), Collections.emptyMap());
     }
 
     private Priority GetPriority(final String typeId) {
+        Map<String, Priority> priorityByTypeId = getPriorityByTypeId();
         if (priorityByTypeId.containsKey(typeId)) {
             return priorityByTypeId.get(typeId);
         }
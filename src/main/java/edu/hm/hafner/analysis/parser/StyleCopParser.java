@@ -20,6 +20,7 @@ import edu.hm.hafner.analysis.Issue;
 import edu.hm.hafner.analysis.IssueBuilder;
 import edu.hm.hafner.analysis.Issues;
 import edu.hm.hafner.analysis.ParsingCanceledException;
+import edu.hm.hafner.analysis.ParsingEvents;
 import edu.hm.hafner.analysis.ParsingException;
 import edu.hm.hafner.analysis.Priority;
 import edu.hm.hafner.analysis.XmlElementUtil;
@@ -45,7 +46,9 @@ public class StyleCopParser extends AbstractParser {
             DocumentBuilderFactory docBuilderFactory = DocumentBuilderFactory.newInstance();
 
             DocumentBuilder docBuilder = docBuilderFactory.newDocumentBuilder();
+            ParsingEvents.Event event = ParsingEvents.beginXmlDocument(this);
             Document doc = docBuilder.parse(new InputSource(reader));
+            event.end();
 
             // Pre v4.3 uses SourceAnalysisViolations as the parent node name
             NodeList mainNode = doc.getElementsByTagName("SourceAnalysisViolations");
@@ -68,6 +71,7 @@ public class StyleCopParser extends AbstractParser {
     private Issues<Issue> parseViolations(final List<Element> elements, final IssueBuilder builder) {
         Issues<Issue> warnings = new Issues<>();
         for (Element element : elements) {
+            checkCanceled();
             builder.setFileName(getString(element, "Source"))
                     .setLineStart(getLineNumber(element))
                     .setCategory(getCategory(element))
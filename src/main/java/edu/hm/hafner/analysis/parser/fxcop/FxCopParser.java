@@ -18,24 +18,19 @@ import edu.hm.hafner.analysis.Issue;
 import edu.hm.hafner.analysis.IssueBuilder;
 import edu.hm.hafner.analysis.Issues;
 import edu.hm.hafner.analysis.ParsingCanceledException;
+import edu.hm.hafner.analysis.ParsingEvents;
 import edu.hm.hafner.analysis.ParsingException;
 import edu.hm.hafner.analysis.Priority;
 import edu.hm.hafner.analysis.XmlElementUtil;
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 /**
  * Parses a fxcop xml report file. This does not uses the XML Pull parser as it can not handle the FxCop XML files. The
- * bug is registered at Sun as http: //bugs.sun.com/bugdatabase/view_bug.do?bug_id=4508058 <p> Note that instances of
- * this parser are not thread safe. </p>
+ * bug is registered at Sun as http: //bugs.sun.com/bugdatabase/view_bug.do?bug_id=4508058
  */
 @SuppressWarnings("unused")
 public class FxCopParser extends AbstractParser {
     private static final long serialVersionUID = -7208558002331355408L;
 
-    private transient FxCopRuleSet ruleSet;
-    @SuppressFBWarnings("SE")
-    private transient Issues<Issue> warnings;
-
     /**
      * Creates a new instance of {@link FxCopParser}.
      */
@@ -46,23 +41,23 @@ public class FxCopParser extends AbstractParser {
     @Override
     public Issues<Issue> parse(final Reader reader, final IssueBuilder builder) throws ParsingException, ParsingCanceledException {
         try {
-            ruleSet = new FxCopRuleSet();
-            warnings = new Issues<>();
-
             DocumentBuilderFactory docBuilderFactory = DocumentBuilderFactory.newInstance();
             DocumentBuilder docBuilder;
             docBuilder = docBuilderFactory.newDocumentBuilder();
 
+            ParsingEvents.Event event = ParsingEvents.beginXmlDocument(this);
             Document doc = docBuilder.parse(new InputSource(reader));
+            event.end();
 
             NodeList mainNode = doc.getElementsByTagName("FxCopReport");
 
             Element rootElement = (Element)mainNode.item(0);
-            parseRules(XmlElementUtil.getFirstElementByTagName(rootElement, "Rules"), builder);
-            parseNamespaces(XmlElementUtil.getFirstElementByTagName(rootElement, "Namespaces"), null, builder);
-            parseTargets(XmlElementUtil.getFirstElementByTagName(rootElement, "Targets"), builder);
+            Report report = new Report();
+            report.parseRules(XmlElementUtil.getFirstElementByTagName(rootElement, "Rules"), builder);
+            report.parseNamespaces(XmlElementUtil.getFirstElementByTagName(rootElement, "Namespaces"), null, builder);
+            report.parseTargets(XmlElementUtil.getFirstElementByTagName(rootElement, "Targets"), builder);
 
-            return warnings;
+            return report.warnings;
         }
         catch (IOException | ParserConfigurationException | SAXException e) {
             throw new ParsingException(e);
@@ -72,169 +67,179 @@ public class FxCopParser extends AbstractParser {
         }
     }
 
-    private void parseRules(final Element rulesElement, final IssueBuilder builder) {
-        if (rulesElement != null) {
-            for (Element rule : XmlElementUtil.getNamedChildElements(rulesElement, "Rule")) {
-                ruleSet.addRule(rule);
-            }
+    private String getString(final Element element, final String name) {
+        if (element.hasAttribute(name)) {
+            return element.getAttribute(name);
+        }
+        else {
+            return "";
         }
     }
 
-    private void parseTargets(final Element targetsElement, final IssueBuilder builder) {
-        if (targetsElement != null) {
-            for (Element target : XmlElementUtil.getNamedChildElements(targetsElement, "Target")) {
-                String name = getString(target, "Name");
-                parseMessages(XmlElementUtil.getFirstElementByTagName(target, "Messages"), name, builder);
-                parseModules(XmlElementUtil.getFirstElementByTagName(target, "Modules"), name, builder);
-                parseResources(XmlElementUtil.getFirstElementByTagName(target, "Resources"), name, builder);
-            }
+    private Priority getPriority(final String issueLevel) {
+        if (issueLevel.contains("CriticalError")) {
+            return Priority.HIGH;
+        }
+        else if (issueLevel.contains("Error")) {
+            return Priority.HIGH;
+        }
+        else if (issueLevel.contains("CriticalWarning")) {
+            return Priority.HIGH;
+        }
+        else if (issueLevel.contains("Warning")) {
+            return Priority.NORMAL;
+        }
+        else {
+            return Priority.LOW;
         }
     }
 
-    private void parseResources(final Element resources, final String parentName, final IssueBuilder builder) {
-        if (resources != null) {
-            for (Element target : XmlElementUtil.getNamedChildElements(resources, "Resource")) {
-                String name = getString(target, "Name");
-                parseMessages(XmlElementUtil.getFirstElementByTagName(target, "Messages"), name, builder);
+    /**
+     * The rules and warnings of the parsed report.
+     */
+    private class Report {
+        private final FxCopRuleSet ruleSet = new FxCopRuleSet();
+        private final Issues<Issue> warnings = new Issues<>();
+
+        private void parseRules(final Element rulesElement, final IssueBuilder builder) {
+            if (rulesElement != null) {
+                for (Element rule : XmlElementUtil.getNamedChildElements(rulesElement, "Rule")) {
+                    ruleSet.addRule(rule);
+                }
             }
         }
-    }
 
-    private void parseModules(final Element modulesElement, final String parentName, final IssueBuilder builder) {
-        if (modulesElement != null) {
-            for (Element module : XmlElementUtil.getNamedChildElements(modulesElement, "Module")) {
-                String name = getString(module, "Name");
-                parseMessages(XmlElementUtil.getFirstElementByTagName(module, "Messages"), name, builder);
-                parseNamespaces(XmlElementUtil.getFirstElementByTagName(module, "Namespaces"), name, builder);
+        private void parseTargets(final Element targetsElement, final IssueBuilder builder) {
+            if (targetsElement != null) {
+                for (Element target : XmlElementUtil.getNamedChildElements(targetsElement, "Target")) {
+                    String name = getString(target, "Name");
+                    parseMessages(XmlElementUtil.getFirstElementByTagName(target, "Messages"), name, builder);
+                    parseModules(XmlElementUtil.getFirstElementByTagName(target, "Modules"), name, builder);
+                    parseResources(XmlElementUtil.getFirstElementByTagName(target, "Resources"), name, builder);
+                }
             }
         }
-    }
 
-    private void parseNamespaces(final Element namespacesElement, final String parentName, final IssueBuilder builder) {
-        if (namespacesElement != null) {
-            for (Element namespace : XmlElementUtil.getNamedChildElements(namespacesElement, "Namespace")) {
-                String name = getString(namespace, "Name");
+        private void parseResources(final Element resources, final String parentName, final IssueBuilder builder) {
+            if (resources != null) {
+                for (Element target : XmlElementUtil.getNamedChildElements(resources, "Resource")) {
+                    String name = getString(target, "Name");
+                    parseMessages(XmlElementUtil.getFirstElementByTagName(target, "Messages"), name, builder);
+                }
+            }
+        }
 
-                parseMessages(XmlElementUtil.getFirstElementByTagName(namespace, "Messages"), name, builder);
-                parseTypes(XmlElementUtil.getFirstElementByTagName(namespace, "Types"), name, builder);
+        private void parseModules(final Element modulesElement, final String parentName, final IssueBuilder builder) {
+            if (modulesElement != null) {
+                for (Element module : XmlElementUtil.getNamedChildElements(modulesElement, "Module")) {
+                    String name = getString(module, "Name");
+                    parseMessages(XmlElementUtil.getFirstElementByTagName(module, "Messages"), name, builder);
+                    parseNamespaces(XmlElementUtil.getFirstElementByTagName(module, "Namespaces"), name, builder);
+                }
             }
         }
-    }
 
-    private void parseTypes(final Element typesElement, final String parentName, final IssueBuilder builder) {
-        if (typesElement != null) {
-            for (Element type : XmlElementUtil.getNamedChildElements(typesElement, "Type")) {
-                String name = parentName + "." + getString(type, "Name");
+        private void parseNamespaces(final Element namespacesElement, final String parentName,
+                final IssueBuilder builder) {
+            if (namespacesElement != null) {
+                for (Element namespace : XmlElementUtil.getNamedChildElements(namespacesElement, "Namespace")) {
+                    String name = getString(namespace, "Name");
 
-                parseMessages(XmlElementUtil.getFirstElementByTagName(type, "Messages"), name, builder);
-                parseMembers(XmlElementUtil.getFirstElementByTagName(type, "Members"), name, builder);
+                    parseMessages(XmlElementUtil.getFirstElementByTagName(namespace, "Messages"), name, builder);
+                    parseTypes(XmlElementUtil.getFirstElementByTagName(namespace, "Types"), name, builder);
+                }
             }
         }
-    }
 
-    private void parseMembers(final Element membersElement, final String parentName,
-            final IssueBuilder builder) {
-        if (membersElement != null) {
-            for (Element member : XmlElementUtil.getNamedChildElements(membersElement, "Member")) {
-                parseMember(member, parentName, builder);
+        private void parseTypes(final Element typesElement, final String parentName, final IssueBuilder builder) {
+            if (typesElement != null) {
+                for (Element type : XmlElementUtil.getNamedChildElements(typesElement, "Type")) {
+                    String name = parentName + "." + getString(type, "Name");
+
+                    parseMessages(XmlElementUtil.getFirstElementByTagName(type, "Messages"), name, builder);
+                    parseMembers(XmlElementUtil.getFirstElementByTagName(type, "Members"), name, builder);
+                }
             }
         }
-    }
 
-    private void parseAccessors(final Element accessorsElement, final String parentName,
-            final IssueBuilder builder) {
-        if (accessorsElement != null) {
-            for (Element member : XmlElementUtil.getNamedChildElements(accessorsElement, "Accessor")) {
-                parseMember(member, parentName, builder);
+        private void parseMembers(final Element membersElement, final String parentName,
+                final IssueBuilder builder) {
+            if (membersElement != null) {
+                for (Element member : XmlElementUtil.getNamedChildElements(membersElement, "Member")) {
+                    parseMember(member, parentName, builder);
+                }
             }
         }
-    }
-
-    private void parseMember(final Element member, final String parentName,
-            final IssueBuilder builder) {
-        parseMessages(XmlElementUtil.getFirstElementByTagName(member, "Messages"), parentName, builder);
-        parseAccessors(XmlElementUtil.getFirstElementByTagName(member, "Accessors"), parentName, builder);
-    }
-
-    private void parseMessages(final Element messages, final String parentName,
-            final IssueBuilder builder) {
-        parseMessages(messages, parentName, null, builder);
-    }
 
-    private void parseMessages(final Element messages, final String parentName, final String subName,
-            final IssueBuilder builder) {
-        if (messages != null) {
-            for (Element message : XmlElementUtil.getNamedChildElements(messages, "Message")) {
-                for (Element issue : XmlElementUtil.getNamedChildElements(message, "Issue")) {
-                    parseIssue(issue, message, parentName, subName, builder);
+        private void parseAccessors(final Element accessorsElement, final String parentName,
+                final IssueBuilder builder) {
+            if (accessorsElement != null) {
+                for (Element member : XmlElementUtil.getNamedChildElements(accessorsElement, "Accessor")) {
+                    parseMember(member, parentName, builder);
                 }
             }
         }
-    }
-
-    private void parseIssue(final Element issue, final Element parent, final String parentName, final String subName,
-            final IssueBuilder builder) {
-        String typeName = getString(parent, "TypeName");
-        String category = getString(parent, "Category");
-        String checkId = getString(parent, "CheckId");
-        String issueLevel = getString(issue, "Level");
 
-        StringBuilder msgBuilder = new StringBuilder();
-        if (subName != null) {
-            msgBuilder.append(subName);
-            msgBuilder.append(' ');
+        private void parseMember(final Element member, final String parentName,
+                final IssueBuilder builder) {
+            parseMessages(XmlElementUtil.getFirstElementByTagName(member, "Messages"), parentName, builder);
+            parseAccessors(XmlElementUtil.getFirstElementByTagName(member, "Accessors"), parentName, builder);
         }
-        FxCopRule rule = ruleSet.getRule(category, checkId);
-        if (rule == null) {
-            msgBuilder.append(typeName);
-        }
-        else {
-            msgBuilder.append("<a href=\"");
-            msgBuilder.append(rule.getUrl());
-            msgBuilder.append("\">");
-            msgBuilder.append(typeName);
-            msgBuilder.append("</a>");
-        }
-        msgBuilder.append(" - ");
-        msgBuilder.append(issue.getTextContent());
-
-        String filePath = getString(issue, "Path");
-        String fileName = getString(issue, "File");
-        String fileLine = getString(issue, "Line");
-
-        builder.setFileName(filePath + "/" + fileName).setLineStart(parseInt(fileLine))
-                                      .setCategory(category).setMessage(msgBuilder.toString())
-                                      .setPriority(getPriority(issueLevel));
-        if (rule != null) {
-            builder.setDescription(rule.getDescription());
-        }
-        warnings.add(builder.build());
-    }
 
-    private String getString(final Element element, final String name) {
-        if (element.hasAttribute(name)) {
-            return element.getAttribute(name);
-        }
-        else {
-            return "";
+        private void parseMessages(final Element messages, final String parentName,
+                final IssueBuilder builder) {
+            parseMessages(messages, parentName, null, builder);
         }
-    }
 
-    private Priority getPriority(final String issueLevel) {
-        if (issueLevel.contains("CriticalError")) {
-            return Priority.HIGH;
-        }
-        else if (issueLevel.contains("Error")) {
-            return Priority.HIGH;
-        }
-        else if (issueLevel.contains("CriticalWarning")) {
-            return Priority.HIGH;
-        }
-        else if (issueLevel.contains("Warning")) {
-            return Priority.NORMAL;
+        private void parseMessages(final Element messages, final String parentName, final String subName,
+                final IssueBuilder builder) {
+            if (messages != null) {
+                for (Element message : XmlElementUtil.getNamedChildElements(messages, "Message")) {
+                    for (Element issue : XmlElementUtil.getNamedChildElements(message, "Issue")) {
+                        checkCanceled();
+                        parseIssue(issue, message, parentName, subName, builder);
+                    }
+                }
+            }
         }
-        else {
-            return Priority.LOW;
+
+        private void parseIssue(final Element issue, final Element parent, final String parentName,
+                final String subName, final IssueBuilder builder) {
+            String typeName = getString(parent, "TypeName");
+            String category = getString(parent, "Category");
+            String checkId = getString(parent, "CheckId");
+            String issueLevel = getString(issue, "Level");
+
+            StringBuilder msgBuilder = new StringBuilder();
+            if (subName != null) {
+                msgBuilder.append(subName);
+                msgBuilder.append(' ');
+            }
+            FxCopRule rule = ruleSet.getRule(category, checkId);
+            if (rule == null) {
+                msgBuilder.append(typeName);
+            }
+            else {
+                msgBuilder.append("<a href=\"");
+                msgBuilder.append(rule.getUrl());
+                msgBuilder.append("\">");
+                msgBuilder.append(typeName);
+                msgBuilder.append("</a>");
+            }
+            msgBuilder.append(" - ");
+            msgBuilder.append(issue.getTextContent());
+
+            String filePath = getString(issue, "Path");
+            String fileName = getString(issue, "File");
+            String fileLine = getString(issue, "Line");
+
+            builder.setFileName(filePath + "/" + fileName).setLineStart(parseInt(fileLine))
+                                          .setCategory(category).setMessage(msgBuilder.toString())
+                                          .setPriority(getPriority(issueLevel));
+            if (rule != null) {
+                builder.setDescription(rule.getDescription());
+            }
+            warnings.add(builder.build());
         }
     }
 }
@@ -26,6 +26,7 @@ import edu.hm.hafner.analysis.Issue;
 import edu.hm.hafner.analysis.IssueBuilder;
 import edu.hm.hafner.analysis.Issues;
 import edu.hm.hafner.analysis.ParsingCanceledException;
+import edu.hm.hafner.analysis.ParsingEvents;
 import edu.hm.hafner.analysis.ParsingException;
 import edu.hm.hafner.analysis.Priority;
 import edu.hm.hafner.analysis.XmlElementUtil;
@@ -52,7 +53,9 @@ public class GendarmeParser extends AbstractParser {
         try {
             DocumentBuilderFactory docBuilderFactory = DocumentBuilderFactory.newInstance();
             DocumentBuilder docBuilder = docBuilderFactory.newDocumentBuilder();
+            ParsingEvents.Event event = ParsingEvents.beginXmlDocument(this);
             Document doc = docBuilder.parse(new InputSource(reader));
+            event.end();
 
             NodeList mainNode = doc.getElementsByTagName("gendarme-output");
 
@@ -80,6 +83,7 @@ public class GendarmeParser extends AbstractParser {
 
             GendarmeRule rule = rules.get(ruleName);
             for (Element targetElement : targetElements) {
+                checkCanceled();
                 Element defectElement = (Element)targetElement.getElementsByTagName("defect").item(0);
                 String source = defectElement.getAttribute("Source");
 
@@ -15,6 +15,7 @@ import edu.hm.hafner.analysis.Issue;
 import edu.hm.hafner.analysis.IssueBuilder;
 import edu.hm.hafner.analysis.Issues;
 import edu.hm.hafner.analysis.ParsingCanceledException;
+import edu.hm.hafner.analysis.ParsingEvents;
 import edu.hm.hafner.analysis.ParsingException;
 import edu.hm.hafner.analysis.Priority;
 
@@ -41,6 +42,7 @@ public class JcReportParser extends AbstractParser {
             File file = report.getFiles().get(i);
 
             for (int j = 0; j < file.getItems().size(); j++) {
+                checkCanceled();
                 Item item = file.getItems().get(j);
                 builder.setFileName(file.getName())
                         .setLineStart(parseInt(item.getLine()))
@@ -103,7 +105,10 @@ public class JcReportParser extends AbstractParser {
             digesterLoader.setClassLoader(JcReportModule.class.getClassLoader());
 
             Digester digester = digesterLoader.newDigester();
-            return digester.parse(new InputSource(source));
+            ParsingEvents.Event event = ParsingEvents.beginXmlDocument(this);
+            Report report = digester.parse(new InputSource(source));
+            event.end();
+            return report;
         }
         catch (IOException | SAXException e) {
             throw new ParsingException(e);
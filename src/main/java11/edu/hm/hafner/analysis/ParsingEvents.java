@@ -0,0 +1,252 @@
+package edu.hm.hafner.analysis;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Emits events for the JDK Flight Recorder (JFR) while parsing reports and computing fingerprints. The events show
+ * which parser and which file or line consumed the time of a build. <p> This implementation is used on Java 11 and
+ * newer, it replaces the Java 8 implementation that does not emit any events. The events are created only if they are
+ * enabled in a running recording. </p>
+ *
+ * @author Ullrich Hafner
+ */
+public final class ParsingEvents {
+    private static final String CATEGORY = "Analysis Model";
+
+    private static final EventType PARSE = EventType.getEventType(ParseEvent.class);
+    private static final EventType MATCH = EventType.getEventType(MatchEvent.class);
+    private static final EventType FINGERPRINT = EventType.getEventType(FingerprintEvent.class);
+    private static final EventType FINGERPRINT_BATCH = EventType.getEventType(FingerprintBatchEvent.class);
+    private static final EventType XML_DOCUMENT = EventType.getEventType(XmlDocumentEvent.class);
+
+    /**
+     * A running event that will be committed to the recording when it ends.
+     */
+    @FunctionalInterface
+    public interface Event {
+        /** Event that does nothing, returned if events are not recorded. */
+        Event NONE = count -> {
+            // nothing to do
+        };
+
+        /**
+         * Ends this event.
+         *
+         * @param count
+         *         the number of processed items: the created issues of a parse, the computed fingerprints of a
+         *         fingerprint batch, or 1 if a regular expression found a match
+         */
+        void end(int count);
+
+        /**
+         * Ends this event that did not process a number of items.
+         */
+        default void end() {
+            end(0);
+        }
+    }
+
+    private ParsingEvents() {
+        // prevents instantiation
+    }
+
+    /**
+     * Begins the parsing of a file.
+     *
+     * @param parser
+     *         the parser
+     * @param fileName
+     *         the name of the parsed file
+     *
+     * @return the running event, end it with the number of created issues
+     */
+    public static Event beginParse(final AbstractParser parser, final String fileName) {
+        if (!PARSE.isEnabled()) {
+            return Event.NONE;
+        }
+
+        ParseEvent event = new ParseEvent();
+        event.parser = parser.getClass().getName();
+        event.fileName = fileName;
+        event.begin();
+        return count -> {
+            event.end();
+            if (event.shouldCommit()) {
+                event.issues = count;
+                event.commit();
+            }
+        };
+    }
+
+    /**
+     * Returns whether single regular expression matches are recorded. Since matches are the hot path of the parsers,
+     * callers should check this value before calling {@link #beginMatch(AbstractParser, int)}.
+     *
+     * @return {@code true} if matches are recorded, {@code false} otherwise
+     */
+    public static boolean isMatchRecorded() {
+        return MATCH.isEnabled();
+    }
+
+    /**
+     * Begins the search for the next match of a regular expression. Only slow matches are committed to the recording.
+     *
+     * @param parser
+     *         the parser
+     * @param line
+     *         the line of the input that is searched, or -1 if the whole input is searched
+     *
+     * @return the running event, end it with 1 if a match has been found, or 0 otherwise
+     */
+    public static Event beginMatch(final AbstractParser parser, final int line) {
+        if (!MATCH.isEnabled()) {
+            return Event.NONE;
+        }
+
+        MatchEvent event = new MatchEvent();
+        event.begin();
+        return count -> {
+            event.end();
+            if (event.shouldCommit()) {
+                event.parser = parser.getClass().getName();
+                event.line = line;
+                event.found = count > 0;
+                event.commit();
+            }
+        };
+    }
+
+    /**
+     * Begins the computation of the fingerprints of a batch of issues.
+     *
+     * @return the running event, end it with the number of computed fingerprints
+     */
+    public static Event beginFingerprintBatch() {
+        if (!FINGERPRINT_BATCH.isEnabled()) {
+            return Event.NONE;
+        }
+
+        FingerprintBatchEvent event = new FingerprintBatchEvent();
+        event.begin();
+        return count -> {
+            event.end();
+            if (event.shouldCommit()) {
+                event.fingerprints = count;
+                event.commit();
+            }
+        };
+    }
+
+    /**
+     * Begins the computation of the fingerprint of an issue. Only slow computations are committed to the recording.
+     *
+     * @param fileName
+     *         the name of the affected file
+     * @param line
+     *         the line of the issue
+     *
+     * @return the running event, end it when the fingerprint has been computed
+     */
+    public static Event beginFingerprint(final String fileName, final int line) {
+        if (!FINGERPRINT.isEnabled()) {
+            return Event.NONE;
+        }
+
+        FingerprintEvent event = new FingerprintEvent();
+        event.begin();
+        return count -> {
+            event.end();
+            if (event.shouldCommit()) {
+                event.fileName = fileName;
+                event.line = line;
+                event.commit();
+            }
+        };
+    }
+
+    /**
+     * Begins the loading of an XML document.
+     *
+     * @param parser
+     *         the parser that loads the document
+     *
+     * @return the running event, end it when the document has been loaded
+     */
+    public static Event beginXmlDocument(final AbstractParser parser) {
+        if (!XML_DOCUMENT.isEnabled()) {
+            return Event.NONE;
+        }
+
+        XmlDocumentEvent event = new XmlDocumentEvent();
+        event.parser = parser.getClass().getName();
+        event.begin();
+        return count -> {
+            event.end();
+            if (event.shouldCommit()) {
+                event.commit();
+            }
+        };
+    }
+
+    @Name("edu.hm.hafner.analysis.Parse")
+    @Label("Parse Report")
+    @Description("Parsing of a report file")
+    @Category(CATEGORY)
+    static final class ParseEvent extends jdk.jfr.Event {
+        @Label("Parser")
+        String parser;
+        @Label("File")
+        String fileName;
+        @Label("Issues")
+        int issues;
+    }
+
+    @Name("edu.hm.hafner.analysis.Match")
+    @Label("Slow Match")
+    @Description("Search for the next match of the regular expression of a parser")
+    @Category(CATEGORY)
+    @Threshold("10 ms")
+    static final class MatchEvent extends jdk.jfr.Event {
+        @Label("Parser")
+        String parser;
+        @Label("Line")
+        int line;
+        @Label("Found")
+        boolean found;
+    }
+
+    @Name("edu.hm.hafner.analysis.Fingerprint")
+    @Label("Fingerprint")
+    @Description("Computation of the fingerprint of an issue")
+    @Category(CATEGORY)
+    @Threshold("10 ms")
+    static final class FingerprintEvent extends jdk.jfr.Event {
+        @Label("File")
+        String fileName;
+        @Label("Line")
+        int line;
+    }
+
+    @Name("edu.hm.hafner.analysis.FingerprintBatch")
+    @Label("Fingerprint Batch")
+    @Description("Computation of the fingerprints of a batch of issues")
+    @Category(CATEGORY)
+    static final class FingerprintBatchEvent extends jdk.jfr.Event {
+        @Label("Fingerprints")
+        int fingerprints;
+    }
+
+    @Name("edu.hm.hafner.analysis.XmlDocument")
+    @Label("Load XML Document")
+    @Description("Loading of the XML document of a report")
+    @Category(CATEGORY)
+    static final class XmlDocumentEvent extends jdk.jfr.Event {
+        @Label("Parser")
+        String parser;
+    }
+}
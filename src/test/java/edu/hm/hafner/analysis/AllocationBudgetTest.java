@@ -0,0 +1,146 @@
+package edu.hm.hafner.analysis;
+
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
+
+/**
+ * Verifies that the hot paths of the parsers do not allocate more memory than recorded in their budgets. The
+ * allocated bytes are obtained from the per-thread allocation counter of the JVM. Each operation is warmed up and
+ * measured several times, the smallest result is compared with the budget. <p> The budgets contain some headroom for
+ * different JVMs and JIT decisions. If a change legitimately needs more memory, then record the new budget. If a change
+ * reduces the allocations significantly, then lower the budget, so that the improvement is kept. </p>
+ *
+ * @author Ullrich Hafner
+ */
+class AllocationBudgetTest {
+    /**
+     * Budget of {@link RegexpLineParser} for each line of a typical log, 1 of 10 lines contains a warning (recorded:
+     * 362 bytes).
+     */
+    private static final long BYTES_PER_LINE = 450;
+    /** Budget of {@link IssueBuilder#build()} for each issue (recorded: 112 bytes). */
+    private static final long BYTES_PER_ISSUE = 150;
+    /** Budget of {@link Issues#add(Issue)} for each issue, including the growth of the storage (recorded: 90 bytes). */
+    private static final long BYTES_PER_ADD = 120;
+
+    private static final int LINES = 10_000;
+    private static final int ISSUES = 10_000;
+    private static final int ROUNDS = 5;
+
+    private com.sun.management.ThreadMXBean threads;
+
+    @BeforeEach
+    void initializeCounter() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean, "No allocation counter available");
+        threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "No allocation counter available");
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Test
+    void shouldParseLinesWithinBudget() {
+        String log = createLog();
+        TestParser parser = new TestParser();
+
+        long bytes = measure(() -> {
+            Issues<Issue> issues = parser.parse(new StringReader(log));
+            assertThat(issues.size()).isEqualTo(LINES / 10);
+        });
+
+        assertThat(bytes / LINES).as("Allocated bytes per parsed line").isLessThanOrEqualTo(BYTES_PER_LINE);
+    }
+
+    private String createLog() {
+        StringBuilder log = new StringBuilder();
+        for (int line = 0; line < LINES; line++) {
+            if (line % 10 == 0) {
+                log.append(String.format("src/main/java/Module%d.java:%d: warning: unused variable 'v%d'%n",
+                        line % 50, line, line));
+            }
+            else {
+                log.append(String.format("[INFO] Compiling %d source files to /workspace/target/classes%n", line));
+            }
+        }
+        return log.toString();
+    }
+
+    @Test
+    void shouldBuildIssuesWithinBudget() {
+        IssueBuilder builder = new IssueBuilder().setFileName("src/main/java/File.java")
+                .setCategory("category").setType("type").setMessage("message");
+
+        long bytes = measure(() -> {
+            for (int line = 0; line < ISSUES; line++) {
+                builder.setLineStart(line).build();
+            }
+        });
+
+        assertThat(bytes / ISSUES).as("Allocated bytes per built issue").isLessThanOrEqualTo(BYTES_PER_ISSUE);
+    }
+
+    @Test
+    void shouldAddIssuesWithinBudget() {
+        IssueBuilder builder = new IssueBuilder().setFileName("src/main/java/File.java").setMessage("message");
+        List<Issue> created = new ArrayList<>();
+        for (int line = 0; line < ISSUES; line++) {
+            created.add(builder.setLineStart(line).build());
+        }
+
+        long bytes = measure(() -> {
+            Issues<Issue> issues = new Issues<>();
+            for (Issue issue : created) {
+                issues.add(issue);
+            }
+            issues.add(created.get(0)); // duplicates are counted only
+        });
+
+        assertThat(bytes / ISSUES).as("Allocated bytes per added issue").isLessThanOrEqualTo(BYTES_PER_ADD);
+    }
+
+    /**
+     * Runs the operation several times and returns the smallest number of bytes that have been allocated by a single
+     * run.
+     */
+    private long measure(final Runnable operation) {
+        long thread = Thread.currentThread().getId();
+        long minimum = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS * 2; round++) {
+            long start = threads.getThreadAllocatedBytes(thread);
+            operation.run();
+            long allocated = threads.getThreadAllocatedBytes(thread) - start;
+            if (round >= ROUNDS) { // the first rounds are used to warm up
+                minimum = Math.min(minimum, allocated);
+            }
+        }
+        return minimum;
+    }
+
+    /**
+     * A parser that creates an issue for each GCC warning.
+     */
+    private static class TestParser extends RegexpLineParser {
+        private static final long serialVersionUID = 1L;
+
+        TestParser() {
+            super("^(.*):(\\d+): warning: (.*)$");
+        }
+
+        @Override
+        protected Issue createWarning(final Matcher matcher, final IssueBuilder builder) {
+            return builder.setFileName(matcher.group(1))
+                    .setLineStart(Integer.parseInt(matcher.group(2)))
+                    .setMessage(matcher.group(3))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package edu.hm.hafner.analysis;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link ChangedLines}.
+ *
+ * @author Ullrich Hafner
+ */
+class ChangedLinesTest {
+    private static final String DIFF = "diff --git a/src/Foo.java b/src/Foo.java\n"
+            + "index 1234567..89abcde 100644\n"
+            + "--- a/src/Foo.java\n"
+            + "+++ b/src/Foo.java\n"
+            + "@@ -10,6 +10,7 @@ public class Foo {\n"
+            + " context 10\n"
+            + "-removed 11\n"
+            + "--- removed line that looks like a header\n"
+            + "+added 11\n"
+            + "+added 12\n"
+            + "+++ added line that looks like a header 13\n"
+            + " context 14\n"
+            + " context 15\n"
+            + " context 16\n"
+            + "@@ -50 +51,2 @@\n"
+            + "-old 50\n"
+            + "+new 51\n"
+            + "+new 52\n"
+            + "\\ No newline at end of file\n"
+            + "diff --git a/src/Deleted.java b/src/Deleted.java\n"
+            + "deleted file mode 100644\n"
+            + "--- a/src/Deleted.java\n"
+            + "+++ /dev/null\n"
+            + "@@ -1,2 +0,0 @@\n"
+            + "-line 1\n"
+            + "-line 2\n"
+            + "diff --git a/other/Bar.java b/other/Bar.java\n"
+            + "--- a/other/Bar.java\t2017-01-01 10:00:00\n"
+            + "+++ b/other/Bar.java\t2017-01-02 10:00:00\n"
+            + "@@ -1,2 +1,2 @@\n"
+            + "-old 1\n"
+            + "+new 1\n"
+            + " context 2\n";
+
+    @Test
+    void shouldReadChangedLinesOfUnifiedDiff() throws IOException {
+        ChangedLines changedLines = ChangedLines.fromUnifiedDiff(new StringReader(DIFF));
+
+        assertThat(changedLines.getFiles()).containsExactlyInAnyOrder("src/Foo.java", "other/Bar.java");
+        assertThat(changedLines.getSize()).isEqualTo(6);
+
+        assertThat(changedLines.isChanged("src/Foo.java", 10, 10)).isFalse();
+        assertThat(changedLines.isChanged("src/Foo.java", 11, 11)).isTrue();
+        assertThat(changedLines.isChanged("src/Foo.java", 13, 13)).isTrue();
+        assertThat(changedLines.isChanged("src/Foo.java", 14, 50)).isFalse();
+        assertThat(changedLines.isChanged("src/Foo.java", 14, 51)).isTrue();
+        assertThat(changedLines.isChanged("src/Foo.java", 52, 52)).isTrue();
+        assertThat(changedLines.isChanged("src/Foo.java", 53, 100)).isFalse();
+        assertThat(changedLines.isChanged("other/Bar.java", 1, 1)).isTrue();
+        assertThat(changedLines.isChanged("other/Bar.java", 2, 2)).isFalse();
+        assertThat(changedLines.isChanged("src/Deleted.java", 1, 1)).isFalse();
+    }
+
+    @Test
+    void shouldMatchAbsoluteFileNamesOfIssues() throws IOException {
+        ChangedLines changedLines = ChangedLines.fromUnifiedDiff(new StringReader(DIFF));
+
+        assertThat(changedLines.isChanged("/workspace/project/src/Foo.java", 11, 11)).isTrue();
+        assertThat(changedLines.isChanged("C:\\workspace\\src\\Foo.java", 11, 11)).isTrue();
+        assertThat(changedLines.isChanged("/workspace/project/mysrc/Foo.java", 11, 11)).isFalse();
+        assertThat(changedLines.isChanged("/workspace/project/src/Bar.java", 1, 1)).isFalse();
+    }
+
+    @Test
+    void shouldFilterIssues() throws IOException {
+        ChangedLines changedLines = ChangedLines.fromUnifiedDiff(new StringReader(DIFF));
+
+        IssueBuilder builder = new IssueBuilder();
+        Issue changed = builder.setFileName("/workspace/src/Foo.java").setLineStart(8).setLineEnd(12).build();
+        Issue unchanged = builder.setFileName("/workspace/src/Foo.java").setLineStart(14).setLineEnd(16).build();
+        Issue noLine = builder.setFileName("/workspace/src/Foo.java").setLineStart(0).setLineEnd(0).build();
+        Issue otherFile = builder.setFileName("/workspace/other/Bar.java").setLineStart(1).setLineEnd(1).build();
+        Issues<Issue> issues = new Issues<>();
+        issues.add(changed, unchanged, noLine, otherFile);
+
+        assertThat(changedLines.filter(issues)).containsExactly(changed, otherFile);
+    }
+
+    @Test
+    void shouldMergeRangesOfFilesThatOccurSeveralTimes() throws IOException {
+        String diff = "+++ b/Foo.java\n"
+                + "@@ -20,0 +20,2 @@\n"
+                + "+20\n"
+                + "+21\n"
+                + "+++ b/Foo.java\n"
+                + "@@ -5,0 +5,1 @@\n"
+                + "+5\n"
+                + "@@ -19,0 +19,2 @@\n"
+                + "+19\n"
+                + "+20\n";
+
+        ChangedLines changedLines = ChangedLines.fromUnifiedDiff(new StringReader(diff));
+
+        assertThat(changedLines.getSize()).isEqualTo(4);
+        assertThat(changedLines.isChanged("Foo.java", 5, 5)).isTrue();
+        assertThat(changedLines.isChanged("Foo.java", 6, 18)).isFalse();
+        assertThat(changedLines.isChanged("Foo.java", 21, 21)).isTrue();
+    }
+
+    @Test
+    void shouldHandleEmptyDiff() throws IOException {
+        ChangedLines changedLines = ChangedLines.fromUnifiedDiff(new StringReader(""));
+
+        assertThat(changedLines.getFiles()).isEmpty();
+        assertThat(changedLines.isChanged("Foo.java", 1, 100)).isFalse();
+    }
+}
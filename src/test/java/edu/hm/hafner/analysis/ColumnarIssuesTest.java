@@ -0,0 +1,188 @@
+package edu.hm.hafner.analysis;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.analysis.ColumnarIssues.Selection;
+import edu.hm.hafner.analysis.ColumnarIssues.StringColumn;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link ColumnarIssues} and {@link ColumnarIssuesWriter}.
+ *
+ * @author Ullrich Hafner
+ */
+class ColumnarIssuesTest {
+    private final List<Path> files = new ArrayList<>();
+
+    @AfterEach
+    void deleteFiles() throws IOException {
+        for (Path file : files) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void shouldReadAllPropertiesOfWrittenIssues() throws IOException {
+        Issues<Issue> issues = createIssues();
+
+        ColumnarIssues stored = write(issues);
+
+        assertThat(stored.size()).isEqualTo(issues.size());
+        assertThat(stored.isEmpty()).isFalse();
+        assertThat(stored).containsExactlyElementsOf(issues);
+        for (int i = 0; i < issues.size(); i++) {
+            Issue expected = issues.get(i);
+            Issue actual = stored.get(i);
+            assertThat(actual.getId()).isEqualTo(expected.getId());
+            assertThat(actual.getFingerprint()).isEqualTo(expected.getFingerprint());
+            assertThat(actual.getOrigin()).isEqualTo(expected.getOrigin());
+            assertThat(actual.getColumnEnd()).isEqualTo(expected.getColumnEnd());
+            assertThat(stored.getProperty(i, StringColumn.MESSAGE)).isEqualTo(expected.getMessage());
+        }
+    }
+
+    @Test
+    void shouldHandleEmptyIssues() throws IOException {
+        ColumnarIssues stored = write(new Issues<>());
+
+        assertThat(stored.isEmpty()).isTrue();
+        assertThat(stored).isEmpty();
+        assertThat(stored.select().count()).isEqualTo(0);
+        assertThat(stored.getProperties(StringColumn.FILE_NAME).isEmpty()).isTrue();
+    }
+
+    @Test
+    void shouldCountAndFilterWithoutCreatingIssues() throws IOException {
+        ColumnarIssues stored = write(createIssues());
+
+        assertThat(stored.getSizeOf(Priority.HIGH)).isEqualTo(2);
+        assertThat(stored.getSizeOf(Priority.NORMAL)).isEqualTo(1);
+        assertThat(stored.getSizeOf(Priority.LOW)).isEqualTo(1);
+
+        assertThat(stored.select().withPriority(Priority.HIGH).count()).isEqualTo(2);
+        assertThat(stored.select().with(StringColumn.FILE_NAME, "a.txt").count()).isEqualTo(3);
+        assertThat(stored.select().with(StringColumn.FILE_NAME, "a.txt").withPriority(Priority.HIGH).count())
+                .isEqualTo(1);
+        assertThat(stored.select().with(StringColumn.FILE_NAME, "unknown").count()).isEqualTo(0);
+        assertThat(stored.select().withLinesBetween(5, 12).count()).isEqualTo(2);
+
+        assertThat(stored.getProperties(StringColumn.FILE_NAME).castToSortedSet()).containsExactly("a.txt", "ü.txt");
+        assertThat(stored.getPropertyCount(StringColumn.CATEGORY))
+                .containsEntry("style", 3).containsEntry("bug", 1).hasSize(2);
+        assertThat(stored.select().withPriority(Priority.HIGH).getPropertyCount(StringColumn.FILE_NAME))
+                .containsEntry("a.txt", 1).containsEntry("ü.txt", 1).hasSize(2);
+    }
+
+    @Test
+    void shouldReturnPages() throws IOException {
+        Issues<Issue> issues = createIssues();
+        ColumnarIssues stored = write(issues);
+
+        Selection all = stored.select();
+        assertThat(all.page(0, 2)).containsExactly(issues.get(0), issues.get(1));
+        assertThat(all.page(2, 2)).containsExactly(issues.get(2), issues.get(3));
+        assertThat(all.page(4, 2)).isEmpty();
+        assertThat(stored.select().with(StringColumn.FILE_NAME, "a.txt").page(1, 5))
+                .containsExactly(issues.get(1), issues.get(3));
+        assertThat(stored.select().with(StringColumn.FILE_NAME, "a.txt")).hasSize(3);
+
+        assertThatThrownBy(() -> all.page(-1, 1)).isInstanceOf(AssertionError.class);
+        assertThatThrownBy(() -> stored.get(4)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void shouldRejectInvalidFiles() throws IOException {
+        Path file = createFile();
+        Files.write(file, "This is not a columnar issues file".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> new ColumnarIssues(file)).isInstanceOf(IOException.class);
+
+        Path truncated = createFile();
+        new ColumnarIssuesWriter().write(createIssues(), truncated);
+        byte[] content = Files.readAllBytes(truncated);
+        Files.write(truncated, Arrays.copyOf(content, content.length - 1));
+
+        assertThatThrownBy(() -> new ColumnarIssues(truncated)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void shouldRejectCorruptCells() throws IOException {
+        Issues<Issue> issues = createIssues();
+        Path valid = createFile();
+        new ColumnarIssuesWriter().write(issues, valid);
+        byte[] content = Files.readAllBytes(valid);
+        int size = issues.size();
+        int priorityColumn = content.length - 16 * size - size;
+        int stringColumns = priorityColumn - 16 * size - 4 * StringColumn.values().length * size;
+
+        byte[] invalidPriority = content.clone();
+        invalidPriority[priorityColumn + 1] = 42;
+        ColumnarIssues withInvalidPriority = new ColumnarIssues(write(invalidPriority));
+        assertThat(withInvalidPriority.size()).isEqualTo(size);
+        assertThat(withInvalidPriority.get(0)).isEqualTo(issues.get(0));
+        assertThatThrownBy(() -> withInvalidPriority.get(1)).isInstanceOf(UncheckedIOException.class)
+                .hasMessageContaining("invalid priority 42 in row 1");
+
+        byte[] invalidString = content.clone();
+        ByteBuffer.wrap(invalidString).putInt(stringColumns + 4 * 2, 1000);
+        ColumnarIssues withInvalidString = new ColumnarIssues(write(invalidString));
+        assertThat(withInvalidString.getProperty(1, StringColumn.FILE_NAME)).isEqualTo(issues.get(1).getFileName());
+        assertThatThrownBy(() -> withInvalidString.getProperty(2, StringColumn.FILE_NAME))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasMessageContaining("invalid string index 1000 in row 2");
+        assertThatThrownBy(() -> withInvalidString.getPropertyCount(StringColumn.FILE_NAME))
+                .isInstanceOf(UncheckedIOException.class);
+
+        byte[] invalidCounts = content.clone();
+        ByteBuffer.wrap(invalidCounts).putInt(16, size + 1);
+        assertThatThrownBy(() -> new ColumnarIssues(write(invalidCounts))).isInstanceOf(IOException.class)
+                .hasMessageContaining("priority counts");
+
+        byte[] invalidDictionary = content.clone();
+        ByteBuffer.wrap(invalidDictionary).putInt(ColumnarIssuesWriter.HEADER_SIZE, -1);
+        assertThatThrownBy(() -> new ColumnarIssues(write(invalidDictionary))).isInstanceOf(IOException.class)
+                .hasMessageContaining("invalid offset -1 of string 0");
+    }
+
+    private Path write(final byte[] content) throws IOException {
+        Path file = createFile();
+        Files.write(file, content);
+        return file;
+    }
+
+    private ColumnarIssues write(final Issues<Issue> issues) throws IOException {
+        Path file = createFile();
+        new ColumnarIssuesWriter().write(issues, file);
+        return new ColumnarIssues(file);
+    }
+
+    private Path createFile() throws IOException {
+        Path file = Files.createTempFile("columnar-issues", ".bin");
+        files.add(file);
+        return file;
+    }
+
+    private Issues<Issue> createIssues() {
+        IssueBuilder builder = new IssueBuilder().setCategory("style").setOrigin("checkstyle");
+        Issues<Issue> issues = new Issues<>();
+        issues.add(builder.setFileName("a.txt").setLineStart(1).setPriority(Priority.HIGH).setMessage("one").build());
+        issues.add(builder.setFileName("a.txt").setLineStart(10).setLineEnd(20).setPriority(Priority.NORMAL)
+                .setMessage("two").build());
+        issues.add(builder.setFileName("ü.txt").setLineStart(3).setLineEnd(0).setColumnStart(4).setColumnEnd(8)
+                .setPriority(Priority.HIGH).setMessage("three").build());
+        issues.add(builder.setFileName("a.txt").setLineStart(12).setColumnStart(0).setColumnEnd(0)
+                .setCategory("bug").setPriority(Priority.LOW).setMessage("four").build());
+        return issues;
+    }
+}
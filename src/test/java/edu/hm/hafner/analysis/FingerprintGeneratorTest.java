@@ -1,15 +1,15 @@
 package edu.hm.hafner.analysis;
 
-import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.net.URISyntaxException;
+import java.net.URL;
 import java.nio.charset.Charset;
-import java.util.stream.Stream;
+import java.nio.file.Paths;
 
 import org.junit.jupiter.api.Test;
 
-import edu.hm.hafner.analysis.FullTextFingerprint.FileSystem;
 import static edu.hm.hafner.analysis.assertj.Assertions.*;
 import edu.hm.hafner.util.SerializableTest;
-import static org.mockito.Mockito.*;
 
 /**
  * Tests the class {@link FingerprintGenerator}.
@@ -17,27 +17,26 @@ import static org.mockito.Mockito.*;
  * @author Ullrich Hafner
  */
 class FingerprintGeneratorTest extends SerializableTest {
-    private static final String AFFECTED_FILE_NAME = "file.txt";
     private static final Charset CHARSET_AFFECTED_FILE = Charset.forName("UTF-8");
-    private static final int ADDITIONAL_LINES = 5;
+    private static final String FINGERPRINT_ONE = "fingerprint-one.txt";
+    private static final String FINGERPRINT_TWO = "fingerprint-two.txt";
 
     @Test
     void shouldReturnCopyOfIssues() {
         FingerprintGenerator generator = new FingerprintGenerator();
 
         Issues<Issue> original = new Issues<>();
-        Issues<Issue> copy = generator.run(original, new IssueBuilder(), CHARSET_AFFECTED_FILE);
+        Issues<Issue> copy = generator.run(original, CHARSET_AFFECTED_FILE);
 
         assertThat(copy).isNotSameAs(original);
     }
 
     @Test
     void shouldAssignIdenticalFingerprint() {
-        Issues<Issue> issues = createTwoIssues();
-        FileSystem fileSystem = stubFileSystem("fingerprint-one.txt", "fingerprint-one.txt");
-        FingerprintGenerator generator = new FingerprintGenerator(fileSystem);
+        Issues<Issue> issues = createTwoIssues(FINGERPRINT_ONE, FINGERPRINT_ONE);
+        FingerprintGenerator generator = new FingerprintGenerator();
 
-        Issues<Issue> enhanced = generator.run(issues, new IssueBuilder(), CHARSET_AFFECTED_FILE);
+        Issues<Issue> enhanced = generator.run(issues, CHARSET_AFFECTED_FILE);
 
         Issue referenceIssue = enhanced.get(0);
         Issue currentIssue = enhanced.get(1);
@@ -51,25 +50,12 @@ class FingerprintGeneratorTest extends SerializableTest {
                 .isNotEqualTo("-");
     }
 
-    private FileSystem stubFileSystem(final String firstFile, final String secondFile) {
-        try {
-            FileSystem mock = mock(FileSystem.class);
-            when(mock.readLinesFromFile(AFFECTED_FILE_NAME, CHARSET_AFFECTED_FILE))
-                    .thenReturn(asStream(firstFile)).thenReturn(asStream(secondFile));
-            return mock;
-        }
-        catch (IOException e) {
-            throw new AssertionError(e);
-        }
-    }
-
     @Test
     void shouldAssignDifferentFingerprint() {
-        Issues<Issue> issues = createTwoIssues();
-        FileSystem fileSystem = stubFileSystem("fingerprint-one.txt", "fingerprint-two.txt");
-        FingerprintGenerator generator = new FingerprintGenerator(fileSystem);
+        Issues<Issue> issues = createTwoIssues(FINGERPRINT_ONE, FINGERPRINT_TWO);
+        FingerprintGenerator generator = new FingerprintGenerator();
 
-        Issues<Issue> enhanced = generator.run(issues, new IssueBuilder(), Charset.forName("UTF-8"));
+        Issues<Issue> enhanced = generator.run(issues, CHARSET_AFFECTED_FILE);
 
         Issue referenceIssue = enhanced.get(0);
         Issue currentIssue = enhanced.get(1);
@@ -78,17 +64,56 @@ class FingerprintGeneratorTest extends SerializableTest {
         assertThat(referenceIssue.getFingerprint()).isNotEqualTo(currentIssue.getFingerprint());
     }
 
-    private Issues<Issue> createTwoIssues() {
+    @Test
+    void shouldKeepIdsAndComputeFingerprintsOnDemand() {
+        Issues<Issue> issues = createTwoIssues(FINGERPRINT_ONE, FINGERPRINT_TWO);
+        SourceFileCache sourceFiles = new SourceFileCache();
+        FingerprintGenerator generator = new FingerprintGenerator(sourceFiles);
+
+        Issues<Issue> enhanced = generator.run(issues, CHARSET_AFFECTED_FILE);
+
+        assertThat(enhanced.get(0).getId()).isEqualTo(issues.get(0).getId());
+        assertThat(enhanced.get(1).getId()).isEqualTo(issues.get(1).getId());
+        assertThat(sourceFiles.size()).isEqualTo(0);
+
+        String fingerprint = enhanced.get(0).getFingerprint();
+
+        assertThat(fingerprint).isNotEmpty().isNotEqualTo("-");
+        assertThat(enhanced.get(0).getFingerprint()).isEqualTo(fingerprint);
+        assertThat(sourceFiles.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotKeepSourceFileCacheAlive() {
+        Issues<Issue> issues = createTwoIssues(FINGERPRINT_ONE, FINGERPRINT_TWO);
+        String expected = new FingerprintGenerator().run(issues, CHARSET_AFFECTED_FILE).get(0).getFingerprint();
+
+        WeakReference<SourceFileCache> sourceFiles = new WeakReference<>(new SourceFileCache());
+        Issues<Issue> enhanced = new FingerprintGenerator(sourceFiles.get()).run(issues, CHARSET_AFFECTED_FILE);
+
+        for (int i = 0; i < 100 && sourceFiles.get() != null; i++) {
+            System.gc();
+        }
+        assertThat(sourceFiles.get()).as("Deferred fingerprints must not keep the source file cache alive").isNull();
+        assertThat(enhanced.get(0).getFingerprint()).isEqualTo(expected);
+    }
+
+    private Issues<Issue> createTwoIssues(final String firstFile, final String secondFile) {
         Issues<Issue> issues = new Issues<>();
         IssueBuilder builder = new IssueBuilder();
-        builder.setFileName(AFFECTED_FILE_NAME);
         builder.setLineStart(5);
-        issues.add(builder.setPackageName("a").build());
-        issues.add(builder.setPackageName("b").build());
+        issues.add(builder.setFileName(getAbsolutePath(firstFile)).setPackageName("a").build());
+        issues.add(builder.setFileName(getAbsolutePath(secondFile)).setPackageName("b").build());
         return issues;
     }
 
-    private Stream<String> asStream(final String affectedFile) {
-        return readResourceToStream(affectedFile, CHARSET_AFFECTED_FILE);
+    private String getAbsolutePath(final String resource) {
+        try {
+            URL url = getClass().getResource(resource);
+            return Paths.get(url.toURI()).toAbsolutePath().toString();
+        }
+        catch (URISyntaxException e) {
+            throw new AssertionError(e);
+        }
     }
-}
\ No newline at end of file
+}
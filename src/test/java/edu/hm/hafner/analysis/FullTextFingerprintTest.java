@@ -1,10 +1,11 @@
 package edu.hm.hafner.analysis;
 
-import java.io.BufferedReader;
-import java.io.StringReader;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
-import java.util.Iterator;
-import java.util.stream.Stream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
 
@@ -29,28 +30,28 @@ class FullTextFingerprintTest extends SerializableTest {
 
         FullTextFingerprint fingerprint = new FullTextFingerprint();
 
-        assertThat(fingerprint.extractContext(-1, asIterator(affectedFile)))
+        assertThat(fingerprint.extractContext(-1, asSourceFile(affectedFile)))
                 .as("Fingerprint for illegal line numbers should be empty").isEmpty();
 
-        assertThat(fingerprint.extractContext(0, asIterator(affectedFile)))
+        assertThat(fingerprint.extractContext(0, asSourceFile(affectedFile)))
                 .as("Wrong fingerprint for whole file").isEqualTo("1234567");
 
-        assertThat(fingerprint.extractContext(1, asIterator(affectedFile))).isEqualTo("1234");
-        assertThat(fingerprint.extractContext(2, asIterator(affectedFile))).isEqualTo("12345");
-        assertThat(fingerprint.extractContext(3, asIterator(affectedFile))).isEqualTo("123456");
-        assertThat(fingerprint.extractContext(4, asIterator(affectedFile))).isEqualTo("1234567");
-        assertThat(fingerprint.extractContext(5, asIterator(affectedFile))).isEqualTo("2345678");
-        assertThat(fingerprint.extractContext(27, asIterator(affectedFile))).isEqualTo("4567890");
-        assertThat(fingerprint.extractContext(28, asIterator(affectedFile))).isEqualTo("567890");
-        assertThat(fingerprint.extractContext(29, asIterator(affectedFile))).isEqualTo("67890");
-        assertThat(fingerprint.extractContext(30, asIterator(affectedFile))).isEqualTo("7890");
+        assertThat(fingerprint.extractContext(1, asSourceFile(affectedFile))).isEqualTo("1234");
+        assertThat(fingerprint.extractContext(2, asSourceFile(affectedFile))).isEqualTo("12345");
+        assertThat(fingerprint.extractContext(3, asSourceFile(affectedFile))).isEqualTo("123456");
+        assertThat(fingerprint.extractContext(4, asSourceFile(affectedFile))).isEqualTo("1234567");
+        assertThat(fingerprint.extractContext(5, asSourceFile(affectedFile))).isEqualTo("2345678");
+        assertThat(fingerprint.extractContext(27, asSourceFile(affectedFile))).isEqualTo("4567890");
+        assertThat(fingerprint.extractContext(28, asSourceFile(affectedFile))).isEqualTo("567890");
+        assertThat(fingerprint.extractContext(29, asSourceFile(affectedFile))).isEqualTo("67890");
+        assertThat(fingerprint.extractContext(30, asSourceFile(affectedFile))).isEqualTo("7890");
 
         // actually illegal but we use the remaining lines:
-        assertThat(fingerprint.extractContext(31, asIterator(affectedFile))).isEqualTo("890");
-        assertThat(fingerprint.extractContext(32, asIterator(affectedFile))).isEqualTo("90");
-        assertThat(fingerprint.extractContext(33, asIterator(affectedFile))).isEqualTo("0");
+        assertThat(fingerprint.extractContext(31, asSourceFile(affectedFile))).isEqualTo("890");
+        assertThat(fingerprint.extractContext(32, asSourceFile(affectedFile))).isEqualTo("90");
+        assertThat(fingerprint.extractContext(33, asSourceFile(affectedFile))).isEqualTo("0");
 
-        assertThat(fingerprint.extractContext(34, asIterator(affectedFile)))
+        assertThat(fingerprint.extractContext(34, asSourceFile(affectedFile)))
                 .as("Fingerprint for line numbers out of range should be empty").isEmpty();
     }
 
@@ -64,18 +65,33 @@ class FullTextFingerprintTest extends SerializableTest {
 
         FullTextFingerprint code = new FullTextFingerprint();
 
-        String fingerprint = code.createFingerprint(10, asStream(affectedFile));
+        String fingerprint = code.createFingerprint(10, asSourceFile(affectedFile));
 
         for (int line = 0; line < 34; line++) {
             if (line == 10 || line == 20) {
-                assertThat(fingerprint).isEqualTo(code.createFingerprint(line, asStream(affectedFile)));
+                assertThat(fingerprint).isEqualTo(code.createFingerprint(line, asSourceFile(affectedFile)));
             }
             else {
-                assertThat(fingerprint).isNotEqualTo(code.createFingerprint(line, asStream(affectedFile)));
+                assertThat(fingerprint).isNotEqualTo(code.createFingerprint(line, asSourceFile(affectedFile)));
             }
         }
     }
 
+    @Test
+    void shouldComputeSameFingerprintsInParallel() {
+        SourceFile sourceFile = asSourceFile(new String(readResource("context.txt")));
+        FullTextFingerprint code = new FullTextFingerprint();
+
+        List<String> sequential = IntStream.range(0, 34)
+                .mapToObj(line -> code.createFingerprint(line, sourceFile))
+                .collect(Collectors.toList());
+        for (int i = 0; i < 20; i++) {
+            assertThat(IntStream.range(0, 34).parallel()
+                    .mapToObj(line -> code.createFingerprint(line, sourceFile))
+                    .collect(Collectors.toList())).isEqualTo(sequential);
+        }
+    }
+
     @Test
     void shouldReturnFallbackOnError() {
         FullTextFingerprint fingerprint = new FullTextFingerprint();
@@ -84,11 +100,7 @@ class FullTextFingerprintTest extends SerializableTest {
                 .isEqualTo(fingerprint.getFallbackFingerprint(NOT_EXISTING_FILE_NAME));
     }
 
-    private Iterator<String> asIterator(final String affectedFile) {
-        return asStream(affectedFile).iterator();
-    }
-
-    private Stream<String> asStream(final String affectedFile) {
-        return new BufferedReader(new StringReader(affectedFile)).lines();
+    private SourceFile asSourceFile(final String affectedFile) {
+        return new SourceFile(ByteBuffer.wrap(affectedFile.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8);
     }
-}
\ No newline at end of file
+}
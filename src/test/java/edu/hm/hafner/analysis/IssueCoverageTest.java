@@ -0,0 +1,75 @@
+package edu.hm.hafner.analysis;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link IssueCoverage}.
+ *
+ * @author Ullrich Hafner
+ */
+class IssueCoverageTest {
+    private static final String FOO = "Foo.java";
+    private static final String BAR = "Bar.java";
+
+    @Test
+    void shouldCreateCoveragePerFileAndPriority() {
+        IssueCoverage coverage = IssueCoverage.of(createIssues(
+                createIssue(FOO, 1, 3, Priority.HIGH),
+                createIssue(FOO, 3, 5, Priority.LOW),
+                createIssue(FOO, 0, 0, Priority.HIGH),
+                createIssue(BAR, 10, 10, Priority.NORMAL)));
+
+        assertThat(coverage.getFiles()).containsExactlyInAnyOrder(FOO, BAR);
+        assertThat(coverage.getLines(FOO, Priority.HIGH).toArray()).containsExactly(1, 2, 3);
+        assertThat(coverage.getLines(FOO, Priority.NORMAL).isEmpty()).isTrue();
+        assertThat(coverage.getLines(FOO).toArray()).containsExactly(1, 2, 3, 4, 5);
+        assertThat(coverage.getLines("Unknown.java").isEmpty()).isTrue();
+
+        assertThat(coverage.getPriority(FOO, 3)).isEqualTo(Priority.HIGH);
+        assertThat(coverage.getPriority(FOO, 4)).isEqualTo(Priority.LOW);
+        assertThat(coverage.getPriority(FOO, 6)).isNull();
+
+        assertThat(coverage.getCardinality()).isEqualTo(6);
+        assertThat(coverage.getCardinality(Priority.HIGH)).isEqualTo(3);
+        assertThat(coverage.getCardinality(Priority.LOW)).isEqualTo(3);
+    }
+
+    @Test
+    void shouldCombineCoverageOfBuilds() {
+        IssueCoverage first = IssueCoverage.of(createIssues(
+                createIssue(FOO, 1, 10, Priority.HIGH),
+                createIssue(BAR, 1, 1, Priority.HIGH)));
+        IssueCoverage second = IssueCoverage.of(createIssues(
+                createIssue(FOO, 5, 15, Priority.HIGH),
+                createIssue(FOO, 1, 1, Priority.LOW)));
+
+        IssueCoverage union = first.or(second);
+        assertThat(union.getFiles()).containsExactlyInAnyOrder(FOO, BAR);
+        assertThat(union.getLines(FOO, Priority.HIGH).toString()).isEqualTo("{1-15}");
+        assertThat(union.getCardinality()).isEqualTo(16);
+
+        IssueCoverage intersection = first.and(second);
+        assertThat(intersection.getFiles()).containsExactly(FOO);
+        assertThat(intersection.getLines(FOO, Priority.HIGH).toString()).isEqualTo("{5-10}");
+        assertThat(intersection.getLines(FOO, Priority.LOW).isEmpty()).isTrue();
+    }
+
+    private Issues<Issue> createIssues(final Issue... issues) {
+        Issues<Issue> container = new Issues<>();
+        for (Issue issue : issues) {
+            container.add(issue);
+        }
+        return container;
+    }
+
+    private Issue createIssue(final String fileName, final int lineStart, final int lineEnd,
+            final Priority priority) {
+        return new IssueBuilder().setFileName(fileName)
+                .setLineStart(lineStart)
+                .setLineEnd(lineEnd)
+                .setPriority(priority)
+                .build();
+    }
+}
@@ -0,0 +1,98 @@
+package edu.hm.hafner.analysis;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link IssueDifference}.
+ *
+ * @author Ullrich Hafner
+ */
+class IssueDifferenceTest {
+    @Test
+    void shouldCreateEmptyDifference() {
+        IssueDifference<Issue> difference = new Issues<>().diff(new Issues<>());
+
+        assertThat(difference.getNewIssues()).isEmpty();
+        assertThat(difference.getFixedIssues()).isEmpty();
+        assertThat(difference.getOutstandingIssues()).isEmpty();
+    }
+
+    @Test
+    void shouldMatchByFingerprint() {
+        Issue current = createIssue("file.txt", 10, "message", "fingerprint");
+        Issue moved = createIssue("renamed.txt", 20, "changed message", "fingerprint");
+        Issue added = createIssue("file.txt", 30, "other", "new fingerprint");
+        Issue fixed = createIssue("file.txt", 30, "removed", "old fingerprint");
+
+        IssueDifference<Issue> difference = createIssues(current, added).diff(createIssues(moved, fixed));
+
+        assertThat(difference.getOutstandingIssues()).containsExactly(current);
+        assertThat(difference.getNewIssues()).containsExactly(added);
+        assertThat(difference.getFixedIssues()).containsExactly(fixed);
+    }
+
+    @Test
+    void shouldMatchLeftoversByPropertiesAndNearestLine() {
+        Issue current = createIssue("file.txt", 100, "message", "-");
+        Issue otherFile = createIssue("other.txt", 100, "message", "-");
+        Issue far = createIssue("file.txt", 10, "message", "-");
+        Issue near = createIssue("file.txt", 95, "message", "-");
+        Issue otherMessage = createIssue("file.txt", 100, "other message", "-");
+
+        IssueDifference<Issue> difference = createIssues(current, otherFile)
+                .diff(createIssues(far, near, otherMessage));
+
+        assertThat(difference.getOutstandingIssues()).containsExactly(current);
+        assertThat(difference.getNewIssues()).containsExactly(otherFile);
+        assertThat(difference.getFixedIssues()).containsExactly(far, otherMessage);
+    }
+
+    @Test
+    void shouldMatchEachIssueOnlyOnce() {
+        Issue first = createIssue("file.txt", 10, "message", "fingerprint");
+        Issue second = createIssue("file.txt", 11, "message", "fingerprint");
+        Issue third = createIssue("file.txt", 12, "message", "fingerprint");
+        Issue reference = createIssue("file.txt", 10, "message", "fingerprint");
+        Issue referenceWithoutFingerprint = createIssue("file.txt", 13, "message", "-");
+
+        IssueDifference<Issue> difference = createIssues(first, second, third)
+                .diff(createIssues(reference, referenceWithoutFingerprint));
+
+        assertThat(difference.getOutstandingIssues()).containsExactly(first, second);
+        assertThat(difference.getNewIssues()).containsExactly(third);
+        assertThat(difference.getFixedIssues()).isEmpty();
+    }
+
+    @Test
+    void shouldNotMatchUndefinedFingerprints() {
+        Issue current = createIssue("file.txt", 10, "message", "-");
+        Issue reference = createIssue("other.txt", 10, "other message", "-");
+
+        IssueDifference<Issue> difference = createIssues(current).diff(createIssues(reference));
+
+        assertThat(difference.getOutstandingIssues()).isEmpty();
+        assertThat(difference.getNewIssues()).containsExactly(current);
+        assertThat(difference.getFixedIssues()).containsExactly(reference);
+    }
+
+    private Issues<Issue> createIssues(final Issue... issues) {
+        Issues<Issue> container = new Issues<>();
+        for (Issue issue : issues) {
+            container.add(issue);
+        }
+        return container;
+    }
+
+    private Issue createIssue(final String fileName, final int line, final String message,
+            final String fingerprint) {
+        return new IssueBuilder().setFileName(fileName)
+                .setLineStart(line)
+                .setCategory("category")
+                .setType("type")
+                .setMessage(message)
+                .setFingerprint(fingerprint)
+                .build();
+    }
+}
@@ -0,0 +1,74 @@
+package edu.hm.hafner.analysis;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link IssueIdGenerator}.
+ *
+ * @author Ullrich Hafner
+ */
+class IssueIdGeneratorTest {
+    private static final int NUMBER_OF_IDS = 10_000;
+
+    @Test
+    void shouldCreateRandomVersion4Ids() {
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        IssueBuilder builder = new IssueBuilder().setMessage("message");
+        IntStream.range(0, NUMBER_OF_IDS).parallel().forEach(i -> ids.add(new IssueBuilder().build().getId()));
+
+        assertThat(ids).hasSize(NUMBER_OF_IDS);
+        for (UUID id : ids) {
+            assertThat(id.version()).isEqualTo(4);
+            assertThat(id.variant()).isEqualTo(2);
+        }
+        assertThat(builder.build().getId()).isNotEqualTo(builder.build().getId());
+    }
+
+    @Test
+    void shouldCreateSequentialIds() {
+        IssueBuilder builder = new IssueBuilder().setIdGenerator(IssueIdGenerator.sequential());
+
+        UUID first = builder.build().getId();
+        UUID second = builder.build().getId();
+
+        assertThat(second.getMostSignificantBits()).isEqualTo(first.getMostSignificantBits());
+        assertThat(second.getLeastSignificantBits()).isEqualTo(first.getLeastSignificantBits() + 1);
+        assertThat(first.variant()).isEqualTo(2);
+        assertThat(first.version()).isEqualTo(4);
+
+        UUID other = new IssueBuilder().setIdGenerator(IssueIdGenerator.sequential()).build().getId();
+        assertThat(other).isNotEqualTo(first);
+    }
+
+    @Test
+    void shouldDeriveIdsFromContent() {
+        IssueBuilder builder = new IssueBuilder().setIdGenerator(IssueIdGenerator.contentDerived())
+                .setFileName("file.txt")
+                .setLineStart(10)
+                .setMessage("message");
+
+        UUID first = builder.build().getId();
+        assertThat(first.version()).isEqualTo(3);
+        assertThat(builder.build().getId()).isEqualTo(first);
+        assertThat(builder.setLineStart(11).build().getId()).isNotEqualTo(first);
+        assertThat(builder.setLineStart(10).setFingerprint("ignored").build().getId()).isEqualTo(first);
+    }
+
+    @Test
+    void shouldUseGeneratorAfterPropertiesHaveBeenInitialized() {
+        Issue issue = new IssueBuilder().setMessage("message").setIdGenerator(created -> {
+            assertThat(created.getMessage()).isEqualTo("message");
+            return new UUID(1, 2);
+        }).build();
+
+        assertThat(issue.getId()).isEqualTo(new UUID(1, 2));
+        assertThat(new Issue(issue).getId()).isNotEqualTo(issue.getId());
+    }
+}
@@ -0,0 +1,74 @@
+package edu.hm.hafner.analysis;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link IssueInterner}.
+ *
+ * @author Ullrich Hafner
+ */
+class IssueInternerTest {
+    private static final String FILE_NAME = "/workspace/src/File.java";
+
+    @Test
+    void shouldShareContentOfEqualIssuesOfDifferentBuilds() {
+        IssueInterner interner = new IssueInterner();
+
+        Issue first = interner.intern(createBuilder("message").setFingerprint("first").build());
+        Issue second = interner.intern(createBuilder("message").setFingerprint("second").build());
+
+        assertThat(second).isEqualTo(first).isNotSameAs(first);
+        assertThat(second.getId()).isNotEqualTo(first.getId());
+        assertThat(second.getFingerprint()).isEqualTo("second");
+        assertThat(first.getFingerprint()).isEqualTo("first");
+        assertThat(second.getMessage()).isSameAs(first.getMessage());
+        assertThat(second.getFileName()).isSameAs(first.getFileName());
+        assertThat(second.getCategory()).isSameAs(first.getCategory());
+        assertThat(interner.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldShareStringsOfDifferentIssues() {
+        IssueBuilder builder = createBuilder("first").setInterner(new IssueInterner());
+
+        Issue first = builder.build();
+        Issue second = builder.setMessage("second").setLineStart(2).build();
+
+        assertThat(second).isNotEqualTo(first);
+        assertThat(second.getFileName()).isSameAs(first.getFileName());
+        assertThat(second.getType()).isSameAs(first.getType());
+        assertThat(second.getMessage()).isEqualTo("second");
+    }
+
+    @Test
+    void shouldKeepIdAndDeferredFingerprint() {
+        IssueInterner interner = new IssueInterner();
+        interner.intern(createBuilder("message").build());
+
+        Issue deferred = new Issue(createBuilder("message").build(), () -> "computed");
+        Issue interned = interner.intern(deferred);
+
+        assertThat(interned.getId()).isEqualTo(deferred.getId());
+        assertThat(interned.getFingerprint()).isEqualTo("computed");
+        assertThat(interner.intern(interned)).isSameAs(interned);
+    }
+
+    @Test
+    void shouldNotInternSubClasses() {
+        IssueInterner interner = new IssueInterner();
+
+        Issue extended = new IssuesTest.ExtendedIssueBuilder().setMessage("extended").build();
+
+        assertThat(interner.intern(extended)).isSameAs(extended);
+        assertThat(interner.size()).isZero();
+    }
+
+    private IssueBuilder createBuilder(final String message) {
+        return new IssueBuilder().setFileName(new String(FILE_NAME))
+                .setCategory(new String("category"))
+                .setType(new String("type"))
+                .setMessage(new String(message));
+    }
+}
@@ -0,0 +1,75 @@
+package edu.hm.hafner.analysis;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link IssueLineIndex}.
+ *
+ * @author Ullrich Hafner
+ */
+class IssueLineIndexTest {
+    private static final String FILE = "Foo.java";
+
+    @Test
+    void shouldFindIssuesThatTouchRange() {
+        Issue single = createIssue(FILE, 10, 10);
+        Issue multiple = createIssue(FILE, 5, 20);
+        Issue after = createIssue(FILE, 21, 30);
+        Issue top = createIssue(FILE, 0, 0);
+        Issue otherFile = createIssue("Bar.java", 10, 10);
+        IssueLineIndex<Issue> index = new IssueLineIndex<>(createIssues(single, multiple, after, top, otherFile));
+
+        assertThat(index.getFiles()).containsExactlyInAnyOrder(FILE, "Bar.java");
+        assertThat(index.find(FILE, 10)).containsExactly(multiple, single);
+        assertThat(index.find(FILE, 20)).containsExactly(multiple);
+        assertThat(index.find(FILE, new LineRange(20, 21))).containsExactly(multiple, after);
+        assertThat(index.find(FILE, 31)).isEmpty();
+        assertThat(index.find(FILE, 0)).containsExactly(top);
+        assertThat(index.find(FILE, 30, 1)).containsExactly(multiple, single, after);
+        assertThat(index.find("Unknown.java", 10)).isEmpty();
+
+        assertThat(index.contains(FILE, 1, 4)).isFalse();
+        assertThat(index.contains(FILE, 1, 5)).isTrue();
+        assertThat(index.contains("Unknown.java", 1, 5)).isFalse();
+    }
+
+    @Test
+    void shouldFindSameIssuesAsLinearScan() {
+        Random random = new Random(42);
+        Issues<Issue> issues = new Issues<>();
+        for (int i = 0; i < 2000; i++) {
+            int start = random.nextInt(1000);
+            issues.add(createIssue(FILE, start, start + random.nextInt(random.nextBoolean() ? 5 : 200)));
+        }
+        IssueLineIndex<Issue> index = new IssueLineIndex<>(issues);
+
+        for (int i = 0; i < 500; i++) {
+            int from = random.nextInt(1200);
+            int to = from + random.nextInt(50);
+            List<Issue> expected = issues.stream()
+                    .filter(issue -> issue.getLineStart() <= to && issue.getLineEnd() >= from)
+                    .collect(Collectors.toList());
+
+            assertThat(index.find(FILE, from, to)).hasSameSizeAs(expected).containsOnlyElementsOf(expected);
+            assertThat(index.contains(FILE, from, to)).isEqualTo(!expected.isEmpty());
+        }
+    }
+
+    private Issues<Issue> createIssues(final Issue... issues) {
+        Issues<Issue> container = new Issues<>();
+        for (Issue issue : issues) {
+            container.add(issue);
+        }
+        return container;
+    }
+
+    private Issue createIssue(final String fileName, final int lineStart, final int lineEnd) {
+        return new IssueBuilder().setFileName(fileName).setLineStart(lineStart).setLineEnd(lineEnd).build();
+    }
+}
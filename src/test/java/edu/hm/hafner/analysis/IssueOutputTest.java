@@ -0,0 +1,141 @@
+package edu.hm.hafner.analysis;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+
+import static edu.hm.hafner.analysis.assertj.Assertions.*;
+
+/**
+ * Tests the classes {@link IssueOutput} and {@link IssueInput}.
+ *
+ * @author Ullrich Hafner
+ */
+class IssueOutputTest {
+    private static final int[] VALUES = {0, 1, -1, 63, -64, 64, 127, 128, 16_383, 16_384, Integer.MAX_VALUE,
+            Integer.MIN_VALUE};
+
+    @Test
+    void shouldWriteAndReadVariableLengthIntegers() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        IssueOutput output = new IssueOutput(new DataOutputStream(bytes));
+        for (int value : VALUES) {
+            output.writeVarInt(value);
+        }
+
+        IssueInput input = createInput(bytes);
+        for (int value : VALUES) {
+            assertThat(input.readVarInt()).isEqualTo(value);
+        }
+    }
+
+    @Test
+    void shouldWriteSmallValuesInOneByte() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        IssueOutput output = new IssueOutput(new DataOutputStream(bytes));
+
+        output.writeVarInt(63);
+        output.writeVarInt(-64);
+
+        assertThat(bytes.size()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldWriteRepeatedStringsOnlyOnce() throws IOException {
+        String longText = StringUtils.repeat("Ü", 70_000);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        IssueOutput output = new IssueOutput(new DataOutputStream(bytes));
+        output.writeString(longText);
+        int sizeOfFirst = bytes.size();
+        output.writeString(longText);
+        output.writeString("-");
+        output.writeString("");
+
+        assertThat(bytes.size()).isEqualTo(sizeOfFirst + 3);
+
+        IssueInput input = createInput(bytes);
+        assertThat(input.readString()).isEqualTo(longText);
+        assertThat(input.readString()).isEqualTo(longText);
+        assertThat(input.readString()).isEqualTo("-");
+        assertThat(input.readString()).isEmpty();
+    }
+
+    @Test
+    void shouldWriteAndReadIssues() throws IOException {
+        Issue first = new IssueBuilder().setFileName("file").setLineStart(10).setLineEnd(5).setColumnStart(2)
+                .setCategory("category").setType("type").setPackageName("package").setModuleName("module")
+                .setPriority(Priority.LOW).setMessage("message").setDescription("description").setOrigin("origin")
+                .setFingerprint("fingerprint").build();
+        Issue second = new IssueBuilder().build();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        IssueOutput output = new IssueOutput(new DataOutputStream(bytes));
+        output.writeIssue(first);
+        output.writeIssue(second);
+
+        IssueInput input = createInput(bytes);
+        assertThatIssueIsRestored(input.readIssue(), first);
+        assertThatIssueIsRestored(input.readIssue(), second);
+    }
+
+    private void assertThatIssueIsRestored(final Issue restored, final Issue expected) {
+        assertThat(restored).isEqualTo(expected);
+        assertThat(restored.getId()).isEqualTo(expected.getId());
+        assertThat(restored).hasFingerprint(expected.getFingerprint());
+    }
+
+    @Test
+    void shouldWriteSimilarMessagesAsTemplates() throws IOException {
+        String[] messages = {"unused variable 'first'", "unused variable 'second'", "unused variable 'first'",
+                "Missing javadoc comment"};
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        IssueOutput output = new IssueOutput(new DataOutputStream(bytes));
+        output.writeMessage(messages[0]);
+        int sizeOfFirst = bytes.size();
+        output.writeMessage(messages[1]);
+        int sizeOfSecond = bytes.size() - sizeOfFirst;
+        output.writeMessage(messages[2]);
+        output.writeMessage(messages[3]);
+
+        assertThat(sizeOfSecond).isLessThan(messages[1].length() / 2);
+        assertThat(bytes.size()).isEqualTo(sizeOfFirst + sizeOfSecond + 1 + 2 + messages[3].length());
+
+        IssueInput input = createInput(bytes);
+        for (String message : messages) {
+            assertThat(input.readMessage()).isEqualTo(message);
+        }
+    }
+
+    @Test
+    void shouldRejectInvalidTemplate() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        IssueOutput output = new IssueOutput(new DataOutputStream(bytes));
+        output.writeVarInt(IssueOutput.TEMPLATE);
+        output.writeString("unused variable '" + MessageTemplate.PLACEHOLDER + "'");
+        output.writeVarInt(2);
+        output.writeString("x");
+        output.writeString("y");
+
+        assertThatThrownBy(() -> createInput(bytes).readMessage()).isInstanceOf(InvalidObjectException.class);
+    }
+
+    @Test
+    void shouldRejectInvalidStringReference() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new IssueOutput(new DataOutputStream(bytes)).writeVarInt(100);
+
+        assertThatThrownBy(() -> createInput(bytes).readString()).isInstanceOf(InvalidObjectException.class);
+    }
+
+    private IssueInput createInput(final ByteArrayOutputStream bytes) {
+        return new IssueInput(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+}
@@ -236,6 +236,35 @@ public class IssueTest extends SerializableTest {
         assertThatIssueCanBeRestoredFrom(bytes);
     }
 
+    /**
+     * Ensures that a deferred fingerprint is computed only once and that it is part of the serialization.
+     */
+    @Test
+    void shouldComputeDeferredFingerprintOnce() {
+        Issue original = createFilledIssue();
+        int[] calls = new int[1];
+        Issue deferred = new Issue(original, () -> {
+            calls[0]++;
+            return "deferred";
+        });
+
+        assertThat(deferred).isEqualTo(original);
+        assertThat(deferred.getId()).isEqualTo(original.getId());
+        assertThat(calls[0]).isEqualTo(0);
+
+        byte[] bytes = toByteArray(deferred);
+        assertThat(calls[0]).isEqualTo(1);
+        assertThat(deferred).hasFingerprint("deferred");
+        assertThat(calls[0]).isEqualTo(1);
+
+        try (ObjectInputStream inputStream = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            assertThat((Issue) inputStream.readObject()).hasFingerprint("deferred");
+        }
+        catch (IOException | ClassNotFoundException e) {
+            throw new AssertionError("Can' resolve issue from byte array", e);
+        }
+    }
+
     /**
      * Verifies that saved serialized format (from a previous release) still can be resolved with the current
      * implementation of {@link Issue}.
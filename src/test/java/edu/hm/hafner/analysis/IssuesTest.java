@@ -1,14 +1,20 @@
 package edu.hm.hafner.analysis;
 
 import javax.annotation.CheckForNull;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
 import java.util.UUID;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.eclipse.collections.api.set.ImmutableSet;
 import org.eclipse.collections.api.set.sorted.ImmutableSortedSet;
@@ -16,6 +22,7 @@ import org.junit.jupiter.api.Test;
 
 import static edu.hm.hafner.analysis.assertj.Assertions.assertThat;
 import static edu.hm.hafner.analysis.assertj.SoftAssertions.*;
+import edu.hm.hafner.util.SerializableTest;
 import static java.util.Arrays.*;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 
@@ -24,7 +31,7 @@ import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
  *
  * @author Marcel Binder
  */
-class IssuesTest {
+class IssuesTest extends SerializableTest {
     private static final Issue HIGH = new IssueBuilder().setMessage("issue-1")
             .setFileName("file-1")
             .setPriority(Priority.HIGH)
@@ -331,6 +338,67 @@ class IssuesTest {
         assertThat(copy.iterator()).containsExactly(HIGH, NORMAL_1, NORMAL_2, LOW_FILE_2);
     }
 
+    @Test
+    void shouldSeparateCopiesThatAppendToSharedStorage() {
+        Issues<Issue> original = new Issues<>();
+        original.add(HIGH, NORMAL_1);
+
+        Issues<Issue> copy = original.copy();
+        copy.add(NORMAL_2);
+        original.add(LOW_FILE_2, NORMAL_2);
+        copy.add(LOW_FILE_2, HIGH);
+
+        assertThat(original.iterator()).containsExactly(HIGH, NORMAL_1, LOW_FILE_2, NORMAL_2);
+        assertThat(original).hasDuplicatesSize(0).hasNormalPrioritySize(2).hasLowPrioritySize(1);
+        assertThat(copy.iterator()).containsExactly(HIGH, NORMAL_1, NORMAL_2, LOW_FILE_2);
+        assertThat(copy).hasDuplicatesSize(1).hasNormalPrioritySize(2).hasLowPrioritySize(1);
+
+        copy.remove(NORMAL_1.getId());
+        assertThat(copy.iterator()).containsExactly(HIGH, NORMAL_2, LOW_FILE_2);
+        assertThat(copy).hasNormalPrioritySize(1);
+        assertThat(original.iterator()).containsExactly(HIGH, NORMAL_1, LOW_FILE_2, NORMAL_2);
+        assertThat(original.get(1)).isSameAs(NORMAL_1);
+    }
+
+    @Test
+    void shouldProvideSizedAndSplittableSpliterator() {
+        Issues<Issue> issues = new Issues<>();
+        IssueBuilder builder = new IssueBuilder();
+        for (int i = 0; i < 1000; i++) {
+            issues.add(builder.setMessage("message " + i).setPriority(Priority.values()[i % 3]).build());
+        }
+
+        Spliterator<Issue> spliterator = issues.spliterator();
+        assertThat(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED
+                | Spliterator.DISTINCT | Spliterator.NONNULL)).isTrue();
+        assertThat(spliterator.getExactSizeIfKnown()).isEqualTo(1000);
+
+        Spliterator<Issue> prefix = spliterator.trySplit();
+        assertThat(prefix).isNotNull();
+        assertThat(prefix.getExactSizeIfKnown() + spliterator.getExactSizeIfKnown()).isEqualTo(1000);
+
+        issues.add(builder.setMessage("added").setPriority(Priority.LOW).build());
+        Stream<Issue> stream = issues.parallelStream();
+        assertThat(stream.isParallel()).isTrue();
+        assertThat(stream.filter(issue -> issue.getPriority() == Priority.HIGH).count()).isEqualTo(334);
+        assertThat(issues.parallelStream().collect(Collectors.toList())).containsExactlyElementsOf(issues);
+    }
+
+    @Test
+    void shouldDetectDuplicatesInFilteredIssues() {
+        Issues<Issue> issues = new Issues<>();
+        issues.add(HIGH, NORMAL_1, NORMAL_2, LOW_FILE_2);
+
+        Issues<Issue> normal = issues.filter(issue -> issue.getPriority() == Priority.NORMAL);
+        assertThat(normal.iterator()).containsExactly(NORMAL_1, NORMAL_2);
+        assertThat(normal).hasNormalPrioritySize(2).hasHighPrioritySize(0);
+
+        assertThat(normal.add(NORMAL_2)).isFalse();
+        assertThat(normal.add(HIGH)).isTrue();
+        assertThat(normal.iterator()).containsExactly(NORMAL_1, NORMAL_2, HIGH);
+        assertThat(normal).hasDuplicatesSize(1);
+    }
+
     @Test
     void shouldFilterByProperty() {
         assertFilterFor(IssueBuilder::setPackageName, Issues::getPackages, "packageName");
@@ -370,6 +438,85 @@ class IssuesTest {
         assertThat(issues.getLogMessages()).containsExactly("1: Hello World", "2: Hello World");
     }
 
+    @Test
+    void shouldBeSerializable() {
+        Issues<Issue> issues = new Issues<>();
+        issues.add(HIGH, NORMAL_1, NORMAL_2, LOW_FILE_2, ISSUE_5, LOW_FILE_3, HIGH);
+        issues.log("Hello %s", "World");
+
+        Issues<Issue> restored = restore(toByteArray(issues));
+
+        assertThat((Iterable<Issue>) restored).containsExactly(HIGH, NORMAL_1, NORMAL_2, LOW_FILE_2, ISSUE_5,
+                LOW_FILE_3);
+        assertThat(restored).hasDuplicatesSize(1).hasHighPrioritySize(1).hasNormalPrioritySize(2)
+                .hasLowPrioritySize(3);
+        assertThat(restored.getLogMessages()).containsExactly("Hello World");
+        for (int i = 0; i < issues.size(); i++) {
+            assertThat(restored.get(i).getId()).isEqualTo(issues.get(i).getId());
+            assertThat(restored.get(i).getFingerprint()).isEqualTo(issues.get(i).getFingerprint());
+        }
+    }
+
+    @Test
+    void shouldSerializeSubTypesWithDefaultSerialization() {
+        Issues<ExtendedIssue> issues = new Issues<>();
+        ExtendedIssueBuilder builder = new ExtendedIssueBuilder();
+        builder.setMessage("extended");
+        issues.add(builder.build());
+
+        Issues<ExtendedIssue> restored = restore(toByteArray(issues));
+
+        assertThat(restored).hasSize(1);
+        assertThat(restored.get(0).getAdditional()).isEqualTo(EXTENDED_VALUE);
+    }
+
+    /**
+     * Verifies that the compact serialization requires less than a quarter of the size of the default serialization
+     * for issues with typical repetitions of file names, categories, and so on.
+     */
+    @Test
+    void shouldUseCompactSerialization() {
+        Issues<Issue> compact = new Issues<>();
+        Issues<ExtendedIssue> standard = new Issues<>();
+        IssueBuilder builder = new IssueBuilder();
+        ExtendedIssueBuilder extendedBuilder = new ExtendedIssueBuilder();
+        for (int i = 0; i < 1000; i++) {
+            configure(builder, i);
+            compact.add(builder.build());
+            configure(extendedBuilder, i);
+            standard.add(extendedBuilder.build());
+        }
+
+        int compactSize = toByteArray(compact).length;
+        int standardSize = toByteArray(standard).length;
+
+        assertThat(compactSize).isLessThan(standardSize / 4);
+        assertThat(restore(toByteArray(compact))).hasSize(1000);
+    }
+
+    private void configure(final IssueBuilder builder, final int index) {
+        builder.setFileName("/path/to/workspace/src/main/java/edu/hm/hafner/File" + index % 50 + ".java")
+                .setLineStart(index)
+                .setColumnStart(index % 80)
+                .setCategory("Category " + index % 10)
+                .setType("Type " + index % 20)
+                .setPackageName("edu.hm.hafner")
+                .setModuleName("analysis-model")
+                .setPriority(Priority.values()[index % 3])
+                .setMessage("Message " + index % 100)
+                .setOrigin("checkstyle");
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Issue> Issues<T> restore(final byte[] serialization) {
+        try (ObjectInputStream inputStream = new ObjectInputStream(new ByteArrayInputStream(serialization))) {
+            return (Issues<T>) inputStream.readObject();
+        }
+        catch (IOException | ClassNotFoundException e) {
+            throw new AssertionError("Can't resolve issues from byte array", e);
+        }
+    }
+
     @Test
     void shouldSupportSubTypes() {
         ExtendedIssueBuilder builder = new ExtendedIssueBuilder();
@@ -0,0 +1,78 @@
+package edu.hm.hafner.analysis;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+
+import static java.util.stream.Collectors.*;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link IssuesView}.
+ *
+ * @author Ullrich Hafner
+ */
+class IssuesViewTest {
+    private static final String MODULE = "module-1";
+
+    private final List<Issue> all = new ArrayList<>();
+    private final Issues<Issue> issues = new Issues<>();
+
+    IssuesViewTest() {
+        IssueBuilder builder = new IssueBuilder();
+        for (int i = 0; i < 30; i++) {
+            Issue issue = builder.setFileName("file-" + i % 3)
+                    .setModuleName("module-" + i % 2)
+                    .setPriority(Priority.values()[i % 3])
+                    .setMessage("message " + i)
+                    .build();
+            all.add(issue);
+            issues.add(issue);
+        }
+    }
+
+    @Test
+    void shouldComposeFilters() {
+        IssuesView<Issue> view = issues.view()
+                .filter(Priority.HIGH)
+                .filter(Issues.byModuleName(MODULE))
+                .filter(Issues.byFileName("file-0"));
+
+        Predicate<Issue> expected = issue -> issue.getPriority() == Priority.HIGH
+                && issue.getModuleName().equals(MODULE) && issue.getFileName().equals("file-0");
+        List<Issue> matching = all.stream().filter(expected).collect(toList());
+
+        assertThat(matching).hasSize(5);
+        assertThat(view).containsExactlyElementsOf(matching);
+        assertThat(view.size()).isEqualTo(5);
+        assertThat(view.isEmpty()).isFalse();
+        assertThat(view.stream().collect(toList())).containsExactlyElementsOf(matching);
+        assertThat(view.toIssues().iterator()).containsExactlyElementsOf(matching);
+        assertThat(view.toIssues().getHighPrioritySize()).isEqualTo(5);
+    }
+
+    @Test
+    void shouldCountAndPage() {
+        IssuesView<Issue> view = issues.view().filter(Issues.byModuleName(MODULE));
+
+        assertThat(view.size()).isEqualTo(15);
+        assertThat(view.count(issue -> issue.getPriority() == Priority.LOW)).isEqualTo(5);
+        assertThat(view.page(0, 2)).containsExactly(all.get(1), all.get(3));
+        assertThat(view.page(13, 5)).containsExactly(all.get(27), all.get(29));
+        assertThat(view.page(15, 5)).isEmpty();
+        assertThatThrownBy(() -> view.page(-1, 1)).isInstanceOf(AssertionError.class);
+    }
+
+    @Test
+    void shouldUseSnapshotOfIssues() {
+        IssuesView<Issue> view = issues.view().filter(Priority.NORMAL);
+
+        issues.add(new IssueBuilder().setMessage("new").setPriority(Priority.NORMAL).build());
+
+        assertThat(view.size()).isEqualTo(10);
+        assertThat(issues.view().filter(Priority.NORMAL).size()).isEqualTo(11);
+        assertThat(issues.view().filter(issue -> false).isEmpty()).isTrue();
+    }
+}
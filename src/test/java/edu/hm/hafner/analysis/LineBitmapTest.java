@@ -0,0 +1,92 @@
+package edu.hm.hafner.analysis;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link LineBitmap}.
+ *
+ * @author Ullrich Hafner
+ */
+class LineBitmapTest {
+    @Test
+    void shouldMergeConsecutiveLines() {
+        LineBitmap bitmap = new LineBitmap.Builder().add(1).add(2).add(3, 5).add(10).build();
+
+        assertThat(bitmap.getRunCount()).isEqualTo(2);
+        assertThat(bitmap.getCardinality()).isEqualTo(6);
+        assertThat(bitmap.toArray()).containsExactly(1, 2, 3, 4, 5, 10);
+        assertThat(bitmap.toString()).isEqualTo("{1-5, 10}");
+        assertThat(bitmap.contains(5)).isTrue();
+        assertThat(bitmap.contains(6)).isFalse();
+        assertThat(bitmap.intersects(6, 9)).isFalse();
+        assertThat(bitmap.intersects(9, 6)).isFalse();
+        assertThat(bitmap.intersects(6, 10)).isTrue();
+    }
+
+    @Test
+    void shouldSortAndMergeUnorderedLines() {
+        LineBitmap bitmap = new LineBitmap.Builder().add(20, 15).add(3).add(10, 16).add(2).add(21).build();
+
+        assertThat(bitmap.toString()).isEqualTo("{2-3, 10-21}");
+        assertThat(bitmap).isEqualTo(new LineBitmap.Builder().add(2, 3).add(10, 21).build());
+        assertThat(bitmap.hashCode()).isEqualTo(new LineBitmap.Builder().add(2, 3).add(10, 21).build().hashCode());
+    }
+
+    @Test
+    void shouldHandleEmptyBitmap() {
+        LineBitmap empty = new LineBitmap.Builder().build();
+
+        assertThat(empty).isSameAs(LineBitmap.EMPTY);
+        assertThat(empty.isEmpty()).isTrue();
+        assertThat(empty.getCardinality()).isZero();
+        assertThat(empty.contains(1)).isFalse();
+        assertThat(empty.toString()).isEqualTo("{}");
+
+        LineBitmap bitmap = new LineBitmap.Builder().add(1, 3).build();
+        assertThat(bitmap.or(empty)).isEqualTo(bitmap);
+        assertThat(empty.or(bitmap)).isEqualTo(bitmap);
+        assertThat(bitmap.and(empty).isEmpty()).isTrue();
+    }
+
+    @Test
+    void shouldRejectNegativeLines() {
+        assertThatThrownBy(() -> new LineBitmap.Builder().add(-1)).isInstanceOf(AssertionError.class);
+    }
+
+    @Test
+    void shouldComputeUnionAndIntersectionLikeBitSet() {
+        Random random = new Random(1);
+        for (int i = 0; i < 100; i++) {
+            BitSet leftLines = new BitSet();
+            BitSet rightLines = new BitSet();
+            LineBitmap left = createRandomBitmap(random, leftLines);
+            LineBitmap right = createRandomBitmap(random, rightLines);
+
+            BitSet union = (BitSet) leftLines.clone();
+            union.or(rightLines);
+            BitSet intersection = (BitSet) leftLines.clone();
+            intersection.and(rightLines);
+
+            assertThat(left.or(right).toArray()).isEqualTo(union.stream().toArray());
+            assertThat(left.and(right).toArray()).isEqualTo(intersection.stream().toArray());
+            assertThat(left.or(right).getCardinality()).isEqualTo(union.cardinality());
+        }
+    }
+
+    private LineBitmap createRandomBitmap(final Random random, final BitSet lines) {
+        LineBitmap.Builder builder = new LineBitmap.Builder();
+        int runs = random.nextInt(20);
+        for (int run = 0; run < runs; run++) {
+            int from = 1 + random.nextInt(500);
+            int to = from + random.nextInt(10);
+            builder.add(from, to);
+            lines.set(from, to + 1);
+        }
+        return builder.build();
+    }
+}
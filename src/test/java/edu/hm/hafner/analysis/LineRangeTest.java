@@ -151,4 +151,15 @@ public class LineRangeTest {
 
         assertThatRangeContainsThreeElements(range);
     }
-}
\ No newline at end of file
+
+    /** Verifies that the lines of a range are returned by the iterator. */
+    @Test
+    void shouldIterateLines() {
+        LineRange range = createLineRange(4, 2);
+
+        assertThat(range.getFrom()).isEqualTo(2);
+        assertThat(range.getTo()).isEqualTo(4);
+        assertThat(range).containsExactly(2, 3, 4);
+        assertThat(createLineRange(Integer.MAX_VALUE)).containsExactly(Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,73 @@
+package edu.hm.hafner.analysis;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link MessageTemplate}.
+ *
+ * @author Ullrich Hafner
+ */
+class MessageTemplateTest {
+    private static final char PLACEHOLDER = MessageTemplate.PLACEHOLDER;
+
+    @Test
+    void shouldShareTemplateOfMessagesWithDifferentIdentifiers() {
+        MessageTemplate first = MessageTemplate.parse("unused variable 'x'");
+        MessageTemplate second = MessageTemplate.parse("unused variable 'counter'");
+
+        assertThat(first).isNotNull();
+        assertThat(second).isNotNull();
+        assertThat(first.getTemplate()).isEqualTo("unused variable '" + PLACEHOLDER + "'")
+                .isEqualTo(second.getTemplate());
+        assertThat(first.getArguments()).containsExactly("x");
+        assertThat(second.getArguments()).containsExactly("counter");
+    }
+
+    @Test
+    void shouldDetectIdentifiersAndNumbers() {
+        MessageTemplate template = MessageTemplate.parse("[deprecation] foo() in Bar has been deprecated.");
+
+        assertThat(template).isNotNull();
+        assertThat(template.getTemplate()).isEqualTo("[deprecation] " + PLACEHOLDER + " in Bar has been deprecated.");
+        assertThat(template.getArguments()).containsExactly("foo()");
+
+        template = MessageTemplate.parse("Line is longer than 80 characters (found 120).");
+        assertThat(template).isNotNull();
+        assertThat(template.getArguments()).containsExactly("80", "120).");
+    }
+
+    @Test
+    void shouldNotCreateTemplateForPlainText() {
+        assertThat(MessageTemplate.parse("Missing javadoc comment.")).isNull();
+        assertThat(MessageTemplate.parse("")).isNull();
+        assertThat(MessageTemplate.parse("issue-1")).isNull();
+        assertThat(MessageTemplate.parse("contains " + PLACEHOLDER + " 'x'")).isNull();
+    }
+
+    private static final String[] MESSAGES = {"unused variable 'x'", "can't find 'y' in \"z\"", "'' and `1`", "trailing 'quote 1",
+            "comparison between signed and unsigned integer expressions [-Wsign-compare]",
+            "Name 'MAX_value' must match pattern '^[A-Z][A-Z0-9]*(_[A-Z0-9]+)*$'.", "  spaces  42  ",
+            "java.util.List<String> is a raw type. References to generic type List<E> should be parameterized"};
+
+    @Test
+    void shouldReconstructMessages() {
+        for (String message : MESSAGES) {
+            MessageTemplate template = MessageTemplate.parse(message);
+
+            assertThat(template).as(message).isNotNull();
+            assertThat(MessageTemplate.format(template.getTemplate(), template.getArguments())).isEqualTo(message);
+        }
+    }
+
+    @Test
+    void shouldRejectWrongNumberOfArguments() {
+        String template = "unused variable '" + PLACEHOLDER + "'";
+
+        assertThatThrownBy(() -> MessageTemplate.format(template, new String[0]))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MessageTemplate.format(template, new String[] {"x", "y"}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,321 @@
+package edu.hm.hafner.analysis;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.regex.Matcher;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.analysis.parser.JavacParser;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link ParseResultCache}.
+ *
+ * @author Ullrich Hafner
+ */
+class ParseResultCacheTest {
+    private static final String REPORT = "parser/javac.txt";
+
+    private Path directory;
+
+    @BeforeEach
+    void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("parse-result-cache");
+    }
+
+    @AfterEach
+    void deleteDirectory() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Test
+    void shouldReturnCachedIssuesWithNewIds() throws IOException {
+        ParseResultCache cache = new ParseResultCache(directory);
+        File report = getResource(REPORT);
+
+        Issues<Issue> expected = new JavacParser().parse(report, StandardCharsets.UTF_8, new IssueBuilder());
+
+        Issues<Issue> parsed = parseWithCache(cache, report);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(0);
+
+        Issues<Issue> cached = parseWithCache(cache, report);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+
+        assertThat(parsed).containsExactlyElementsOf(expected);
+        assertThat(cached).containsExactlyElementsOf(expected);
+        assertThat(cached.getDuplicatesSize()).isEqualTo(expected.getDuplicatesSize());
+        assertThat(cached.getLogMessages()).containsExactlyElementsOf(expected.getLogMessages());
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(cached.get(i).getId()).isNotEqualTo(parsed.get(i).getId());
+        }
+    }
+
+    @Test
+    void shouldUseIdGeneratorOfBuilderForCachedIssues() throws IOException {
+        ParseResultCache cache = new ParseResultCache(directory);
+        JavacParser parser = new JavacParser();
+        parser.setResultCache(cache);
+        File report = getResource(REPORT);
+
+        Issues<Issue> parsed = parser.parse(report, StandardCharsets.UTF_8,
+                new IssueBuilder().setIdGenerator(IssueIdGenerator.contentDerived()));
+        Issues<Issue> cached = parser.parse(report, StandardCharsets.UTF_8,
+                new IssueBuilder().setIdGenerator(IssueIdGenerator.contentDerived()));
+
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cached).isNotEmpty().containsExactlyElementsOf(parsed);
+        for (int i = 0; i < parsed.size(); i++) {
+            assertThat(cached.get(i).getId()).isEqualTo(parsed.get(i).getId());
+        }
+    }
+
+    @Test
+    void shouldInternCachedIssues() throws IOException {
+        ParseResultCache cache = new ParseResultCache(directory);
+        JavacParser parser = new JavacParser();
+        parser.setResultCache(cache);
+        File report = getResource(REPORT);
+        IssueInterner interner = new IssueInterner();
+
+        Issues<Issue> parsed = parser.parse(report, StandardCharsets.UTF_8, new IssueBuilder().setInterner(interner));
+        Issues<Issue> cached = parser.parse(report, StandardCharsets.UTF_8, new IssueBuilder().setInterner(interner));
+
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cached).isNotEmpty().containsExactlyElementsOf(parsed);
+        for (int i = 0; i < parsed.size(); i++) {
+            assertThat(cached.get(i).getMessage()).isSameAs(parsed.get(i).getMessage());
+            assertThat(cached.get(i).getFileName()).isSameAs(parsed.get(i).getFileName());
+        }
+    }
+
+    @Test
+    void shouldReportMetricsOfCachedIssues() throws IOException {
+        ParseResultCache cache = new ParseResultCache(directory);
+        ParsingMetricsCollector collector = new ParsingMetricsCollector();
+        JavacParser parser = new JavacParser();
+        parser.setResultCache(cache);
+        parser.setParsingListener(collector);
+        File report = getResource(REPORT);
+
+        Issues<Issue> parsed = parser.parse(report, StandardCharsets.UTF_8, new IssueBuilder().setOrigin("javac"));
+        Issues<Issue> cached = parser.parse(report, StandardCharsets.UTF_8, new IssueBuilder().setOrigin("javac"));
+
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(collector.getMetrics()).hasSize(2);
+        assertThat(collector.getMetrics().get(0).isCached()).isFalse();
+        ParsingMetrics metrics = collector.getMetrics().get(1);
+        assertThat(metrics.isCached()).isTrue();
+        assertThat(metrics.getParser()).isEqualTo(JavacParser.class.getName());
+        assertThat(metrics.getSource()).isEqualTo(report.getAbsolutePath());
+        assertThat(metrics.getOrigin()).isEqualTo("javac");
+        assertThat(metrics.getBytes()).isEqualTo(report.length());
+        assertThat(metrics.getIssues()).isEqualTo(cached.getSize() + cached.getDuplicatesSize())
+                .isEqualTo(parsed.getSize() + parsed.getDuplicatesSize());
+        assertThat(metrics.getDuplicates()).isEqualTo(cached.getDuplicatesSize());
+        assertThat(metrics.getLines()).isZero();
+        assertThat(metrics.getMatchAttempts()).isZero();
+        assertThat(metrics.getTotalTime()).isPositive();
+        assertThat(metrics.toString()).contains("in cache");
+    }
+
+    @Test
+    void shouldUseVersionOfLibraryAsKey() {
+        assertThat(ParseResultCache.getImplementationVersion()).contains("@").doesNotContain("${")
+                .doesNotStartWith("unknown");
+    }
+
+    @Test
+    void shouldUseContentAsKey() throws IOException {
+        ParseResultCache cache = new ParseResultCache(directory);
+        File report = getResource(REPORT);
+        Path copy = directory.resolve("copy.txt");
+        Files.copy(report.toPath(), copy);
+
+        parseWithCache(cache, report);
+        parseWithCache(cache, copy.toFile());
+        assertThat(cache.getHitCount()).isEqualTo(1);
+
+        Files.write(copy, "changed".getBytes(StandardCharsets.UTF_8));
+        assertThat(parseWithCache(cache, copy.toFile())).isEmpty();
+        assertThat(cache.getMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldUseBuilderAndCharsetAsKey() throws IOException {
+        ParseResultCache cache = new ParseResultCache(directory);
+        File report = getResource(REPORT);
+
+        parseWithCache(cache, report);
+        JavacParser parser = new JavacParser();
+        parser.setResultCache(cache);
+        Issues<Issue> issues = parser.parse(report, StandardCharsets.UTF_8, new IssueBuilder().setOrigin("other"));
+        parser.parse(report, StandardCharsets.ISO_8859_1, new IssueBuilder());
+
+        assertThat(cache.getMissCount()).isEqualTo(3);
+        assertThat(issues.get(0).getOrigin()).isEqualTo("other");
+    }
+
+    @Test
+    void shouldNotCacheIfTransformerIsUsed() throws IOException {
+        ParseResultCache cache = new ParseResultCache(directory);
+        JavacParser parser = new JavacParser();
+        parser.setResultCache(cache);
+        parser.setTransformer(line -> line.replace("warning", "error"));
+
+        File report = getResource(REPORT);
+        parser.parse(report, StandardCharsets.UTF_8, new IssueBuilder());
+        parser.parse(report, StandardCharsets.UTF_8, new IssueBuilder());
+
+        assertThat(cache.getHitCount()).isEqualTo(0);
+        assertThat(cache.getMissCount()).isEqualTo(0);
+        assertThat(countEntries()).isEqualTo(0);
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedEntries() throws IOException {
+        ParseResultCache cache = new ParseResultCache(directory, 1);
+        File report = getResource(REPORT);
+        Path other = directory.resolve("other.txt");
+        Files.write(other, Files.readAllLines(report.toPath()).subList(0, 2));
+
+        parseWithCache(cache, report);
+        assertThat(countEntries()).isEqualTo(0);
+
+        cache = new ParseResultCache(directory, 1024 * 1024);
+        parseWithCache(cache, report);
+        parseWithCache(cache, other.toFile());
+        assertThat(countEntries()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReplaceCorruptEntries() throws IOException {
+        verifyCorruptEntriesAreReplaced(new byte[] {1, 2, 3});
+    }
+
+    @Test
+    void shouldNotStoreIssuesOfFilesThatChangeWhileParsing() throws IOException {
+        ParseResultCache cache = new ParseResultCache(directory);
+        Path report = directory.resolve("report.txt");
+        Files.copy(getResource(REPORT).toPath(), report);
+
+        AppendingParser parser = new AppendingParser(report.toString());
+        parser.setResultCache(cache);
+        assertThat(parser.parse(report.toFile(), StandardCharsets.UTF_8, new IssueBuilder())).isNotEmpty();
+
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(countEntries()).isEqualTo(0);
+    }
+
+    @Test
+    void shouldRejectEntriesWithInvalidStringLength() throws IOException {
+        ByteArrayOutputStream entry = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(entry)) {
+            output.writeInt(ParseResultCache.FORMAT_VERSION);
+            IssueOutput issueOutput = new IssueOutput(output);
+            issueOutput.writeVarInt(1);
+            issueOutput.writeVarInt(IssueOutput.NEW_STRING);
+            issueOutput.writeVarInt(Integer.MAX_VALUE - 8);
+        }
+
+        verifyCorruptEntriesAreReplaced(entry.toByteArray());
+    }
+
+    @Test
+    void shouldNotDeserializeJavaObjects() throws IOException {
+        ByteArrayOutputStream entry = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(entry)) {
+            output.writeObject(new Issues<>());
+        }
+
+        verifyCorruptEntriesAreReplaced(entry.toByteArray());
+    }
+
+    private void verifyCorruptEntriesAreReplaced(final byte[] content) throws IOException {
+        ParseResultCache cache = new ParseResultCache(directory);
+        File report = getResource(REPORT);
+
+        Issues<Issue> expected = parseWithCache(cache, report);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path entry : (Iterable<Path>) files::iterator) {
+                Files.write(entry, content);
+            }
+        }
+
+        assertThat(parseWithCache(cache, report)).containsExactlyElementsOf(expected);
+        assertThat(cache.getHitCount()).isEqualTo(0);
+        assertThat(cache.getMissCount()).isEqualTo(2);
+        assertThat(parseWithCache(cache, report)).containsExactlyElementsOf(expected);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+    }
+
+    private Issues<Issue> parseWithCache(final ParseResultCache cache, final File report) {
+        JavacParser parser = new JavacParser();
+        parser.setResultCache(cache);
+        return parser.parse(report, StandardCharsets.UTF_8, new IssueBuilder());
+    }
+
+    private long countEntries() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".issues")).count();
+        }
+    }
+
+    /**
+     * Appends a line to the parsed report when the first warning has been found.
+     */
+    private static class AppendingParser extends JavacParser {
+        private static final long serialVersionUID = 1L;
+
+        private final String report;
+        private boolean isAppended;
+
+        AppendingParser(final String report) {
+            super();
+
+            this.report = report;
+        }
+
+        @Override
+        protected Issue createWarning(final Matcher matcher, final IssueBuilder builder) {
+            if (!isAppended) {
+                isAppended = true;
+                try {
+                    Files.write(Paths.get(report), "appended\n".getBytes(StandardCharsets.UTF_8),
+                            StandardOpenOption.APPEND);
+                }
+                catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+            }
+            return super.createWarning(matcher, builder);
+        }
+    }
+
+    private File getResource(final String name) {
+        try {
+            return Paths.get(getClass().getResource(name).toURI()).toFile();
+        }
+        catch (URISyntaxException exception) {
+            throw new AssertionError(exception);
+        }
+    }
+}
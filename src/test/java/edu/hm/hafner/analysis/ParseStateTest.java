@@ -0,0 +1,277 @@
+package edu.hm.hafner.analysis;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.analysis.parser.GnuMakeGccParser;
+import edu.hm.hafner.analysis.parser.JavacParser;
+import edu.hm.hafner.analysis.parser.MavenConsoleParser;
+import edu.hm.hafner.analysis.parser.RFLintParser;
+import edu.hm.hafner.analysis.parser.ResharperInspectCodeParser;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link ParseState} and the incremental parsing of {@link RegexpLineParser}.
+ *
+ * @author Ullrich Hafner
+ */
+class ParseStateTest {
+    private static final int MAX_INCREMENT = 300;
+    private static final long CHECKPOINT_INTERVAL = 200;
+
+    private Path log;
+
+    @BeforeEach
+    void createLog() throws IOException {
+        log = Files.createTempFile("console", ".log");
+    }
+
+    @AfterEach
+    void deleteLog() throws IOException {
+        Files.deleteIfExists(log);
+    }
+
+    @Test
+    void shouldFindSameIssuesAsParseOfWholeFile() throws IOException {
+        verifyIncrementalParse(JavacParser::new, "parser/javac.txt");
+        verifyIncrementalParse(() -> new GnuMakeGccParser("Linux"), "parser/gnuMakeGcc.txt");
+        verifyIncrementalParse(MavenConsoleParser::new, "parser/maven-console.txt");
+        verifyIncrementalParse(MavenConsoleParser::new, "parser/issue16826.txt");
+        verifyIncrementalParse(RFLintParser::new, "parser/rflint.txt");
+        verifyIncrementalParse(ResharperInspectCodeParser::new, "parser/ResharperInspectCode.xml");
+    }
+
+    private void verifyIncrementalParse(final Supplier<RegexpLineParser> parserFactory, final String fileName)
+            throws IOException {
+        byte[] content = Files.readAllBytes(getResource(fileName).toPath());
+        Issues<Issue> expected = parserFactory.get().parse(getResource(fileName), StandardCharsets.UTF_8,
+                createBuilder());
+        assertThat(expected).as(fileName).isNotEmpty();
+
+        Random random = new Random(fileName.hashCode());
+        RegexpLineParser parser = parserFactory.get();
+        Issues<Issue> increments = new Issues<>();
+        ParseState state = ParseState.START;
+        int written = 0;
+        Files.write(log, new byte[0]);
+        while (written < content.length) {
+            int end = Math.min(content.length, written + 1 + random.nextInt(MAX_INCREMENT));
+            Files.write(log, Arrays.copyOfRange(content, written, end), StandardOpenOption.APPEND);
+            written = end;
+
+            state = parser.parse(log.toFile(), StandardCharsets.UTF_8, createBuilder(), state, false);
+            increments.addAll(state.getNewIssues());
+            assertThat(state.getOffset()).isLessThanOrEqualTo(written);
+        }
+        state = parser.parse(log.toFile(), StandardCharsets.UTF_8, createBuilder(), state, true);
+        increments.addAll(state.getNewIssues());
+
+        assertThat(state.isFinished()).isTrue();
+        assertThat(state.getOffset()).isEqualTo(content.length);
+        assertThat(increments).as(fileName).containsExactlyElementsOf(expected);
+        assertThat(state.getIssues()).as(fileName).containsExactlyElementsOf(expected);
+        assertThat(state.getDuplicatesSize()).as(fileName).isEqualTo(expected.getDuplicatesSize());
+        assertThat(increments).as(fileName).extracting(Issue::getId)
+                .containsExactlyElementsOf(expected.stream().map(Issue::getId).collect(Collectors.toList()));
+    }
+
+    private IssueBuilder createBuilder() {
+        return new IssueBuilder().setIdGenerator(IssueIdGenerator.contentDerived());
+    }
+
+    @Test
+    void shouldResumeFromEachCheckpoint() throws IOException {
+        verifyCheckpoints(JavacParser::new, "parser/javac.txt");
+        verifyCheckpoints(() -> new GnuMakeGccParser("Linux"), "parser/gnuMakeGcc.txt");
+        verifyCheckpoints(MavenConsoleParser::new, "parser/maven-console.txt");
+        verifyCheckpoints(RFLintParser::new, "parser/rflint.txt");
+    }
+
+    private void verifyCheckpoints(final Supplier<RegexpLineParser> parserFactory, final String fileName)
+            throws IOException {
+        File report = getResource(fileName);
+        Issues<Issue> expected = parserFactory.get().parse(report, StandardCharsets.UTF_8, new IssueBuilder());
+        byte[] content = Files.readAllBytes(report.toPath());
+
+        List<ParseState> checkpoints = new ArrayList<>();
+        ParseState finished = parserFactory.get().parse(report, StandardCharsets.UTF_8, new IssueBuilder(),
+                ParseState.START, true, CHECKPOINT_INTERVAL, checkpoints::add);
+
+        assertThat(finished.getNewIssues()).as(fileName).containsExactlyElementsOf(expected);
+        assertThat(finished.getIssues()).as(fileName).containsExactlyElementsOf(expected);
+        assertThat(checkpoints).as(fileName).isNotEmpty();
+
+        long previousOffset = 0;
+        for (ParseState checkpoint : checkpoints) {
+            assertThat(checkpoint.getOffset()).isGreaterThanOrEqualTo(previousOffset + CHECKPOINT_INTERVAL);
+            assertThat(content[(int) checkpoint.getOffset() - 1]).isEqualTo((byte) '\n');
+            previousOffset = checkpoint.getOffset();
+
+            ParseState resumed = parserFactory.get().parse(report, StandardCharsets.UTF_8, new IssueBuilder(),
+                    SerializationUtils.clone(checkpoint), true);
+
+            assertThat(resumed.getIssues()).as(fileName).containsExactlyElementsOf(expected);
+            assertThat(resumed.getLine()).isEqualTo(finished.getLine());
+            assertThat(resumed.getDuplicatesSize()).isEqualTo(finished.getDuplicatesSize());
+        }
+    }
+
+    @Test
+    void shouldResumeFromEachSmallCheckpoint() throws IOException {
+        verifySmallCheckpoints(JavacParser::new, "parser/javac.txt");
+        verifySmallCheckpoints(() -> new GnuMakeGccParser("Linux"), "parser/gnuMakeGcc.txt");
+        verifySmallCheckpoints(MavenConsoleParser::new, "parser/maven-console.txt");
+        verifySmallCheckpoints(RFLintParser::new, "parser/rflint.txt");
+    }
+
+    private void verifySmallCheckpoints(final Supplier<RegexpLineParser> parserFactory, final String fileName) {
+        File report = getResource(fileName);
+        Issues<Issue> expected = parserFactory.get().parse(report, StandardCharsets.UTF_8, new IssueBuilder());
+
+        List<ParseCheckpoint> checkpoints = new ArrayList<>();
+        ParseState finished = parserFactory.get().parseWithCheckpoints(report, StandardCharsets.UTF_8,
+                new IssueBuilder(), ParseState.START, true, CHECKPOINT_INTERVAL, checkpoints::add);
+
+        assertThat(finished.getNewIssues()).as(fileName).containsExactlyElementsOf(expected);
+        assertThat(checkpoints).as(fileName).isNotEmpty();
+
+        Issues<Issue> stored = new Issues<>();
+        for (ParseCheckpoint checkpoint : checkpoints) {
+            ParseCheckpoint restored = SerializationUtils.clone(checkpoint);
+            stored.addAll(restored.getNewIssues());
+            assertThat(restored.getSize()).isEqualTo(stored.size());
+            assertThat(restored.getNewIssues().size()).isLessThan(expected.size());
+
+            ParseState resumed = parserFactory.get().parseWithCheckpoints(report, StandardCharsets.UTF_8,
+                    new IssueBuilder(), restored.toState(stored.copy()), true, CHECKPOINT_INTERVAL, state -> { });
+
+            assertThat(resumed.getIssues()).as(fileName).containsExactlyElementsOf(expected);
+            assertThat(resumed.getLine()).isEqualTo(finished.getLine());
+            assertThat(resumed.getDuplicatesSize()).isEqualTo(finished.getDuplicatesSize());
+        }
+        assertThatThrownBy(() -> checkpoints.get(checkpoints.size() - 1).toState(new Issues<>()))
+                .isInstanceOf(AssertionError.class);
+    }
+
+    @Test
+    void shouldRejectInvalidCheckpointInterval() {
+        assertThatThrownBy(() -> new JavacParser().parse(log.toFile(), StandardCharsets.UTF_8, new IssueBuilder(),
+                ParseState.START, true, 0, state -> { })).isInstanceOf(AssertionError.class);
+    }
+
+    @Test
+    void shouldParseOnlyCompleteLines() throws IOException {
+        String warning = "[WARNING] Test.java:[1,2] [deprecation] Größe\n";
+        write(warning.substring(0, warning.length() - 1));
+
+        JavacParser parser = new JavacParser();
+        ParseState incomplete = parse(parser, ParseState.START);
+        assertThat(incomplete.getNewIssues()).isEmpty();
+        assertThat(incomplete.getOffset()).isZero();
+        assertThat(incomplete.getLine()).isZero();
+
+        write("\n" + warning);
+        ParseState complete = parse(parser, incomplete);
+        assertThat(complete.getNewIssues()).hasSize(1);
+        assertThat(complete.getNewIssues().get(0).getMessage()).isEqualTo("Größe");
+        assertThat(complete.getOffset()).isEqualTo(Files.size(log));
+        assertThat(complete.getLine()).isEqualTo(2);
+        assertThat(complete.getDuplicatesSize()).isEqualTo(1);
+        assertThat(complete.toString()).isEqualTo("offset 96, line 2: 1 issues (0 open, 1 new)");
+    }
+
+    @Test
+    void shouldHoldBackWarningsThatMightBeCondensed() throws IOException {
+        MavenConsoleParser parser = new MavenConsoleParser();
+
+        write("[INFO] Compiling\n[WARNING] first\n");
+        ParseState first = parse(parser, ParseState.START);
+        assertThat(first.getNewIssues()).isEmpty();
+        assertThat(first.getOpenIssues()).hasSize(1);
+
+        write("[WARNING] second\n[INFO] Done\n");
+        ParseState second = parse(parser, first);
+        assertThat(second.getOpenIssues()).isEmpty();
+        assertThat(second.getNewIssues()).hasSize(1);
+        assertThat(second.getNewIssues().get(0).getMessage()).isEqualTo("first\nsecond");
+
+        write("[ERROR] failure");
+        ParseState finished = parser.parse(log.toFile(), StandardCharsets.UTF_8, new IssueBuilder(), second, true);
+        assertThat(finished.getNewIssues()).hasSize(1);
+        assertThat(finished.getIssues()).hasSize(2);
+        assertThat(finished.toString()).endsWith(", finished");
+    }
+
+    @Test
+    void shouldContinueWithDeserializedState() throws IOException {
+        GnuMakeGccParser parser = new GnuMakeGccParser("Linux");
+
+        write("make: Entering directory '/src/module'\n");
+        ParseState state = SerializationUtils.clone(parse(parser, ParseState.START));
+        assertThat(state.getNewIssues()).isEmpty();
+
+        write("file.c:10: warning: unused variable\n");
+        ParseState continued = parse(new GnuMakeGccParser("Linux"), state);
+
+        assertThat(continued.getNewIssues()).hasSize(1);
+        assertThat(continued.getNewIssues().get(0).getFileName()).isEqualTo("/src/module/file.c");
+        assertThat(continued.getLine()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRejectTruncatedFile() throws IOException {
+        JavacParser parser = new JavacParser();
+        write("[INFO] Compiling\n");
+        ParseState state = parse(parser, ParseState.START);
+
+        Files.write(log, new byte[0]);
+
+        assertThatThrownBy(() -> parse(parser, state)).isInstanceOf(ParsingException.class)
+                .hasMessageContaining("truncated");
+    }
+
+    @Test
+    void shouldNotContinueFinishedState() throws IOException {
+        JavacParser parser = new JavacParser();
+        write("[INFO] Compiling");
+        ParseState state = parser.parse(log.toFile(), StandardCharsets.UTF_8, new IssueBuilder(), ParseState.START,
+                true);
+
+        assertThat(state.getLine()).isEqualTo(1);
+        assertThatThrownBy(() -> parse(parser, state)).isInstanceOf(AssertionError.class);
+    }
+
+    private ParseState parse(final RegexpLineParser parser, final ParseState previous) {
+        return parser.parse(log.toFile(), StandardCharsets.UTF_8, new IssueBuilder(), previous, false);
+    }
+
+    private void write(final String text) throws IOException {
+        Files.write(log, text.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+    }
+
+    private File getResource(final String name) {
+        try {
+            return Paths.get(getClass().getResource(name).toURI()).toFile();
+        }
+        catch (URISyntaxException exception) {
+            throw new AssertionError(exception);
+        }
+    }
+}
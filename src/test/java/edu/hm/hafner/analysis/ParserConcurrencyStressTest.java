@@ -0,0 +1,137 @@
+package edu.hm.hafner.analysis;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.analysis.parser.GnuMakeGccParser;
+import edu.hm.hafner.analysis.parser.JavacParser;
+import edu.hm.hafner.analysis.parser.MavenConsoleParser;
+import edu.hm.hafner.analysis.parser.RFLintParser;
+import edu.hm.hafner.analysis.parser.ResharperInspectCodeParser;
+import edu.hm.hafner.analysis.parser.fxcop.FxCopParser;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Stress tests for parsers that are used by several threads at the same time. Each parser instance parses different
+ * files concurrently in several threads, using all variants of the parse: the plain parse of a file, a monitored parse
+ * with collected metrics, and an incremental parse with checkpoints. Each result must be equal to the result of a
+ * sequential parse of the same file with a new parser instance. <p> These tests run only in the {@code stress}
+ * profile: </p>
+ * <pre>
+ * mvn test -Pstress
+ * </pre>
+ *
+ * @author Ullrich Hafner
+ */
+@Tag("stress")
+class ParserConcurrencyStressTest {
+    private static final int THREADS = 8;
+    private static final int PARSES_PER_THREAD = 200;
+    private static final long CHECKPOINT_INTERVAL = 300;
+
+    @Test
+    void shouldParseDifferentFilesConcurrentlyWithLineParsers() throws Exception {
+        verifyConcurrentParses(JavacParser::new, "parser/javac.txt", "parser/javac-parallel-pipeline.txt",
+                "parser/maven.txt", "parser/kotlin-maven-plugin.txt");
+        verifyConcurrentParses(GnuMakeGccParser::new, "parser/gnuMakeGcc.txt", "parser/gcc.txt",
+                "parser/gcc4.txt");
+        verifyConcurrentParses(MavenConsoleParser::new, "parser/maven-console.txt", "parser/issue16826.txt");
+        verifyConcurrentParses(RFLintParser::new, "parser/rflint.txt");
+        verifyConcurrentParses(ResharperInspectCodeParser::new, "parser/ResharperInspectCode.xml");
+    }
+
+    @Test
+    void shouldParseDifferentFilesConcurrentlyWithXmlParsers() throws Exception {
+        verifyConcurrentParses(FxCopParser::new, "parser/fxcop.xml");
+    }
+
+    private void verifyConcurrentParses(final Supplier<? extends AbstractParser> parserFactory,
+            final String... fileNames) throws Exception {
+        Map<File, Issues<Issue>> expected = new LinkedHashMap<>();
+        Map<String, ParsingMetrics> expectedMetrics = new HashMap<>();
+        for (String fileName : fileNames) {
+            File file = getResource(fileName);
+            AbstractParser sequential = parserFactory.get();
+            sequential.setParsingListener(metrics -> expectedMetrics.put(metrics.getSource(), metrics));
+            expected.put(file, sequential.parse(file, StandardCharsets.UTF_8, new IssueBuilder()));
+        }
+        List<File> files = new ArrayList<>(expected.keySet());
+
+        AbstractParser parser = parserFactory.get();
+        parser.setParsingListener(metrics -> {
+            ParsingMetrics sequential = expectedMetrics.get(metrics.getSource());
+            assertThat(metrics.getLines()).as(metrics.getSource()).isEqualTo(sequential.getLines());
+            assertThat(metrics.getMatchAttempts()).as(metrics.getSource()).isEqualTo(sequential.getMatchAttempts());
+            assertThat(metrics.getIssues()).as(metrics.getSource()).isEqualTo(sequential.getIssues());
+        });
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            Random random = new Random(thread);
+            tasks.add(() -> {
+                start.await();
+                for (int i = 0; i < PARSES_PER_THREAD; i++) {
+                    File file = files.get(random.nextInt(files.size()));
+                    assertThat(parse(parser, file, random.nextInt(3)))
+                            .as("%s: %s", parser.getClass().getSimpleName(), file.getName())
+                            .containsExactlyElementsOf(expected.get(file));
+                }
+                return PARSES_PER_THREAD;
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (Callable<Integer> task : tasks) {
+                results.add(executor.submit(task));
+            }
+            start.countDown();
+            for (Future<Integer> result : results) {
+                assertThat(result.get(1, TimeUnit.MINUTES)).isEqualTo(PARSES_PER_THREAD);
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Issues<Issue> parse(final AbstractParser parser, final File file, final int variant) {
+        if (variant == 1) {
+            return parser.parse(file, StandardCharsets.UTF_8, new IssueBuilder(), new ParsingMonitor(10));
+        }
+        if (variant == 2 && parser instanceof RegexpLineParser) {
+            return ((RegexpLineParser) parser).parse(file, StandardCharsets.UTF_8, new IssueBuilder(),
+                    ParseState.START, true, CHECKPOINT_INTERVAL, checkpoint -> { }).getIssues();
+        }
+        return parser.parse(file, StandardCharsets.UTF_8, new IssueBuilder());
+    }
+
+    private File getResource(final String name) {
+        try {
+            return Paths.get(getClass().getResource(name).toURI()).toFile();
+        }
+        catch (URISyntaxException exception) {
+            throw new AssertionError(exception);
+        }
+    }
+}
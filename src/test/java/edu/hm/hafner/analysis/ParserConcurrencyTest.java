@@ -0,0 +1,98 @@
+package edu.hm.hafner.analysis;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.analysis.parser.GnuMakeGccParser;
+import edu.hm.hafner.analysis.parser.ResharperInspectCodeParser;
+import edu.hm.hafner.analysis.parser.fxcop.FxCopParser;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Verifies that a parser instance can be used by several threads at the same time. This is a small version of the
+ * {@link ParserConcurrencyStressTest} that runs in the default build: a few threads parse different files with the
+ * same parser instance, each result must be equal to the result of a sequential parse.
+ *
+ * @author Ullrich Hafner
+ */
+class ParserConcurrencyTest {
+    private static final int THREADS = 3;
+    private static final int PARSES_PER_THREAD = 10;
+
+    @Test
+    void shouldParseConcurrentlyWithLineParsers() throws Exception {
+        verifyConcurrentParses(GnuMakeGccParser::new, "parser/gnuMakeGcc.txt", "parser/gcc.txt");
+        verifyConcurrentParses(ResharperInspectCodeParser::new, "parser/ResharperInspectCode.xml");
+    }
+
+    @Test
+    void shouldParseConcurrentlyWithXmlParser() throws Exception {
+        verifyConcurrentParses(FxCopParser::new, "parser/fxcop.xml");
+    }
+
+    private void verifyConcurrentParses(final Supplier<? extends AbstractParser> parserFactory,
+            final String... fileNames) throws Exception {
+        Map<File, Issues<Issue>> expected = new LinkedHashMap<>();
+        for (String fileName : fileNames) {
+            File file = getResource(fileName);
+            expected.put(file, parserFactory.get().parse(file, StandardCharsets.UTF_8, new IssueBuilder()));
+        }
+        List<File> files = new ArrayList<>(expected.keySet());
+
+        AbstractParser parser = parserFactory.get();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            int offset = thread;
+            tasks.add(() -> {
+                start.await();
+                for (int i = 0; i < PARSES_PER_THREAD; i++) {
+                    File file = files.get((offset + i) % files.size());
+                    assertThat(parser.parse(file, StandardCharsets.UTF_8, new IssueBuilder()))
+                            .as("%s: %s", parser.getClass().getSimpleName(), file.getName())
+                            .containsExactlyElementsOf(expected.get(file));
+                }
+                return PARSES_PER_THREAD;
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (Callable<Integer> task : tasks) {
+                results.add(executor.submit(task));
+            }
+            start.countDown();
+            for (Future<Integer> result : results) {
+                assertThat(result.get(1, TimeUnit.MINUTES)).isEqualTo(PARSES_PER_THREAD);
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private File getResource(final String name) {
+        try {
+            return Paths.get(getClass().getResource(name).toURI()).toFile();
+        }
+        catch (URISyntaxException exception) {
+            throw new AssertionError(exception);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package edu.hm.hafner.analysis;
+
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.analysis.parser.JavacParser;
+import edu.hm.hafner.analysis.parser.MavenConsoleParser;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link ParsingContext}.
+ *
+ * @author Ullrich Hafner
+ */
+class ParsingContextTest {
+    private static final String LOG = "[INFO] Compiling\n[WARNING] first\n[INFO] Done\n[ERROR] second\n";
+
+    @Test
+    void shouldKeepStateOfOuterParseIfParserIsCalledAgain() {
+        MavenConsoleParser parser = new MavenConsoleParser();
+        Issues<Issue> expected = parser.parse(new StringReader(LOG));
+
+        JavacParser other = new JavacParser();
+        boolean[] isNested = {false};
+        parser.setTransformer(line -> {
+            if (!isNested[0]) {
+                isNested[0] = true;
+                assertThat(parser.parse(new StringReader("\n\n\n\n\n[WARNING] nested\n"))).hasSize(1);
+                assertThat(other.parse(new StringReader("[WARNING] Test.java:[1,2] [deprecation] nested\n")))
+                        .hasSize(1);
+                isNested[0] = false;
+            }
+            return line;
+        });
+
+        Issues<Issue> issues = parser.parse(new StringReader(LOG));
+
+        assertThat(issues).containsExactlyElementsOf(expected);
+        assertThat(issues.get(0).getLineStart()).isEqualTo(1);
+        assertThat(issues.get(1).getLineStart()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldRemoveContextAfterParse() {
+        MavenConsoleParser parser = new MavenConsoleParser();
+
+        assertThat(ParsingContext.current(parser)).isNull();
+        assertThat(parser.parse(new StringReader(LOG))).hasSize(2);
+        assertThat(ParsingContext.current(parser)).isNull();
+        assertThat(parser.getCurrentLine()).isZero();
+    }
+
+    @Test
+    void shouldInheritMonitorOfEnclosingContext() {
+        JavacParser parser = new JavacParser();
+        ParsingMonitor monitor = new ParsingMonitor();
+
+        try (ParsingContext outer = ParsingContext.begin(parser, null, monitor)) {
+            try (ParsingContext inner = ParsingContext.begin(parser)) {
+                assertThat(ParsingContext.current(parser)).isSameAs(inner);
+                assertThat(inner.getMonitor()).isSameAs(monitor);
+                assertThat(inner.getMetrics()).isNull();
+            }
+            assertThat(ParsingContext.current(parser)).isSameAs(outer);
+            assertThat(ParsingContext.current(new JavacParser())).isNull();
+        }
+        assertThat(ParsingContext.current(parser)).isNull();
+    }
+}
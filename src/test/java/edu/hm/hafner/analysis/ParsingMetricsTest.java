@@ -0,0 +1,125 @@
+package edu.hm.hafner.analysis;
+
+import java.io.File;
+import java.io.StringReader;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.analysis.parser.JavacParser;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the classes {@link ParsingMetrics} and {@link ParsingMetricsCollector}.
+ *
+ * @author Ullrich Hafner
+ */
+class ParsingMetricsTest {
+    private static final String REPORT = "parser/javac.txt";
+    private static final int LINES_OF_REPORT = 77;
+
+    @Test
+    void shouldNotCollectMetricsByDefault() {
+        AbstractParser parser = new JavacParser();
+
+        assertThat(parser.getParsingListener()).isSameAs(ParsingListener.NONE);
+
+        ParsingMetricsCollector collector = new ParsingMetricsCollector();
+        parser.setParsingListener(collector);
+        parser.setParsingListener(ParsingListener.NONE);
+        parser.parse(new StringReader("[javac] Test.java:1: warning: message"));
+
+        assertThat(collector.getMetrics()).isEmpty();
+        assertThat(parser.getMetrics()).isNull();
+    }
+
+    @Test
+    void shouldReportMetricsOfParsedFile() {
+        ParsingMetricsCollector collector = new ParsingMetricsCollector();
+        AbstractParser parser = new JavacParser();
+        parser.setParsingListener(collector);
+        File report = getResource(REPORT);
+
+        Issues<Issue> issues = parser.parse(report, StandardCharsets.UTF_8, new IssueBuilder().setOrigin("javac"));
+
+        assertThat(collector.getMetrics()).hasSize(1);
+        ParsingMetrics metrics = collector.getMetrics().get(0);
+        assertThat(metrics.getParser()).isEqualTo(JavacParser.class.getName());
+        assertThat(metrics.getSource()).isEqualTo(report.getAbsolutePath());
+        assertThat(metrics.getOrigin()).isEqualTo("javac");
+        assertThat(metrics.getBytes()).isEqualTo(report.length());
+        assertThat(metrics.getCharacters()).isEqualTo(report.length());
+        assertThat(metrics.getLines()).isEqualTo(LINES_OF_REPORT);
+        assertThat(metrics.getRejectedLines()).isPositive().isLessThan(LINES_OF_REPORT);
+        assertThat(metrics.getMatchAttempts()).isGreaterThanOrEqualTo(LINES_OF_REPORT - metrics.getRejectedLines());
+        assertThat(metrics.getIssues()).isEqualTo(issues.getSize() + issues.getDuplicatesSize());
+        assertThat(metrics.getDuplicates()).isEqualTo(issues.getDuplicatesSize());
+        assertThat(metrics.getTotalTime()).isPositive()
+                .isGreaterThanOrEqualTo(metrics.getMatchTime() + metrics.getPostProcessingTime());
+        assertThat(metrics.toString()).startsWith(JavacParser.class.getName())
+                .contains(String.format("%d lines", LINES_OF_REPORT));
+        assertThat(collector.getTotalTime()).isEqualTo(metrics.getTotalTime());
+
+        assertThat(issues.getLogMessages()).contains(String.format(
+                "Successfully parsed '%s': found %d issues (tool ID = javac)", report.getAbsolutePath(),
+                issues.getSize()));
+        assertThat(parser.getMetrics()).isNull();
+    }
+
+    @Test
+    void shouldReportMetricsOfParsedReader() {
+        ParsingMetricsCollector collector = new ParsingMetricsCollector();
+        JavacParser parser = new JavacParser();
+        parser.setParsingListener(collector);
+
+        String warning = "[WARNING] Test.java:[1,2] [deprecation] message\n";
+        parser.parse(new StringReader(warning + warning + "no warning"));
+        parser.parse(new StringReader(""));
+
+        assertThat(collector.getMetrics()).hasSize(2);
+        ParsingMetrics metrics = collector.getMetrics().get(0);
+        assertThat(metrics.getSource()).isEmpty();
+        assertThat(metrics.getOrigin()).isEmpty();
+        assertThat(metrics.getBytes()).isZero();
+        assertThat(metrics.getCharacters()).isEqualTo(warning.length() * 2 + 10);
+        assertThat(metrics.getLines()).isEqualTo(3);
+        assertThat(metrics.getRejectedLines()).isEqualTo(1);
+        assertThat(metrics.getIssues()).isEqualTo(2);
+        assertThat(metrics.getDuplicates()).isEqualTo(1);
+
+        ParsingMetrics empty = collector.getMetrics().get(1);
+        assertThat(empty.getLines()).isZero();
+        assertThat(empty.getCharacters()).isZero();
+        assertThat(empty.getIssues()).isZero();
+
+        collector.clear();
+        assertThat(collector.getMetrics()).isEmpty();
+        assertThat(collector.getTotalTime()).isZero();
+    }
+
+    @Test
+    void shouldLogSummaryOfIssues() {
+        Issues<Issue> issues = new Issues<>();
+        IssueBuilder builder = new IssueBuilder();
+        issues.add(builder.setMessage("first").build());
+        issues.add(builder.setMessage("second").build());
+        issues.add(builder.setMessage("second").build());
+
+        ParsingMetrics.of("file.txt", "tool", issues).log(issues);
+
+        assertThat(issues.getLogMessages()).containsExactly(
+                "Successfully parsed 'file.txt': found 2 issues (tool ID = tool)",
+                "Note: one issue has been dropped since it is a duplicate");
+    }
+
+    private File getResource(final String name) {
+        try {
+            return Paths.get(getClass().getResource(name).toURI()).toFile();
+        }
+        catch (URISyntaxException exception) {
+            throw new AssertionError(exception);
+        }
+    }
+}
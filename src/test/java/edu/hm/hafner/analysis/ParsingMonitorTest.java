@@ -0,0 +1,159 @@
+package edu.hm.hafner.analysis;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.analysis.parser.JavacParser;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link ParsingMonitor}.
+ *
+ * @author Ullrich Hafner
+ */
+class ParsingMonitorTest {
+    private static final String REPORT = "parser/javac.txt";
+
+    @Test
+    void shouldReportProgressOfParsedFile() {
+        File report = getResource(REPORT);
+        RecordingMonitor monitor = new RecordingMonitor();
+
+        Issues<Issue> issues = new JavacParser().parse(report, StandardCharsets.UTF_8, new IssueBuilder(), monitor);
+
+        assertThat(issues).isNotEmpty();
+        assertThat(monitor.processed).isNotEmpty().isSorted().doesNotHaveDuplicates();
+        assertThat(monitor.processed.get(monitor.processed.size() - 1)).isEqualTo(report.length());
+        assertThat(monitor.totals).containsOnly(report.length());
+    }
+
+    @Test
+    void shouldCancelParseOfFile() {
+        RecordingMonitor monitor = new RecordingMonitor();
+        monitor.cancel();
+
+        assertThat(monitor.isCanceled()).isTrue();
+        assertThatThrownBy(() -> new JavacParser().parse(getResource(REPORT), StandardCharsets.UTF_8,
+                new IssueBuilder(), monitor)).isInstanceOf(ParsingCanceledException.class);
+        assertThat(monitor.processed).isEmpty();
+    }
+
+    @Test
+    void shouldCheckMonitorAtConfiguredGranularity() {
+        ParsingMonitor monitor = new ParsingMonitor(5);
+        LoopParser parser = new LoopParser(monitor, 3);
+
+        assertThat(monitor.getGranularity()).isEqualTo(5);
+        assertThatThrownBy(() -> parser.parse(getResource(REPORT), StandardCharsets.UTF_8, new IssueBuilder(),
+                monitor)).isInstanceOf(ParsingCanceledException.class);
+        assertThat(parser.iterations).isEqualTo(5);
+    }
+
+    @Test
+    void shouldCheckInterruptedFlagIfNotMonitored() {
+        Thread.currentThread().interrupt();
+
+        assertThatThrownBy(() -> new JavacParser().parse(new StringReader("first line\nsecond line")))
+                .isInstanceOf(ParsingCanceledException.class);
+        assertThat(Thread.currentThread().isInterrupted()).isFalse();
+    }
+
+    @Test
+    void shouldReportProgressOfFingerprints() {
+        IssueBuilder builder = new IssueBuilder().setFileName("does-not-exist.txt");
+        Issues<Issue> issues = new Issues<>();
+        for (int line = 1; line <= 10; line++) {
+            issues.add(builder.setLineStart(line).build());
+        }
+        RecordingMonitor monitor = new RecordingMonitor(3);
+
+        Issues<Issue> fingerprinted = new FingerprintGenerator().run(issues, StandardCharsets.UTF_8, monitor);
+
+        assertThat(fingerprinted).hasSize(10);
+        assertThat(monitor.processed).containsExactly(3L, 6L, 9L, 10L);
+        assertThat(monitor.totals).containsOnly(10L);
+    }
+
+    @Test
+    void shouldRejectInvalidGranularity() {
+        assertThatThrownBy(() -> new ParsingMonitor(0)).isInstanceOf(AssertionError.class);
+    }
+
+    private File getResource(final String name) {
+        try {
+            return Paths.get(getClass().getResource(name).toURI()).toFile();
+        }
+        catch (URISyntaxException exception) {
+            throw new AssertionError(exception);
+        }
+    }
+
+    /**
+     * A monitor that records the reported progress.
+     */
+    private static class RecordingMonitor extends ParsingMonitor {
+        private final List<Long> processed = new ArrayList<>();
+        private final List<Long> totals = new ArrayList<>();
+
+        RecordingMonitor() {
+            super();
+        }
+
+        RecordingMonitor(final int granularity) {
+            super(granularity);
+        }
+
+        @Override
+        protected void progress(final long processedUnits, final long totalUnits) {
+            processed.add(processedUnits);
+            totals.add(totalUnits);
+        }
+    }
+
+    /**
+     * A parser that reads the whole input and then checks the monitor in an endless loop. The monitor is canceled
+     * after the specified number of iterations.
+     */
+    private static class LoopParser extends AbstractParser {
+        private static final long serialVersionUID = 1L;
+
+        private final transient ParsingMonitor monitor;
+        private final int cancelAfter;
+        private int iterations;
+
+        LoopParser(final ParsingMonitor monitor, final int cancelAfter) {
+            super();
+
+            this.monitor = monitor;
+            this.cancelAfter = cancelAfter;
+        }
+
+        @Override
+        public Issues<Issue> parse(final Reader reader, final IssueBuilder builder) {
+            try {
+                IOUtils.toString(reader);
+            }
+            catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+            while (true) {
+                iterations++;
+                if (iterations == cancelAfter) {
+                    monitor.cancel();
+                }
+                checkCanceled();
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package edu.hm.hafner.analysis;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link SourceFileCache}.
+ *
+ * @author Ullrich Hafner
+ */
+class SourceFileCacheTest {
+    @Test
+    void shouldReturnCachedFile() throws IOException {
+        Path path = createFile("1\n2\n3");
+        try {
+            SourceFileCache cache = new SourceFileCache();
+
+            SourceFile file = cache.get(path.toString(), StandardCharsets.UTF_8);
+
+            assertThat(file.getLines(1, 3)).containsExactly("1", "2", "3");
+            assertThat(cache.get(path.toString(), StandardCharsets.UTF_8)).isSameAs(file);
+            assertThat(cache.size()).isEqualTo(1);
+            assertThat(cache.getCachedBytes()).isEqualTo(5);
+        }
+        finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    void shouldReadModifiedFileAgain() throws IOException {
+        Path path = createFile("1\n2\n3");
+        try {
+            SourceFileCache cache = new SourceFileCache();
+            SourceFile file = cache.get(path.toString(), StandardCharsets.UTF_8);
+
+            Files.write(path, "changed".getBytes(StandardCharsets.UTF_8));
+            Files.setLastModifiedTime(path, FileTime.fromMillis(0));
+
+            SourceFile changed = cache.get(path.toString(), StandardCharsets.UTF_8);
+            assertThat(changed).isNotSameAs(file);
+            assertThat(changed.getLine(1)).isEqualTo("changed");
+            assertThat(cache.getCachedBytes()).isEqualTo(7);
+        }
+        finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedFiles() throws IOException {
+        Path first = createFile("0123456789");
+        Path second = createFile("0123456789");
+        Path third = createFile("0123456789");
+        try {
+            SourceFileCache cache = new SourceFileCache(25);
+
+            SourceFile firstFile = cache.get(first.toString(), StandardCharsets.UTF_8);
+            cache.get(second.toString(), StandardCharsets.UTF_8);
+            assertThat(cache.get(first.toString(), StandardCharsets.UTF_8)).isSameAs(firstFile);
+
+            cache.get(third.toString(), StandardCharsets.UTF_8);
+
+            assertThat(cache.size()).isEqualTo(2);
+            assertThat(cache.getCachedBytes()).isEqualTo(20);
+            assertThat(cache.get(first.toString(), StandardCharsets.UTF_8)).isSameAs(firstFile);
+        }
+        finally {
+            Files.delete(first);
+            Files.delete(second);
+            Files.delete(third);
+        }
+    }
+
+    @Test
+    void shouldNotLockLargeFiles() throws IOException {
+        String line = StringUtils.repeat('x', 99);
+        Path path = createFile(StringUtils.repeat(line, "\n", 2000));
+        try {
+            SourceFile file = new SourceFileCache().get(path.toString(), StandardCharsets.UTF_8);
+
+            Files.write(path, "changed".getBytes(StandardCharsets.UTF_8));
+
+            assertThat(file.getLineCount()).isEqualTo(2000);
+            assertThat(file.getLine(1000)).isEqualTo(line);
+        }
+        finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    void shouldThrowExceptionIfFileDoesNotExist() {
+        assertThatThrownBy(() -> new SourceFileCache().get("/does/not/exist", StandardCharsets.UTF_8))
+                .isInstanceOf(NoSuchFileException.class);
+    }
+
+    private Path createFile(final String content) throws IOException {
+        Path path = Files.createTempFile("source-file-cache", ".txt");
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+        return path;
+    }
+}
@@ -0,0 +1,70 @@
+package edu.hm.hafner.analysis;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link SourceFile}.
+ *
+ * @author Ullrich Hafner
+ */
+class SourceFileTest {
+    @Test
+    void shouldHandleEmptyFile() {
+        SourceFile file = createSourceFile("");
+
+        assertThat(file.getLineCount()).isEqualTo(0);
+        assertThat(file.getLines(1, 10)).isEmpty();
+        assertThatThrownBy(() -> file.getLine(1)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void shouldSplitLinesLikeBufferedReader() {
+        SourceFile file = createSourceFile("one\ntwo\r\nthree\rfour\n\nsix");
+
+        assertThat(file.getLineCount()).isEqualTo(6);
+        assertThat(file.getLines(1, 6)).containsExactly("one", "two", "three", "four", "", "six");
+    }
+
+    @Test
+    void shouldIgnoreTrailingLineSeparator() {
+        SourceFile file = createSourceFile("one\r\ntwo\r\n");
+
+        assertThat(file.getLineCount()).isEqualTo(2);
+        assertThat(file.getLine(2)).isEqualTo("two");
+    }
+
+    @Test
+    void shouldRestrictRangeToExistingLines() {
+        SourceFile file = createSourceFile("1\n2\n3\n4\n5");
+
+        assertThat(file.getLines(-2, 2)).containsExactly("1", "2");
+        assertThat(file.getLines(4, 10)).containsExactly("4", "5");
+        assertThat(file.getLines(6, 10)).isEmpty();
+        assertThat(file.getLines(3, 2)).isEmpty();
+    }
+
+    @Test
+    void shouldDecodeMultiByteCharacters() {
+        SourceFile file = createSourceFile("Grüße\n€uro");
+
+        assertThat(file.getLines(1, 2)).containsExactly("Grüße", "€uro");
+    }
+
+    @Test
+    void shouldDecodeCharsetThatIsNotAsciiCompatible() {
+        assertThat(SourceFile.isAsciiCompatible(StandardCharsets.UTF_16)).isFalse();
+
+        SourceFile file = SourceFile.decode("one\ntwo".getBytes(StandardCharsets.UTF_16), StandardCharsets.UTF_16);
+
+        assertThat(file.getLines(1, 2)).containsExactly("one", "two");
+    }
+
+    private SourceFile createSourceFile(final String content) {
+        return new SourceFile(ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8);
+    }
+}
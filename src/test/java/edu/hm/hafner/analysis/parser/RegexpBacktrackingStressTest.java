@@ -0,0 +1,461 @@
+package edu.hm.hafner.analysis.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+import edu.hm.hafner.analysis.FastRegexpLineParser;
+import edu.hm.hafner.analysis.RegexpLineParser;
+import edu.hm.hafner.analysis.RegexpParser;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Stress tests for the regular expressions of all {@link RegexpParser} sub-classes. For each pattern of a parser (the
+ * main pattern and all static {@link Pattern} fields) near-miss inputs of growing length are generated: lines of the
+ * test reports that match the pattern are stretched by repeating a character or a part of the line, optionally cut off
+ * at the end. The work of the regular expression engine is measured by counting the character reads, so the results
+ * are deterministic and independent of the machine. A pattern fails if the work grows faster than near-linear with the
+ * input length or if it exceeds the budget. <p> These tests run only in the {@code stress} profile: </p>
+ * <pre>
+ * mvn test -Pstress
+ * </pre>
+ *
+ * @author Ullrich Hafner
+ */
+@Tag("stress")
+class RegexpBacktrackingStressTest {
+    private static final String PARSER_PACKAGE = "edu/hm/hafner/analysis/parser";
+    private static final int[] LENGTHS = {256, 512, 1024, 2048};
+    /** Maximum number of character reads for the longest input. */
+    private static final long BUDGET = 20_000_000L;
+    /** Maximum exponent of the growth of the work for near-linear patterns, 1 is linear and 2 is quadratic. */
+    private static final double LINEAR = 1.3;
+    /** Maximum exponent of the growth of the work for the known quadratic patterns. */
+    private static final double QUADRATIC = 2.5;
+    /**
+     * Patterns that are known to grow quadratically: an unanchored pattern that starts with a greedy or reluctant
+     * wildcard scans the rest of the line for each start position.
+     */
+    private static final Set<String> KNOWN_QUADRATIC = new HashSet<>(Arrays.asList(
+            "ClangParser", "CppLintParser", "DrMemoryParser", "DrMemoryParser.JENKINS_PATH_PATTERN",
+            "Gcc4CompilerParser", "GhsMultiParser", "GnuFortranParser", "IarParser", "IntelParser", "JavacParser",
+            "LinuxKernelOutputParser.FILE_PATH_PATTERN", "NagFortranParser", "Pep8Parser", "PhpParser",
+            "SbtScalacParser", "ScalacParser", "XlcCompilerParser", "YuiCompressorParser"));
+    /**
+     * Patterns that are known to backtrack catastrophically: several wildcards in sequence multiply the work. These
+     * patterns need to be rewritten.
+     */
+    private static final Set<String> KNOWN_CATASTROPHIC = new HashSet<>(Arrays.asList(
+            "AnsibleLintParser", "CodeAnalysisParser", "DrMemoryParser.FILE_PATH_PATTERN", "EclipseParser",
+            "GnuMakeGccParser", "MsBuildParser", "PREfastParser", "PerlCriticParser", "PyLintParser",
+            "RFLintParser", "ResharperInspectCodeParser", "TiCcsParser", "TnsdlParser"));
+    /** Marks an input that causes a {@link StackOverflowError} in the regular expression engine. */
+    private static final long STACK_OVERFLOW = Long.MAX_VALUE;
+    private static final int SEEDS_PER_PATTERN = 5;
+    private static final int INSERTIONS_PER_SEED = 8;
+    private static final int MAXIMUM_SEED_LENGTH = 500;
+
+    private static final List<String> REPORT_LINES = new ArrayList<>();
+    private static final List<String> REPORTS = new ArrayList<>();
+
+    @BeforeAll
+    static void readReports() throws IOException, URISyntaxException {
+        File[] files = getPackageFolder(RegexpBacktrackingStressTest.class.getClassLoader().getResource(PARSER_PACKAGE))
+                .listFiles(file -> file.isFile() && !file.getName().endsWith(".class"));
+        Arrays.sort(files);
+        for (File file : files) {
+            String content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+            for (String line : content.split("\r?\n")) {
+                if (!line.trim().isEmpty() && line.length() <= MAXIMUM_SEED_LENGTH) {
+                    REPORT_LINES.add(line);
+                }
+            }
+            if (content.length() < 200_000) {
+                REPORTS.add(content.replace("\r", ""));
+            }
+        }
+    }
+
+    /**
+     * Verifies that the work of all parser patterns grows near-linearly with the length of near-miss inputs. The known
+     * offenders are tolerated, but must not get worse. The ranking of all patterns that do not scale linearly is
+     * published to the test report and is part of the assertion messages, the worst scaling pattern first.
+     *
+     * @param reporter
+     *         receives the ranking of the patterns
+     */
+    @Test
+    void shouldScaleLinearlyForNearMissInputs(final TestReporter reporter)
+            throws ReflectiveOperationException, URISyntaxException {
+        List<Measurement> measurements = new ArrayList<>();
+        for (Class<?> parserClass : findParsers()) {
+            RegexpParser parser = (RegexpParser) parserClass.getConstructor().newInstance();
+            for (Map.Entry<String, Pattern> pattern : getPatterns(parser).entrySet()) {
+                measurements.add(measure(parser, pattern.getKey(), pattern.getValue()));
+            }
+        }
+        measurements.sort(Comparator.comparingDouble(Measurement::getExponent).reversed());
+        String ranking = createReport(measurements.stream()
+                .filter(measurement -> measurement.getExponent() > LINEAR)
+                .collect(Collectors.toList()));
+        reporter.publishEntry("ranking", ranking);
+
+        assertThat(measurements).isNotEmpty();
+        assertThat(measurements.stream()
+                .filter(measurement -> !KNOWN_QUADRATIC.contains(measurement.getPattern())
+                        && !KNOWN_CATASTROPHIC.contains(measurement.getPattern())
+                        && measurement.getExponent() > LINEAR)
+                .collect(Collectors.toList())).as("Patterns that do not scale near-linearly%n%s", ranking).isEmpty();
+        assertThat(measurements.stream()
+                .filter(measurement -> KNOWN_QUADRATIC.contains(measurement.getPattern())
+                        && measurement.getExponent() > QUADRATIC)
+                .collect(Collectors.toList())).as("Known quadratic patterns that got worse%n%s", ranking).isEmpty();
+        assertThat(measurements.stream()
+                .filter(measurement -> (KNOWN_QUADRATIC.contains(measurement.getPattern())
+                        || KNOWN_CATASTROPHIC.contains(measurement.getPattern()))
+                        && measurement.getExponent() <= LINEAR)
+                .collect(Collectors.toList()))
+                .as("Fixed patterns, remove them from the known offenders%n%s", ranking).isEmpty();
+    }
+
+    private static String createReport(final List<Measurement> measurements) {
+        StringBuilder report = new StringBuilder(
+                String.format("Patterns that do not scale near-linearly (exponent > %.1f or more than %d reads):%n",
+                        LINEAR, BUDGET));
+        for (Measurement measurement : measurements) {
+            report.append(measurement).append(String.format("%n"));
+        }
+        return report.toString();
+    }
+
+    private List<Class<?>> findParsers() throws URISyntaxException {
+        List<Class<?>> parsers = new ArrayList<>();
+        File folder = getPackageFolder(RegexpParser.class.getClassLoader().getResource(PARSER_PACKAGE
+                + "/GccParser.class")).getParentFile();
+        String[] names = folder.list((directory, name) -> name.endsWith(".class") && !name.contains("$"));
+        Arrays.sort(names);
+        for (String name : names) {
+            try {
+                Class<?> type = Class.forName(PARSER_PACKAGE.replace('/', '.') + "."
+                        + name.substring(0, name.length() - ".class".length()));
+                if (RegexpParser.class.isAssignableFrom(type) && !Modifier.isAbstract(type.getModifiers())
+                        && Arrays.stream(type.getConstructors()).anyMatch(c -> c.getParameterCount() == 0)) {
+                    parsers.add(type);
+                }
+            }
+            catch (ClassNotFoundException exception) {
+                throw new AssertionError(exception);
+            }
+        }
+        return parsers;
+    }
+
+    private static File getPackageFolder(final URL url) throws URISyntaxException {
+        assertThat(url).as("Resource not found").isNotNull();
+        assertThat(url.getProtocol()).as("Parsers must be available as class files").isEqualTo("file");
+        return new File(url.toURI());
+    }
+
+    private Map<String, Pattern> getPatterns(final RegexpParser parser) throws ReflectiveOperationException {
+        Map<String, Pattern> patterns = new LinkedHashMap<>();
+        Field main = RegexpParser.class.getDeclaredField("pattern");
+        main.setAccessible(true);
+        patterns.put(parser.getClass().getSimpleName(), (Pattern) main.get(parser));
+
+        for (Class<?> type = parser.getClass(); type != RegexpParser.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) && field.getType() == Pattern.class) {
+                    field.setAccessible(true);
+                    patterns.put(type.getSimpleName() + "." + field.getName(), (Pattern) field.get(null));
+                }
+            }
+        }
+        return patterns;
+    }
+
+    private Measurement measure(final RegexpParser parser, final String name, final Pattern pattern)
+            throws ReflectiveOperationException {
+        boolean isLineBased = parser instanceof RegexpLineParser;
+        Method isLineInteresting = null;
+        if (parser instanceof FastRegexpLineParser) {
+            isLineInteresting = parser.getClass().getDeclaredMethod("isLineInteresting", String.class);
+            isLineInteresting.setAccessible(true);
+        }
+
+        Measurement worst = new Measurement(name);
+        for (String seed : findSeeds(pattern, isLineBased)) {
+            for (NearMiss nearMiss : createNearMisses(seed)) {
+                long[] reads = new long[LENGTHS.length];
+                for (int i = 0; i < LENGTHS.length; i++) {
+                    String input = nearMiss.create(LENGTHS[i]);
+                    if (isLineInteresting != null && !(Boolean) isLineInteresting.invoke(parser, input)) {
+                        break; // the parser skips such lines without evaluating the pattern
+                    }
+                    reads[i] = countReads(pattern, input, BUDGET);
+                    if (reads[i] > BUDGET) {
+                        break;
+                    }
+                }
+                worst = worst.max(new Measurement(name, nearMiss.toString(), reads));
+            }
+        }
+        return worst;
+    }
+
+    private Set<String> findSeeds(final Pattern pattern, final boolean isLineBased) {
+        Set<String> seeds = new LinkedHashSet<>();
+        for (String line : REPORT_LINES) {
+            if (seeds.size() >= SEEDS_PER_PATTERN) {
+                return seeds;
+            }
+            if (matches(pattern, line)) {
+                seeds.add(line);
+            }
+        }
+        if (!isLineBased) {
+            for (String report : REPORTS) {
+                if (seeds.size() >= SEEDS_PER_PATTERN) {
+                    return seeds;
+                }
+                Matcher matcher = pattern.matcher(new CountingSequence(report, BUDGET));
+                try {
+                    if (matcher.find() && matcher.end() - matcher.start() <= MAXIMUM_SEED_LENGTH * 4) {
+                        seeds.add(matcher.group());
+                    }
+                }
+                catch (BudgetExceededException | StackOverflowError exception) {
+                    // ignore reports that are too expensive to use as seeds
+                }
+            }
+        }
+        return seeds;
+    }
+
+    private boolean matches(final Pattern pattern, final String line) {
+        try {
+            return pattern.matcher(new CountingSequence(line, BUDGET)).find();
+        }
+        catch (BudgetExceededException | StackOverflowError exception) {
+            return false;
+        }
+    }
+
+    /**
+     * Creates the near-miss inputs for a seed: the seed is stretched by repeating the first half of the seed or the
+     * character at several positions where the kind of the characters changes. Each of these inputs is also cut off
+     * after the stretched part, so that the end of the pattern does not match.
+     */
+    private List<NearMiss> createNearMisses(final String seed) {
+        List<NearMiss> nearMisses = new ArrayList<>();
+        int middle = Math.max(seed.length() / 2, 1);
+        nearMisses.add(new NearMiss(seed, 0, seed.substring(0, middle), middle, false));
+        nearMisses.add(new NearMiss(seed, 0, seed.substring(0, middle), middle, true));
+
+        int insertions = 0;
+        for (int i = 1; i < seed.length() && insertions < INSERTIONS_PER_SEED; i++) {
+            if (Character.getType(seed.charAt(i)) != Character.getType(seed.charAt(i - 1))) {
+                String repeated = String.valueOf(seed.charAt(i));
+                nearMisses.add(new NearMiss(seed, i, repeated, i, false));
+                nearMisses.add(new NearMiss(seed, i, repeated, i, true));
+                insertions++;
+            }
+        }
+        return nearMisses;
+    }
+
+    private static long countReads(final Pattern pattern, final String input, final long budget) {
+        CountingSequence sequence = new CountingSequence(input, budget);
+        try {
+            Matcher matcher = pattern.matcher(sequence);
+            while (matcher.find()) {
+                // count the reads of all matches
+            }
+        }
+        catch (BudgetExceededException exception) {
+            return budget + 1;
+        }
+        catch (StackOverflowError error) {
+            return STACK_OVERFLOW;
+        }
+        return sequence.getReads();
+    }
+
+    /**
+     * A near-miss input: a seed that is stretched to a given length by inserting a repeated text at a given position.
+     */
+    private static class NearMiss {
+        private final String seed;
+        private final int position;
+        private final String repeated;
+        private final int start;
+        private final boolean isCut;
+
+        NearMiss(final String seed, final int position, final String repeated, final int start, final boolean isCut) {
+            this.seed = seed;
+            this.position = position;
+            this.repeated = repeated;
+            this.start = start;
+            this.isCut = isCut;
+        }
+
+        String create(final int length) {
+            StringBuilder input = new StringBuilder(length + seed.length());
+            input.append(seed, 0, position);
+            while (input.length() < length) {
+                input.append(repeated);
+            }
+            if (!isCut) {
+                input.append(seed, start, seed.length());
+            }
+            return input.toString();
+        }
+
+        @Override
+        public String toString() {
+            String text = seed.length() > 80 ? seed.substring(0, 80) + "..." : seed;
+            return String.format("'%s' repeated at %d%s in '%s'",
+                    repeated.length() > 20 ? repeated.substring(0, 20) + "..." : repeated, position,
+                    isCut ? " (cut)" : "", text.replace("\n", "\\n"));
+        }
+    }
+
+    /**
+     * The work of a pattern for a near-miss input of growing lengths.
+     */
+    private static class Measurement {
+        private final String pattern;
+        private final String input;
+        private final long[] reads;
+        private final double exponent;
+
+        Measurement(final String pattern) {
+            this(pattern, "no seed found", new long[0]);
+        }
+
+        Measurement(final String pattern, final String input, final long[] reads) {
+            this.pattern = pattern;
+            this.input = input;
+            this.reads = reads;
+            exponent = computeExponent(reads);
+        }
+
+        /**
+         * Computes the exponent of the growth of the work between the shortest and the longest input. If the budget
+         * has been exceeded, the exponent is infinite.
+         */
+        private static double computeExponent(final long[] reads) {
+            if (reads.length < 2 || reads[0] == 0) {
+                return 0;
+            }
+            int last = reads.length - 1;
+            if (reads[last] == 0) {
+                return Arrays.stream(reads).anyMatch(value -> value > BUDGET) ? Double.POSITIVE_INFINITY : 0;
+            }
+            if (reads[last] > BUDGET) {
+                return Double.POSITIVE_INFINITY;
+            }
+            return Math.log((double) reads[last] / reads[0]) / Math.log((double) LENGTHS[last] / LENGTHS[0]);
+        }
+
+        String getPattern() {
+            return pattern;
+        }
+
+        double getExponent() {
+            return exponent;
+        }
+
+        Measurement max(final Measurement other) {
+            return other.exponent > exponent ? other : this;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-45s exponent %5.2f, reads %s for %s%s", pattern, exponent,
+                    Arrays.toString(reads), input,
+                    Arrays.stream(reads).anyMatch(value -> value == STACK_OVERFLOW) ? " (stack overflow)" : "");
+        }
+    }
+
+    /**
+     * A character sequence that counts the number of character reads and aborts the matching if the budget is
+     * exceeded.
+     */
+    private static class CountingSequence implements CharSequence {
+        private final String text;
+        private final int offset;
+        private final int length;
+        private final long[] reads;
+        private final long budget;
+
+        CountingSequence(final String text, final long budget) {
+            this(text, 0, text.length(), new long[1], budget);
+        }
+
+        private CountingSequence(final String text, final int offset, final int length, final long[] reads,
+                final long budget) {
+            this.text = text;
+            this.offset = offset;
+            this.length = length;
+            this.reads = reads;
+            this.budget = budget;
+        }
+
+        long getReads() {
+            return reads[0];
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(final int index) {
+            if (++reads[0] > budget) {
+                throw new BudgetExceededException();
+            }
+            return text.charAt(offset + index);
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            return new CountingSequence(text, offset + start, end - start, reads, budget);
+        }
+
+        @Override
+        public String toString() {
+            return text.substring(offset, offset + length);
+        }
+    }
+
+    /**
+     * Thrown if a pattern exceeds the budget of character reads.
+     */
+    private static class BudgetExceededException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+    }
+}
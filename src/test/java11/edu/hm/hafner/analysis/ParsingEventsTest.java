@@ -0,0 +1,124 @@
+package edu.hm.hafner.analysis;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.analysis.parser.GnuMakeGccParser;
+import edu.hm.hafner.analysis.parser.fxcop.FxCopParser;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link ParsingEvents} using a recording of the JDK Flight Recorder. The test is compiled and run
+ * only with the profile {@code java11}.
+ *
+ * @author Ullrich Hafner
+ */
+class ParsingEventsTest {
+    private static final String PREFIX = "edu.hm.hafner.analysis.";
+    private static final String PARSE = PREFIX + "Parse";
+    private static final String MATCH = PREFIX + "Match";
+    private static final String FINGERPRINT_BATCH = PREFIX + "FingerprintBatch";
+    private static final String XML_DOCUMENT = PREFIX + "XmlDocument";
+
+    @Test
+    void shouldRecordParseAndMatchEvents() throws IOException {
+        File report = getResource("parser/gnuMakeGcc.txt");
+
+        List<RecordedEvent> events = record(() -> new GnuMakeGccParser().parse(report, StandardCharsets.UTF_8,
+                new IssueBuilder()));
+
+        List<RecordedEvent> parses = filter(events, PARSE);
+        assertThat(parses).hasSize(1);
+        RecordedEvent parse = parses.get(0);
+        assertThat(parse.getString("parser")).isEqualTo(GnuMakeGccParser.class.getName());
+        assertThat(parse.getString("fileName")).isEqualTo(report.getAbsolutePath());
+        assertThat(parse.getInt("issues")).isEqualTo(15);
+
+        List<RecordedEvent> matches = filter(events, MATCH);
+        assertThat(matches).isNotEmpty();
+        assertThat(matches).allSatisfy(match -> {
+            assertThat(match.getString("parser")).isEqualTo(GnuMakeGccParser.class.getName());
+            assertThat(match.getInt("line")).isGreaterThanOrEqualTo(0);
+        });
+        assertThat(matches.stream().filter(match -> match.getBoolean("found")).count()).isGreaterThanOrEqualTo(15);
+    }
+
+    @Test
+    void shouldRecordXmlDocumentEvent() throws IOException {
+        File report = getResource("parser/fxcop.xml");
+
+        List<RecordedEvent> events = record(() -> new FxCopParser().parse(report, StandardCharsets.UTF_8,
+                new IssueBuilder()));
+
+        List<RecordedEvent> documents = filter(events, XML_DOCUMENT);
+        assertThat(documents).hasSize(1);
+        assertThat(documents.get(0).getString("parser")).isEqualTo(FxCopParser.class.getName());
+
+        List<RecordedEvent> parses = filter(events, PARSE);
+        assertThat(parses).hasSize(1);
+        assertThat(parses.get(0).getString("parser")).isEqualTo(FxCopParser.class.getName());
+        assertThat(parses.get(0).getInt("issues")).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRecordOneEventPerFingerprintBatch() throws IOException {
+        Issues<Issue> issues = new Issues<>();
+        IssueBuilder builder = new IssueBuilder().setLineStart(5);
+        issues.add(builder.setFileName(getResource("fingerprint-one.txt").getAbsolutePath()).build());
+        issues.add(builder.setFileName(getResource("fingerprint-two.txt").getAbsolutePath()).build());
+
+        List<RecordedEvent> events = record(() -> new FingerprintGenerator().run(issues, StandardCharsets.UTF_8,
+                new ParsingMonitor()));
+
+        List<RecordedEvent> batches = filter(events, FINGERPRINT_BATCH);
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0).getInt("fingerprints")).isEqualTo(2);
+    }
+
+    private List<RecordedEvent> record(final Runnable action) throws IOException {
+        Path dump = Files.createTempFile("parsing-events", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(PARSE).withoutThreshold();
+            recording.enable(MATCH).withoutThreshold();
+            recording.enable(FINGERPRINT_BATCH).withoutThreshold();
+            recording.enable(XML_DOCUMENT).withoutThreshold();
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(dump);
+
+            return RecordingFile.readAllEvents(dump);
+        }
+        finally {
+            Files.delete(dump);
+        }
+    }
+
+    private List<RecordedEvent> filter(final List<RecordedEvent> events, final String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .collect(Collectors.toList());
+    }
+
+    private File getResource(final String name) {
+        try {
+            return Paths.get(getClass().getResource(name).toURI()).toFile();
+        }
+        catch (URISyntaxException exception) {
+            throw new AssertionError(exception);
+        }
+    }
+}